@@ -0,0 +1,67 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>BagBenchmark</code> - Adds <code>size</code> edges to a <code>Bag</code> and iterates over them, the way an
+ * <code>EdgeWeightedGraph</code> adjacency list is built and scanned. 16 is about the degree of a vertex in the bundled
+ * graphs; the large size shows the cost per node once the bag no longer fits in cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BagBenchmark {
+
+    @Param({ "16", "100000" })
+    public int size;
+
+    private Edge[] edges;
+    private Bag<Edge> filled;
+
+    @Setup
+    public void createEdges() {
+        Random random = new Random(size);
+        edges = new Edge[size];
+        filled = new Bag<>();
+
+        for (int i = 0; i < size; i++) {
+            edges[i] = new Edge(random.nextInt(size), random.nextInt(size), random.nextDouble());
+            filled.add(edges[i]);
+        }
+    }
+
+    @Benchmark
+    public Bag<Edge> add() {
+        Bag<Edge> bag = new Bag<>();
+
+        for (Edge e : edges) bag.add(e);
+
+        return bag;
+    }
+
+    @Benchmark
+    public double iterate() {
+        double sum = 0.0;
+
+        for (Edge e : filled) sum += e.weight();
+
+        return sum;
+    }
+
+}
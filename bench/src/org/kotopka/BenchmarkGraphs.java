@@ -0,0 +1,70 @@
+package org.kotopka;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * <code>BenchmarkGraphs</code> - Resolves the <code>graph</code> parameter of the benchmarks to an <code>EdgeList</code>.
+ * <br><br>
+ * A parameter of the form <code>random:V:E</code> is a random graph with <em>V</em> vertices and <em>E</em> edges:
+ * a random spanning tree, so the graph is connected, plus uniformly random extra edges, all with uniform weights in
+ * [0, 1). The seed is fixed, so every fork measures the same graph. Any other parameter is the name of a bundled text
+ * file, resolved against the <code>mst.data</code> system property (the working directory by default).
+ */
+final class BenchmarkGraphs {
+
+    private static final String RANDOM = "random:";
+    private static final long SEED = 20201017L;
+
+    private BenchmarkGraphs() { }
+
+    /**
+     * <code>edgeList()</code> - Loads or generates the graph named by a benchmark parameter.
+     * @param graph the parameter, a bundled file name or <code>random:V:E</code>
+     * @return EdgeList of the graph
+     * @throws IllegalArgumentException if the file can't be loaded or the parameter is malformed
+     */
+    static EdgeList edgeList(String graph) {
+        if (graph.startsWith(RANDOM)) {
+            String[] parts = graph.substring(RANDOM.length()).split(":");
+            if (parts.length != 2) throw new IllegalArgumentException("Expected random:V:E, got " + graph);
+
+            return random(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        String file = Path.of(System.getProperty("mst.data", "."), graph).toString();
+        EdgeList edgeList = GraphLoader.loadEdgeList(file);
+
+        if (edgeList == null) throw new IllegalArgumentException("Can't load " + file + ", set -Dmst.data to the project directory");
+
+        return edgeList;
+    }
+
+    /**
+     * <code>edgeWeightedGraph()</code> - Copies an <code>EdgeList</code> into an <code>EdgeWeightedGraph</code>.
+     * @param edgeList EdgeList to copy
+     * @return EdgeWeightedGraph with the same edges
+     */
+    static EdgeWeightedGraph edgeWeightedGraph(EdgeList edgeList) {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(edgeList.vertexCount());
+
+        for (int i = 0; i < edgeList.size(); i++) ewg.addEdge(edgeList.edge(i));
+
+        return ewg;
+    }
+
+    private static EdgeList random(int V, int E) {
+        if (V <= 0 || E < V - 1) throw new IllegalArgumentException("A connected graph needs at least V - 1 edges");
+
+        Random random = new Random(SEED);
+        EdgeList edgeList = new EdgeList(V, E);
+
+        // each vertex joins a random earlier vertex, which gives a random spanning tree
+        for (int v = 1; v < V; v++) edgeList.add(random.nextInt(v), v, random.nextDouble());
+
+        for (int i = V - 1; i < E; i++) edgeList.add(random.nextInt(V), random.nextInt(V), random.nextDouble());
+
+        return edgeList;
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.kotopka;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <code>BenchmarkRunner</code> - Runs the benchmarks of this module with the GC profiler attached, so every result
+ * comes with its allocation rate (<code>gc.alloc.rate.norm</code> is the bytes allocated per operation).
+ * <br><br>
+ * Usage: <code>java org.kotopka.BenchmarkRunner [regex]</code>, where the optional regular expression selects the
+ * benchmarks to run, e.g. <code>MSTBenchmark</code> or <code>UnionFind</code>. Run it from the project directory, or
+ * pass <code>-Dmst.data=&lt;dir&gt;</code> with the directory of the bundled graph files.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "org\\.kotopka\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true);
+
+        // the forked benchmark JVMs don't inherit system properties
+        String data = System.getProperty("mst.data");
+        if (data != null) options.jvmArgsAppend("-Dmst.data=" + data);
+
+        new Runner(options.build()).run();
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IndexMinPQBenchmark</code> - The <code>EagerPrimMST</code> workload for an indexed priority queue: insert
+ * <code>size</code> keys, decrease every key once, then remove them all.
+ * <br><br>
+ * The generic <code>IndexMinPQ&lt;Double&gt;</code> is measured with keys that were boxed in the setup, next to the
+ * primitive <code>DoubleIndexMinPQ</code> as a baseline, so the difference is the cost of the generic heap itself; the
+ * boxing that <code>EagerPrimMST</code> used to pay on top of that is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IndexMinPQBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private double[] keys;
+    private double[] decreasedKeys;
+    private Double[] boxedKeys;
+    private Double[] boxedDecreasedKeys;
+
+    @Setup
+    public void createKeys() {
+        Random random = new Random(size);
+        keys = new double[size];
+        decreasedKeys = new double[size];
+        boxedKeys = new Double[size];
+        boxedDecreasedKeys = new Double[size];
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextDouble();
+            decreasedKeys[i] = keys[i] * random.nextDouble();
+            boxedKeys[i] = keys[i];
+            boxedDecreasedKeys[i] = decreasedKeys[i];
+        }
+    }
+
+    @Benchmark
+    public void indexMinPQ(Blackhole blackhole) {
+        IndexMinPQ<Double> pq = new IndexMinPQ<>(size);
+
+        for (int i = 0; i < size; i++) pq.insert(i, boxedKeys[i]);
+        for (int i = 0; i < size; i++) pq.decreaseKey(i, boxedDecreasedKeys[i]);
+        while (!pq.isEmpty()) blackhole.consume(pq.delMin());
+    }
+
+    @Benchmark
+    public void doubleIndexMinPQ(Blackhole blackhole) {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(size);
+
+        for (int i = 0; i < size; i++) pq.insert(i, keys[i]);
+        for (int i = 0; i < size; i++) pq.decreaseKey(i, decreasedKeys[i]);
+        while (!pq.isEmpty()) blackhole.consume(pq.delMin());
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>MSTBenchmark</code> - Times <code>KruskalMST</code>, <code>LazyPrimMST</code> and <code>EagerPrimMST</code> on
+ * the bundled graphs and on generated ones, built both from an <code>EdgeWeightedGraph</code> and from a
+ * <code>CsrEdgeWeightedGraph</code>.
+ * <br><br>
+ * The graphs are loaded once per fork, outside the measurement, so only the MST computation is timed. Each benchmark
+ * returns its MST so the JIT can't discard the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class MSTBenchmark {
+
+    @Param({ "tinyEWG.txt", "mediumEWG.txt", "1000EWG.txt", "10000EWG.txt", "random:100000:400000", "random:100000:2000000" })
+    public String graph;
+
+    private EdgeList edgeList;
+    private EdgeWeightedGraph edgeWeightedGraph;
+    private CsrEdgeWeightedGraph csrGraph;
+
+    @Setup
+    public void load() {
+        edgeList = BenchmarkGraphs.edgeList(graph);
+        edgeWeightedGraph = BenchmarkGraphs.edgeWeightedGraph(edgeList);
+        csrGraph = new CsrEdgeWeightedGraph(edgeList);
+    }
+
+    @Benchmark
+    public MST kruskal() {
+        return new KruskalMST(edgeWeightedGraph);
+    }
+
+    @Benchmark
+    public MST kruskalEdgeList() {
+        return new KruskalMST(edgeList);
+    }
+
+    @Benchmark
+    public MST lazyPrim() {
+        return new LazyPrimMST(edgeWeightedGraph);
+    }
+
+    @Benchmark
+    public MST lazyPrimCsr() {
+        return new LazyPrimMST(csrGraph);
+    }
+
+    @Benchmark
+    public MST eagerPrim() {
+        return new EagerPrimMST(edgeWeightedGraph);
+    }
+
+    @Benchmark
+    public MST eagerPrimCsr() {
+        return new EagerPrimMST(csrGraph);
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>MinPQBenchmark</code> - Inserts <code>size</code> random edges into a <code>MinPQ&lt;Edge&gt;</code> and
+ * removes them all again, the way <code>LazyPrimMST</code> uses it. The edges are created in the setup, so the
+ * allocation reported by the GC profiler is the queue's own: its nodes and the array resizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MinPQBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private Edge[] edges;
+
+    @Setup
+    public void createEdges() {
+        Random random = new Random(size);
+        edges = new Edge[size];
+
+        for (int i = 0; i < size; i++) edges[i] = new Edge(random.nextInt(size), random.nextInt(size), random.nextDouble());
+    }
+
+    @Benchmark
+    public void insertThenDrain(Blackhole blackhole) {
+        MinPQ<Edge> pq = new MinPQ<>();
+
+        for (Edge e : edges) pq.insert(e);
+        while (!pq.isEmpty()) blackhole.consume(pq.delMin());
+    }
+
+    @Benchmark
+    public void insertThenDrainPresized(Blackhole blackhole) {
+        MinPQ<Edge> pq = new MinPQ<>(size);
+
+        for (Edge e : edges) pq.insert(e);
+        while (!pq.isEmpty()) blackhole.consume(pq.delMin());
+    }
+
+}
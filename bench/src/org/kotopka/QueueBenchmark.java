@@ -0,0 +1,63 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>QueueBenchmark</code> - Enqueues <code>size</code> edges in a <code>Queue</code> and then either dequeues them
+ * or iterates over them, the two ways the MST classes use the queue of tree edges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QueueBenchmark {
+
+    @Param({ "16", "100000" })
+    public int size;
+
+    private Edge[] edges;
+
+    @Setup
+    public void createEdges() {
+        Random random = new Random(size);
+        edges = new Edge[size];
+
+        for (int i = 0; i < size; i++) edges[i] = new Edge(random.nextInt(size), random.nextInt(size), random.nextDouble());
+    }
+
+    @Benchmark
+    public void enqueueThenDequeue(Blackhole blackhole) {
+        Queue<Edge> queue = new Queue<>();
+
+        for (Edge e : edges) queue.enqueue(e);
+        while (!queue.isEmpty()) blackhole.consume(queue.dequeue());
+    }
+
+    @Benchmark
+    public double enqueueThenIterate() {
+        Queue<Edge> queue = new Queue<>();
+        double sum = 0.0;
+
+        for (Edge e : edges) queue.enqueue(e);
+        for (Edge e : queue) sum += e.weight();
+
+        return sum;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.kotopka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>UnionFindBenchmark</code> - Joins <code>size</code> sites with <code>size</code> random unions, which leaves a
+ * giant component and many small ones, then runs as many <code>connected()</code> queries, on a fresh
+ * <code>DisjointSet</code> per invocation. <code>queries</code> runs the queries alone against a union-find built
+ * in the setup, whose paths are already compressed by the earlier iterations. <code>kruskalPass</code> is the union-find
+ * pass of <code>KruskalMST</code>: one <code>union()</code> per edge of a random graph with <code>size</code> vertices
+ * and <code>8 * size</code> edges, in weight order, until the tree is complete.
+ * <br><br>
+ * <code>implementation</code> names the <code>DisjointSet</code> under test. JMH runs every parameter combination in
+ * its own forks, so the calls through the interface only ever see one implementation and stay monomorphic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UnionFindBenchmark {
+
+    @Param({ "1000", "1000000" })
+    public int size;
+
+    @Param({ "WeightedUnionFind", "RankUnionFind", "CompactUnionFind", "RemUnionFind", "ConcurrentUnionFind" })
+    public String implementation;
+
+    private int[] p;
+    private int[] q;
+    private DisjointSet joined;
+    private int[] from;     // the endpoints of the edges of the Kruskal pass, sorted by weight
+    private int[] to;
+
+    private DisjointSet create() {
+        switch (implementation) {
+            case "WeightedUnionFind":   return new WeightedUnionFind(size);
+            case "RankUnionFind":       return new RankUnionFind(size);
+            case "CompactUnionFind":    return new CompactUnionFind(size);
+            case "RemUnionFind":        return new RemUnionFind(size);
+            case "ConcurrentUnionFind": return new ConcurrentUnionFind(size);
+            default: throw new IllegalArgumentException("Unknown union-find: " + implementation);
+        }
+    }
+
+    @Setup
+    public void createPairs() {
+        Random random = new Random(size);
+        p = new int[size];
+        q = new int[size];
+
+        for (int i = 0; i < p.length; i++) {
+            p[i] = random.nextInt(size);
+            q[i] = random.nextInt(size);
+        }
+
+        joined = create();
+        for (int i = 0; i < p.length; i++) joined.union(p[i], q[i]);
+
+        EdgeList edges = GraphGenerator.random(size, 8L * size, size).edgeList();
+        int[] order = edges.sortedIndex();
+        from = new int[order.length];
+        to = new int[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            from[i] = edges.from(order[i]);
+            to[i] = edges.to(order[i]);
+        }
+    }
+
+    @Benchmark
+    public int unionsThenQueries() {
+        DisjointSet uf = create();
+        int connected = 0;
+
+        for (int i = 0; i < p.length; i++) uf.union(p[i], q[i]);
+        for (int i = 0; i < p.length; i++) {
+            if (uf.connected(q[i], p[p.length - 1 - i])) connected++;
+        }
+
+        return connected;
+    }
+
+    @Benchmark
+    public int queries() {
+        int connected = 0;
+
+        for (int i = 0; i < p.length; i++) {
+            if (joined.connected(q[i], p[p.length - 1 - i])) connected++;
+        }
+
+        return connected;
+    }
+
+    @Benchmark
+    public int kruskalPass() {
+        DisjointSet uf = create();
+        int treeEdges = 0;
+
+        for (int i = 0; i < from.length && treeEdges < size - 1; i++) {
+            if (uf.union(from[i], to[i])) treeEdges++;
+        }
+
+        return treeEdges;
+    }
+
+}
@@ -0,0 +1,211 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * <code>BigEdgeList</code> - A flat list of weighted undirected edges like <code>EdgeList</code>, indexed by
+ * <code>long</code> so it can hold more than <code>Integer.MAX_VALUE</code> edges.
+ * <br><br>
+ * The edges are stored in chunks of <code>2<sup>23</sup></code> edges, each chunk a structure of three primitive arrays.
+ * Growing the list allocates one more chunk instead of copying everything, so adding edges never needs twice the memory
+ * of the list, and no single array comes near the 2<sup>31</sup> element limit. Edge <code>i</code> lives in chunk
+ * <code>i &gt;&gt;&gt; 23</code> at position <code>i &amp; (2<sup>23</sup> - 1)</code>. Vertices stay <code>int</code>,
+ * so per-vertex structures such as a <code>DisjointSet</code> are unchanged.
+ * <br><br>
+ * <code>sortChunks()</code> puts each chunk in weight order in place; <code>BigKruskalMST</code> then merges the chunks.
+ */
+public class BigEdgeList {
+
+    private static final int DEFAULT_CHUNK_SHIFT = 23;     // 8M edges, 128 MB per chunk
+
+    private final int vertexCount;
+    private final int chunkShift;
+    private final int chunkMask;
+    private int[][] from;
+    private int[][] to;
+    private double[][] weight;
+    private long size;
+
+    /**
+     * <code>BigEdgeList()</code> - Constructor. Creates an empty edge list.
+     * @param vertexCount the number of vertices the edges may refer to
+     * @throws IllegalArgumentException if the vertex count is not positive
+     */
+    public BigEdgeList(int vertexCount) {
+        this(vertexCount, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * <code>BigEdgeList()</code> - Package-private constructor with a given chunk size, so tests can cross chunk
+     * boundaries with small graphs.
+     * @param vertexCount the number of vertices the edges may refer to
+     * @param chunkShift log2 of the number of edges per chunk
+     */
+    BigEdgeList(int vertexCount, int chunkShift) {
+        if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+        if (chunkShift < 1 || chunkShift > 30) throw new IllegalArgumentException("Invalid chunk size");
+
+        this.vertexCount = vertexCount;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.from = new int[0][];
+        this.to = new int[0][];
+        this.weight = new double[0][];
+    }
+
+    /**
+     * <code>BigEdgeList()</code> - Constructor. Copies the edges of an <code>OffHeapCsrGraph</code>.
+     * @param offHeapGraph the graph to copy
+     */
+    public BigEdgeList(OffHeapCsrGraph offHeapGraph) {
+        this(offHeapGraph.vertexCount());
+
+        // every edge appears in the adjacency lists of both endpoints, only take it from the smaller one
+        for (int v = 0; v < vertexCount; v++) {
+            long end = offHeapGraph.adjEnd(v);
+
+            for (long slot = offHeapGraph.adjStart(v); slot < end; slot++) {
+                int w = offHeapGraph.target(slot);
+                if (w > v) add(v, w, offHeapGraph.weight(slot));
+            }
+        }
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= vertexCount) throw new IllegalArgumentException("Vertex out of range");
+    }
+
+    /**
+     * <code>add()</code> - Appends an edge to the list, allocating a new chunk if the last one is full.
+     * @param v one endpoint of the edge
+     * @param w the other endpoint of the edge
+     * @param edgeWeight the weight of the edge
+     * @return long index of the new edge
+     * @throws IllegalArgumentException if either endpoint is out of range
+     */
+    public long add(int v, int w, double edgeWeight) {
+        validateVertex(v);
+        validateVertex(w);
+
+        int chunk = (int) (size >>> chunkShift);
+        int i = (int) (size & chunkMask);
+
+        if (i == 0 && chunk == from.length) grow();
+
+        from[chunk][i] = v;
+        to[chunk][i] = w;
+        weight[chunk][i] = edgeWeight;
+
+        return size++;
+    }
+
+    private void grow() {
+        int chunks = from.length;
+
+        // only the small outer arrays are copied, the chunks themselves never move
+        from = Arrays.copyOf(from, chunks + 1);
+        to = Arrays.copyOf(to, chunks + 1);
+        weight = Arrays.copyOf(weight, chunks + 1);
+
+        from[chunks] = new int[1 << chunkShift];
+        to[chunks] = new int[1 << chunkShift];
+        weight[chunks] = new double[1 << chunkShift];
+    }
+
+    /**
+     * <code>from()</code> - One endpoint of edge <code>i</code>.
+     * @param i the edge index
+     * @return integer of the vertex
+     */
+    public int from(long i) { return from[(int) (i >>> chunkShift)][(int) (i & chunkMask)]; }
+
+    /**
+     * <code>to()</code> - The other endpoint of edge <code>i</code>.
+     * @param i the edge index
+     * @return integer of the vertex
+     */
+    public int to(long i) { return to[(int) (i >>> chunkShift)][(int) (i & chunkMask)]; }
+
+    /**
+     * <code>weight()</code> - The weight of edge <code>i</code>.
+     * @param i the edge index
+     * @return double of the edge weight
+     */
+    public double weight(long i) { return weight[(int) (i >>> chunkShift)][(int) (i & chunkMask)]; }
+
+    /**
+     * <code>edge()</code> - Materializes edge <code>i</code> as an <code>Edge</code> object.
+     * @param i the edge index
+     * @return a new Edge
+     */
+    public Edge edge(long i) { return new Edge(from(i), to(i), weight(i)); }
+
+    /**
+     * <code>size()</code> - The number of edges in this list.
+     * @return a long of the number of edges
+     */
+    public long size() { return size; }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices the edges may refer to.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>chunkCount()</code> - The number of chunks holding edges.
+     * @return an integer of the number of chunks
+     */
+    public int chunkCount() { return (int) ((size + chunkMask) >>> chunkShift); }
+
+    /**
+     * <code>chunkStart()</code> - The index of the first edge of chunk <code>c</code>.
+     * @param c the chunk
+     * @return long of the first edge index, inclusive
+     */
+    public long chunkStart(int c) { return (long) c << chunkShift; }
+
+    /**
+     * <code>chunkEnd()</code> - One past the index of the last edge of chunk <code>c</code>.
+     * @param c the chunk
+     * @return long of the last edge index, exclusive
+     */
+    public long chunkEnd(int c) { return Math.min(size, chunkStart(c + 1)); }
+
+    /**
+     * <code>sortChunks()</code> - Reorders the edges within each chunk by ascending weight. Edges never move between
+     * chunks, so the whole list is a set of sorted runs afterwards, ready for a k-way merge. Sorting a chunk needs
+     * temporary memory for about one chunk.
+     * @param parallel whether to sort the chunks concurrently in the common <code>ForkJoinPool</code>
+     */
+    public void sortChunks(boolean parallel) {
+        IntStream chunks = IntStream.range(0, chunkCount());
+        if (parallel) chunks = chunks.parallel();
+
+        chunks.forEach(this::sortChunk);
+    }
+
+    private void sortChunk(int c) {
+        int n = (int) (chunkEnd(c) - chunkStart(c));
+        int[] index = new int[n];
+        double[] keys = weight[c].clone();
+
+        for (int i = 0; i < n; i++) index[i] = i;
+
+        EdgeList.sort(keys, index, 0, n - 1);
+
+        int[] sortedFrom = new int[1 << chunkShift];
+        int[] sortedTo = new int[1 << chunkShift];
+
+        for (int i = 0; i < n; i++) {
+            sortedFrom[i] = from[c][index[i]];
+            sortedTo[i] = to[c][index[i]];
+        }
+
+        from[c] = sortedFrom;
+        to[c] = sortedTo;
+        weight[c] = keys;   // the sorted keys are the weights in their new order
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.kotopka;
+
+/**
+ * <code>BigKruskalMST</code> - Implements Kruskal's Minimum-Spanning Tree algorithm over a <code>BigEdgeList</code>, for
+ * graphs with more edges than an <code>int</code> can index.
+ * <br><br>
+ * Each chunk of the list is sorted by weight in place (<code>BigEdgeList.sortChunks()</code>), and the sorted chunks are
+ * then merged k-way through an <code>EdgeMinPQ</code> holding the next edge of each chunk, the same way
+ * <code>ExternalKruskalMST</code> merges its run files. The merged stream is fed to the union-find, and the merge stops
+ * as soon as the tree has <em>V - 1</em> edges. No per-edge structure is allocated besides the list itself, so the
+ * working memory is O(V) plus one chunk per sorting thread.
+ * <br><br>
+ * Note: the edges of the list are reordered within their chunks.
+ */
+public class BigKruskalMST implements MST {
+
+    private final Queue<Edge> mst;
+    private double totalWeight;
+    private int edgeCount;
+    private final int vertexCount;
+    private long edgesScanned;
+
+    /**
+     * <code>BigKruskalMST</code> - Constructor. Creates an MST from a <code>BigEdgeList</code>, sorting the chunks
+     * sequentially.
+     * @param edgeList BigEdgeList object from which to build the MST
+     */
+    public BigKruskalMST(BigEdgeList edgeList) {
+        this(edgeList, KruskalMST.Sort.SEQUENTIAL);
+    }
+
+    /**
+     * <code>BigKruskalMST</code> - Constructor. Creates an MST from an <code>OffHeapCsrGraph</code>. Kruskal has to sort
+     * the edges, which the read-only graph can't do in place, so each edge is first copied once into a
+     * <code>BigEdgeList</code> on the heap (16 bytes per edge); <code>EagerPrimMST</code> reads the graph without a copy.
+     * @param offHeapGraph OffHeapCsrGraph object from which to build the MST
+     */
+    public BigKruskalMST(OffHeapCsrGraph offHeapGraph) {
+        this(new BigEdgeList(offHeapGraph));
+    }
+
+    /**
+     * <code>BigKruskalMST</code> - Constructor. Creates an MST from a <code>BigEdgeList</code>, with a
+     * <code>RemUnionFind</code> as the cycle detector.
+     * @param edgeList BigEdgeList object from which to build the MST
+     * @param sort whether to sort the chunks one at a time or concurrently
+     */
+    public BigKruskalMST(BigEdgeList edgeList, KruskalMST.Sort sort) {
+        this(edgeList, sort, new RemUnionFind(edgeList.vertexCount()));
+    }
+
+    /**
+     * <code>BigKruskalMST</code> - Constructor. Creates an MST from a <code>BigEdgeList</code>. This constructor is
+     * responsible for all of the object's internal logic. The merge and the union-find pass are sequential in every mode.
+     * @param edgeList BigEdgeList object from which to build the MST
+     * @param sort whether to sort the chunks one at a time or concurrently
+     * @param cycleDetector DisjointSet with one site per vertex and no unions yet
+     * @throws IllegalArgumentException if the union-find does not have one component per vertex, or the sort is
+     * <code>Sort.RADIX</code>, which the chunks do not support
+     */
+    public BigKruskalMST(BigEdgeList edgeList, KruskalMST.Sort sort, DisjointSet cycleDetector) {
+        if (sort == KruskalMST.Sort.RADIX) throw new IllegalArgumentException("Chunks are sorted by double weight only");
+        if (cycleDetector.count() != edgeList.vertexCount()) throw new IllegalArgumentException("Union-find must have one component per vertex");
+
+        this.mst = new Queue<>();
+        this.vertexCount = edgeList.vertexCount();
+
+        edgeList.sortChunks(sort == KruskalMST.Sort.PARALLEL);
+
+        int chunks = edgeList.chunkCount();
+        long[] next = new long[chunks];
+        EdgeMinPQ heads = new EdgeMinPQ(Math.max(1, chunks));
+
+        for (int c = 0; c < chunks; c++) {
+            next[c] = edgeList.chunkStart(c);
+            heads.insert(edgeList.weight(next[c]), c);
+        }
+
+        while (!heads.isEmpty() && edgeCount < vertexCount - 1) {
+            int c = heads.delMin();
+            long e = next[c]++;
+
+            edgesScanned++;
+
+            // Don't add this edge if it creates a cycle in the MST
+            if (cycleDetector.union(edgeList.from(e), edgeList.to(e))) {
+                mst.enqueue(edgeList.edge(e));
+                totalWeight += edgeList.weight(e);
+                edgeCount++;
+            }
+
+            if (next[c] < edgeList.chunkEnd(c)) heads.insert(edgeList.weight(next[c]), c);
+        }
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    @Override
+    public double totalWeight() { return totalWeight; }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return edgeCount; }
+
+    /**
+     * <code>edgesScanned()</code> - The number of edges taken from the merge before the tree was complete.
+     * @return long of the number of edges scanned
+     */
+    public long edgesScanned() { return edgesScanned; }
+
+    // test client
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        EdgeList edges = GraphLoader.loadEdgeList(args[0]);
+        BigEdgeList bigEdges = new BigEdgeList(edges.vertexCount());
+
+        for (int i = 0; i < edges.size(); i++) bigEdges.add(edges.from(i), edges.to(i), edges.weight(i));
+
+        TestClient tc = new TestClient(new BigKruskalMST(bigEdges));
+        tc.printMst();
+    }
+
+}
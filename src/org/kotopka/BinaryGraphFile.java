@@ -0,0 +1,304 @@
+package org.kotopka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <code>BinaryGraphFile</code> - Reads and writes edge lists in a compact binary format, and converts the
+ * <code>V E / v w weight</code> text format (e.g. <code>tinyEWG.txt</code>) to it.
+ * <br><br>
+ * Layout, little-endian:
+ * <pre>
+ *   offset  size  field
+ *        0     4  magic, "EWGB"
+ *        4     4  format version
+ *        8     4  vertex count
+ *       12     4  reserved, 0
+ *       16     8  edge count E
+ *       24     8  last-modified time of the source text file in milliseconds, 0 if none
+ *       32     8  size of the source text file in bytes, 0 if none
+ *       40    4E  "from" endpoints, int[E]
+ *   40+4E    4E  "to" endpoints, int[E]
+ *   40+8E    8E  weights, double[E]
+ * </pre>
+ * The file is read through <code>FileChannel.map()</code> and each section is moved into its primitive array with a
+ * single bulk copy, with no parsing. The source time and size let <code>GraphLoader</code> keep a binary sidecar next
+ * to a text file and notice when the text file changes.
+ */
+public class BinaryGraphFile {
+
+    private static final int MAGIC = 0x42475745;  // "EWGB" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long MAX_MAP_BYTES = Integer.MAX_VALUE & ~7L;   // a single mapping is limited to 2 GB
+
+    private BinaryGraphFile() { }
+
+    /**
+     * <code>Writer</code> - Streams edges into a new binary graph file. The number of edges must be known up front and
+     * must match the number actually added by the time the writer is closed.
+     */
+    public static class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final long edgeCount;
+        private final ByteBuffer fromBuffer;
+        private final ByteBuffer toBuffer;
+        private final ByteBuffer weightBuffer;
+        private long fromPosition;
+        private long toPosition;
+        private long weightPosition;
+        private long added;
+
+        /**
+         * <code>Writer()</code> - Constructor. Creates (or truncates) the file and writes the header.
+         * @param file path of the file to write
+         * @param vertexCount the number of vertices
+         * @param edgeCount the number of edges that will be added
+         * @param sourceModified last-modified time of the source text file in milliseconds, 0 if none
+         * @param sourceSize size of the source text file in bytes, 0 if none
+         * @throws IOException if the file can't be written
+         */
+        public Writer(Path file, int vertexCount, long edgeCount, long sourceModified, long sourceSize) throws IOException {
+            if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+            if (edgeCount < 0) throw new IllegalArgumentException("Invalid edge count");
+
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+            try {
+                this.channel = channel;
+                this.edgeCount = edgeCount;
+                this.fromBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                this.toBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                this.weightBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                this.fromPosition = HEADER_BYTES;
+                this.toPosition = HEADER_BYTES + 4 * edgeCount;
+                this.weightPosition = HEADER_BYTES + 8 * edgeCount;
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(0);
+                header.putLong(edgeCount).putLong(sourceModified).putLong(sourceSize);
+                header.flip();
+                writeFully(header, 0);
+            } catch (IOException | RuntimeException | Error e) {
+                // don't leak the channel or leave a file without a complete header behind
+                try {
+                    channel.close();
+                    Files.deleteIfExists(file);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * <code>add()</code> - Appends an edge.
+         * @param v one endpoint of the edge
+         * @param w the other endpoint of the edge
+         * @param weight the weight of the edge
+         * @throws IOException if the file can't be written, or more edges are added than announced
+         */
+        public void add(int v, int w, double weight) throws IOException {
+            if (added == edgeCount) throw new IOException("More edges than the announced " + edgeCount);
+
+            if (!weightBuffer.hasRemaining()) flush();
+
+            fromBuffer.putInt(v);
+            toBuffer.putInt(w);
+            weightBuffer.putDouble(weight);
+            added++;
+        }
+
+        private void flush() throws IOException {
+            fromPosition += flush(fromBuffer, fromPosition);
+            toPosition += flush(toBuffer, toPosition);
+            weightPosition += flush(weightBuffer, weightPosition);
+        }
+
+        private long flush(ByteBuffer buffer, long position) throws IOException {
+            buffer.flip();
+            long written = buffer.remaining();
+            writeFully(buffer, position);
+            buffer.clear();
+            return written;
+        }
+
+        private void writeFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        /**
+         * <code>close()</code> - Flushes the remaining edges and closes the file.
+         * @throws IOException if the file can't be written, or fewer edges were added than announced
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                if (added != edgeCount) throw new IOException("Expected " + edgeCount + " edges but got " + added);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * <code>write()</code> - Writes an edge list to a binary graph file.
+     * @param file path of the file to write
+     * @param edgeList the edges to write
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path file, EdgeList edgeList) throws IOException {
+        write(file, edgeList, 0L, 0L);
+    }
+
+    /**
+     * <code>write()</code> - Writes an edge list that was read from a text file to a binary graph file, recording the
+     * text file's last-modified time and size in the header.
+     * @param file path of the file to write
+     * @param edgeList the edges to write
+     * @param sourceModified last-modified time of the source text file in milliseconds
+     * @param sourceSize size of the source text file in bytes
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path file, EdgeList edgeList, long sourceModified, long sourceSize) throws IOException {
+        try (Writer writer = new Writer(file, edgeList.vertexCount(), edgeList.size(), sourceModified, sourceSize)) {
+            for (int i = 0; i < edgeList.size(); i++) {
+                writer.add(edgeList.from(i), edgeList.to(i), edgeList.weight(i));
+            }
+        }
+    }
+
+    /**
+     * <code>read()</code> - Reads a binary graph file into an <code>EdgeList</code>.
+     * @param file path of the file to read
+     * @return EdgeList holding the edges of the file
+     * @throws IOException if the file can't be read or is not a valid binary graph file
+     */
+    public static EdgeList read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+
+            int vertexCount = header.getInt(8);
+            long edgeCount = header.getLong(16);
+
+            if (edgeCount > Integer.MAX_VALUE - 8) throw new IOException("Too many edges for an EdgeList: " + edgeCount);
+            if (channel.size() != HEADER_BYTES + 16 * edgeCount) throw new IOException("Truncated binary graph file");
+
+            int n = (int) edgeCount;
+            int[] from = new int[n];
+            int[] to = new int[n];
+            double[] weight = new double[n];
+
+            readInts(channel, HEADER_BYTES, from);
+            readInts(channel, HEADER_BYTES + 4L * n, to);
+            readDoubles(channel, HEADER_BYTES + 8L * n, weight);
+
+            return new EdgeList(vertexCount, from, to, weight);
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) throw new IOException("Not a binary graph file");
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (header.getInt(0) != MAGIC) throw new IOException("Not a binary graph file");
+        if (header.getInt(4) != VERSION) throw new IOException("Unsupported binary graph file version " + header.getInt(4));
+
+        return header;
+    }
+
+    private static void readInts(FileChannel channel, long position, int[] target) throws IOException {
+        int done = 0;
+
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, MAX_MAP_BYTES / 4);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * done, 4L * count);
+            map.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(target, done, count);
+            done += count;
+        }
+    }
+
+    private static void readDoubles(FileChannel channel, long position, double[] target) throws IOException {
+        int done = 0;
+
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, MAX_MAP_BYTES / 8);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position + 8L * done, 8L * count);
+            map.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(target, done, count);
+            done += count;
+        }
+    }
+
+    /**
+     * <code>isCacheOf()</code> - Checks whether a binary graph file was converted from the given text file, and the text
+     * file has not changed since (same last-modified time and size).
+     * @param binary path of the binary graph file
+     * @param text path of the text file
+     * @return boolean true if the binary file is an up-to-date conversion of the text file, false otherwise
+     */
+    public static boolean isCacheOf(Path binary, Path text) {
+        if (!Files.isRegularFile(binary) || !Files.isRegularFile(text)) return false;
+
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+
+            return header.getLong(24) == Files.getLastModifiedTime(text).toMillis()
+                    && header.getLong(32) == Files.size(text);
+        } catch (IOException e) {
+            return false;   // unreadable or not a binary graph file, either way not a usable cache
+        }
+    }
+
+    /**
+     * <code>convert()</code> - Converts a graph in the <code>V E / v w weight</code> text format to the binary format,
+     * recording the text file's last-modified time and size in the header. The edges are streamed through a
+     * <code>TextGraphParser.Reader</code>, so the graph is never held in memory.
+     * @param text path of the text file to read
+     * @param binary path of the binary file to write
+     * @throws IOException if either file can't be accessed, or the edge count does not match the text file's header
+     */
+    public static void convert(Path text, Path binary) throws IOException {
+        long modified = Files.getLastModifiedTime(text).toMillis();
+        long size = Files.size(text);
+
+        try (TextGraphParser.Reader reader = new TextGraphParser.Reader(text);
+             Writer writer = new Writer(binary, reader.vertexCount(), reader.edgeCount(), modified, size)) {
+
+            while (reader.next()) {
+                writer.add(reader.v(), reader.w(), reader.weight());
+            }
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(binary);
+            throw new IOException("Malformed graph file " + text, e);
+        } catch (IOException e) {
+            Files.deleteIfExists(binary);
+            throw e;
+        }
+    }
+
+    // converts the text file named on the command line, writing the binary file next to it
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        Path text = Path.of(args[0]);
+        Path binary = args.length > 1 ? Path.of(args[1]) : GraphLoader.sidecar(text);
+
+        convert(text, binary);
+        System.out.println("Wrote " + binary);
+    }
+}
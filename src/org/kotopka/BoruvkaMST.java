@@ -0,0 +1,177 @@
+package org.kotopka;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <code>BoruvkaMST</code> - Implements Boruvka's Minimum-Spanning Tree algorithm, running the expensive phases on a
+ * <code>ForkJoinPool</code>.
+ * <br><br>
+ * Each round finds the cheapest edge leaving every component (in parallel over the remaining edges), adds those edges
+ * to the MST (in parallel, through a <code>ConcurrentUnionFind</code>), relabels every vertex with its new component
+ * (in parallel over the vertices) and then drops the edges that now lie inside a single component (a parallel
+ * compaction). Every round at least halves the number of components, so there are at most <em>log V</em> rounds.
+ * Equal weights are broken by edge index, which keeps the chosen edges acyclic.
+ * <br><br>
+ * Like the other implementations, this computes a minimum-spanning forest of a disconnected graph.
+ */
+public class BoruvkaMST implements MST {
+
+    private static final int NONE = -1;
+
+    private final Queue<Edge> mst;
+    private final int vertexCount;
+    private double totalWeight;
+    private int edgeCount;
+
+    /**
+     * <code>BoruvkaMST</code> - Constructor. Computes the MST of an <code>EdgeWeightedGraph</code> on the common pool.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     */
+    public BoruvkaMST(EdgeWeightedGraph edgeWeightedGraph) {
+        this(new EdgeList(edgeWeightedGraph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <code>BoruvkaMST</code> - Constructor. Computes the MST of an <code>EdgeWeightedGraph</code> on the given pool.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     * @param pool the ForkJoinPool to run the parallel phases on
+     */
+    public BoruvkaMST(EdgeWeightedGraph edgeWeightedGraph, ForkJoinPool pool) {
+        this(new EdgeList(edgeWeightedGraph), pool);
+    }
+
+    /**
+     * <code>BoruvkaMST</code> - Constructor. Computes the MST of a <code>CsrEdgeWeightedGraph</code> on the given pool.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     * @param pool the ForkJoinPool to run the parallel phases on
+     */
+    public BoruvkaMST(CsrEdgeWeightedGraph csrGraph, ForkJoinPool pool) {
+        this(new EdgeList(csrGraph), pool);
+    }
+
+    /**
+     * <code>BoruvkaMST</code> - Constructor. Computes the MST of an <code>EdgeList</code> on the given pool.
+     * This constructor is responsible for all of the object's internal logic.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param pool the ForkJoinPool to run the parallel phases on
+     */
+    public BoruvkaMST(EdgeList edgeList, ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+
+        this.mst = new Queue<>();
+        this.vertexCount = edgeList.vertexCount();
+
+        int[] component = new int[vertexCount];                     // component[v] is the root of v's component
+        int[] label = new int[vertexCount];                         // scratch, new root of each old root
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(vertexCount);
+        int[] winner = new int[vertexCount];                        // winner[v] is the edge v's component added, or NONE
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(vertexCount);
+
+        for (int v = 0; v < vertexCount; v++) {
+            component[v] = v;
+            cheapest.set(v, NONE);
+        }
+
+        // the live edges are the ones still connecting two different components, self-loops never are
+        int[] live = new int[edgeList.size()];
+        int[] scratch = new int[edgeList.size()];
+        int liveCount = 0;
+
+        for (int e = 0; e < edgeList.size(); e++) {
+            if (edgeList.from(e) != edgeList.to(e)) live[liveCount++] = e;
+        }
+
+        while (liveCount > 0) {
+            final int[] edges = live;
+
+            // 1. every live edge offers itself to both of its components
+            Parallel.forEach(pool, liveCount, i -> {
+                int e = edges[i];
+                offer(cheapest, component[edgeList.from(e)], e, edgeList);
+                offer(cheapest, component[edgeList.to(e)], e, edgeList);
+            });
+
+            // 2. union the winners in parallel; an edge chosen by both of its components only wins one union
+            Parallel.forEach(pool, vertexCount, v -> {
+                int e = cheapest.get(v);
+
+                if (e != NONE) cheapest.set(v, NONE);
+
+                winner[v] = e != NONE && uf.union(edgeList.from(e), edgeList.to(e)) ? e : NONE;
+            });
+
+            for (int v = 0; v < vertexCount; v++) {
+                int e = winner[v];
+
+                if (e != NONE) {
+                    mst.enqueue(edgeList.edge(e));
+                    totalWeight += edgeList.weight(e);
+                    edgeCount++;
+                }
+            }
+
+            // 3. relabel: only the old roots need a find(), every other vertex follows its old root
+            Parallel.forEach(pool, vertexCount, v -> {
+                if (component[v] == v) label[v] = uf.find(v);
+            });
+
+            Parallel.forEach(pool, vertexCount, v -> component[v] = label[component[v]]);
+
+            // 4. contract: drop the edges that are now inside a component
+            liveCount = Parallel.filter(pool, edges, 0, liveCount,
+                    e -> component[edgeList.from(e)] != component[edgeList.to(e)], scratch, 0);
+
+            int[] temp = live;
+            live = scratch;
+            scratch = temp;
+        }
+    }
+
+    /**
+     * <code>offer()</code> - Private method, makes edge <code>e</code> the cheapest edge of component <code>c</code> if it
+     * is lighter than the current one, breaking ties by edge index. Lock-free, retries if another thread got in first.
+     */
+    private static void offer(AtomicIntegerArray cheapest, int c, int e, EdgeList edgeList) {
+        double weight = edgeList.weight(e);
+
+        while (true) {
+            int current = cheapest.get(c);
+
+            if (current != NONE) {
+                double currentWeight = edgeList.weight(current);
+
+                if (currentWeight < weight || (currentWeight == weight && current < e)) return;
+            }
+
+            if (cheapest.compareAndSet(c, current, e)) return;
+        }
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    @Override
+    public double totalWeight() { return totalWeight; }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return edgeCount; }
+
+    // test client
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        TestClient tc = new TestClient(new BoruvkaMST(GraphLoader.load(args[0])));
+        tc.printMst();
+    }
+
+}
@@ -0,0 +1,274 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>BucketIndexMinPQ</code> - An indexed minimum priority queue for small non-negative integer keys, or fixed-point
+ * keys that become integers when multiplied by a scale (e.g. a scale of 100 for weights with two decimals).
+ * Also known as Dial's bucket queue.
+ * <br><br>
+ * There is one bucket per possible integer key, each holding a doubly-linked list of indices, so
+ * <code>insert()</code> and <code>decreaseKey()</code> are O(1) and involve no comparisons at all. <code>delMin()</code>
+ * scans forward from a cursor to the first non-empty bucket. An insert or decrease below the cursor moves the cursor
+ * back, so keys don't have to be removed in increasing order, as they aren't in Prim's algorithm. When they are,
+ * all of the <code>delMin()</code> calls together scan each bucket once.
+ * <br><br>
+ * The buckets take O(maxKey) memory and <code>delMin()</code> may scan O(maxKey) buckets, so this only pays off when the
+ * range of keys is small compared to the number of operations.
+ */
+public class BucketIndexMinPQ implements DoubleIndexPQ {
+
+    private static final int NONE = -1;
+    private static final int MAX_BUCKETS = 1 << 24;
+
+    private final int capacity;
+    private final double scale;
+    private final double[] keys;    // keys[i] is the priority of index i, as given
+    private final int[] bucketOf;   // bucketOf[i] is the bucket holding index i, -1 if absent
+    private final int[] next;       // next[i] is the index after i in its bucket
+    private final int[] prev;       // prev[i] is the index before i in its bucket
+    private final int[] head;       // head[b] is the first index in bucket b
+    private int cursor;             // no bucket below the cursor is occupied
+    private int size;
+
+    /**
+     * <code>BucketIndexMinPQ()</code> - Constructor. Creates a queue for integer keys.
+     * @param capacity integer of the number of indices, <code>0..capacity - 1</code>
+     * @param maxKey integer of the largest key that will be inserted
+     */
+    public BucketIndexMinPQ(int capacity, int maxKey) {
+        this(capacity, maxKey, 1.0);
+    }
+
+    /**
+     * <code>BucketIndexMinPQ()</code> - Constructor. Creates a queue for fixed-point keys: every key multiplied by the
+     * scale must be an integer in <code>0..maxKey</code>.
+     * @param capacity integer of the number of indices, <code>0..capacity - 1</code>
+     * @param maxKey integer of the largest scaled key that will be inserted
+     * @param scale double the keys are multiplied by to get their bucket
+     * @throws IllegalArgumentException if the capacity is less than 1, maxKey is negative or too large, or the scale is not positive
+     */
+    public BucketIndexMinPQ(int capacity, int maxKey, double scale) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid capacity");
+        if (maxKey < 0 || maxKey >= MAX_BUCKETS) throw new IllegalArgumentException("Invalid maximum key");
+        if (!(scale > 0) || Double.isInfinite(scale)) throw new IllegalArgumentException("Invalid scale");
+
+        this.capacity = capacity;
+        this.scale = scale;
+        this.keys = new double[capacity];
+        this.bucketOf = new int[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.head = new int[maxKey + 1];
+
+        Arrays.fill(bucketOf, NONE);
+        Arrays.fill(head, NONE);
+    }
+
+    /**
+     * <code>forGraph()</code> - Creates a queue with room for every vertex of the graph and a bucket for every edge
+     * weight, when the weights are non-negative integers.
+     * @param csrGraph the graph Prim's algorithm will run on
+     * @return a new BucketIndexMinPQ
+     * @throws IllegalArgumentException if a weight is negative, not an integer, or the largest weight is too large
+     */
+    public static BucketIndexMinPQ forGraph(CsrEdgeWeightedGraph csrGraph) {
+        return forGraph(csrGraph, 1.0);
+    }
+
+    /**
+     * <code>forGraph()</code> - Creates a queue with room for every vertex of the graph and a bucket for every edge
+     * weight, when the weights multiplied by the scale are non-negative integers.
+     * @param csrGraph the graph Prim's algorithm will run on
+     * @param scale double the weights are multiplied by to get their bucket
+     * @return a new BucketIndexMinPQ
+     * @throws IllegalArgumentException if a scaled weight is negative, not an integer, or the largest one is too large
+     */
+    public static BucketIndexMinPQ forGraph(CsrEdgeWeightedGraph csrGraph, double scale) {
+        int maxKey = 0;
+
+        for (int slot = 0; slot < 2 * csrGraph.edgeCount(); slot++) {
+            maxKey = Math.max(maxKey, bucket(csrGraph.weight(slot), scale, MAX_BUCKETS - 1));
+        }
+
+        return new BucketIndexMinPQ(csrGraph.vertexCount(), maxKey, scale);
+    }
+
+    /**
+     * <code>isQuantized()</code> - Whether every edge weight of the graph, multiplied by the scale, is a non-negative
+     * integer small enough for a bucket queue.
+     * @param csrGraph the graph to check
+     * @param scale double the weights are multiplied by
+     * @return boolean true if <code>forGraph(csrGraph, scale)</code> will succeed, false otherwise
+     */
+    public static boolean isQuantized(CsrEdgeWeightedGraph csrGraph, double scale) {
+        if (!(scale > 0) || Double.isInfinite(scale)) return false;
+
+        for (int slot = 0; slot < 2 * csrGraph.edgeCount(); slot++) {
+            double scaled = csrGraph.weight(slot) * scale;
+            long rounded = Math.round(scaled);
+
+            if (!(scaled >= 0) || rounded >= MAX_BUCKETS || !isClose(scaled, rounded)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * <code>bucket()</code> - Private method, the bucket of a key. Scaled keys within a relative 1e-9 of an integer
+     * are accepted, so that decimal fractions like <code>0.29 * 100</code> land in the right bucket.
+     * @throws IllegalArgumentException if the scaled key is negative, not an integer, or larger than maxKey
+     */
+    private static int bucket(double key, double scale, int maxKey) {
+        double scaled = key * scale;
+        long rounded = Math.round(scaled);
+
+        if (!(scaled >= 0)) throw new IllegalArgumentException("Key must be non-negative");
+        if (!isClose(scaled, rounded)) throw new IllegalArgumentException("Key is not a multiple of 1 / scale: " + key);
+        if (rounded > maxKey) throw new IllegalArgumentException("Key is larger than the maximum key: " + key);
+
+        return (int) rounded;
+    }
+
+    private static boolean isClose(double scaled, long rounded) {
+        return Math.abs(scaled - rounded) <= 1e-9 * Math.max(1.0, scaled);
+    }
+
+    private void link(int i, int b) {
+        bucketOf[i] = b;
+        prev[i] = NONE;
+        next[i] = head[b];
+        if (head[b] != NONE) prev[head[b]] = i;
+        head[b] = i;
+
+        if (b < cursor) cursor = b;
+    }
+
+    private void unlink(int i) {
+        int b = bucketOf[i];
+
+        if (prev[i] != NONE) next[prev[i]] = next[i];
+        else                 head[b] = next[i];
+
+        if (next[i] != NONE) prev[next[i]] = prev[i];
+
+        bucketOf[i] = NONE;
+    }
+
+    /**
+     * <code>first()</code> - Private method, advances the cursor to the first non-empty bucket.
+     */
+    private int first() {
+        while (head[cursor] == NONE) cursor++;
+
+        return head[cursor];
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("Invalid index range");
+        }
+    }
+
+    /**
+     * <code>insert()</code> - Inserts a key into the priority queue at index i
+     * @param i integer for the index
+     * @param key double value of the key to be inserted
+     * @throws IllegalArgumentException if the index is invalid or already in use, or the key has no bucket
+     */
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (contains(i)) throw new IllegalArgumentException("Index already in use");
+
+        int b = bucket(key, scale, head.length - 1);
+
+        if (size == 0) cursor = b;
+
+        keys[i] = key;
+        link(i, b);
+        size++;
+    }
+
+    /**
+     * <code>decreaseKey()</code> - Decreases the priority of the key associated with index "i"
+     * @param i integer of the array index
+     * @param key double value of the new, smaller key
+     * @throws IllegalArgumentException if the index is invalid, the key is not smaller than the current key, or has no bucket
+     * @throws NoSuchElementException if the index can't be found
+     */
+    @Override
+    public void decreaseKey(int i, double key) {
+        validateIndex(i);
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+        if (!(key < keys[i])) throw new IllegalArgumentException("Smaller key already in queue");
+
+        int b = bucket(key, scale, head.length - 1);
+
+        keys[i] = key;
+
+        if (b != bucketOf[i]) {
+            unlink(i);
+            link(i, b);
+        }
+    }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return bucketOf[i] != NONE;
+    }
+
+    /**
+     * <code>delMin()</code> - Removes an index with the minimum key and returns it. Indices in the same bucket are
+     * returned in no particular order.
+     * @return integer index of the key removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    @Override
+    public int delMin() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        int min = first();
+        unlink(min);
+        size--;
+
+        return min;
+    }
+
+    @Override
+    public double minKey() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return keys[first()];
+    }
+
+    /**
+     * <code>key()</code> - Returns the key associated with index "i"
+     * @param i integer of the array index
+     * @return double of the key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    public double key(int i) {
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        return keys[i];
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+    /**
+     * <code>maxKey()</code> - The largest scaled key this queue has a bucket for.
+     * @return integer of the largest scaled key
+     */
+    public int maxKey() { return head.length - 1; }
+
+}
@@ -0,0 +1,528 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>CompressedEdgeWeightedGraph</code> - An immutable edge-weighted undirected graph whose adjacency lists are
+ * compressed into byte arrays, for large read-mostly graphs where memory matters more than decoding time.
+ * <br><br>
+ * The neighbors of each vertex are sorted by target, and the targets are stored as variable-length gaps from the
+ * previous target: 7 bits per byte, so a gap under 128 takes one byte. Each target is followed by its weight, either as
+ * a 4-byte <code>float</code> (<code>float32()</code>) or as a zig-zag varint multiple of a fixed quantum
+ * (<code>fixedPoint()</code>), which takes one or two bytes for small integer weights. Every list starts with its
+ * degree as a varint.
+ * <br><br>
+ * A sparse random graph takes about 7 bytes per slot with <code>float</code> weights, 14 bytes per edge, compared to
+ * 24 bytes in <code>CsrEdgeWeightedGraph</code> and roughly 80 in <code>EdgeWeightedGraph</code>. Weights are rounded
+ * to the chosen encoding, so an MST computed here is the MST of the rounded weights.
+ * <br><br>
+ * The encoded bytes are split into chunks of <code>2<sup>30</sup></code> bytes and located by <code>long</code>
+ * offsets, like the slots of <code>OffHeapCsrGraph</code>, so the size is bounded by the heap rather than by the 2 GB
+ * of one array. A graph too large to hold uncompressed on the heap is compressed from an <code>OffHeapCsrGraph</code>,
+ * which is itself built in two streaming passes over a text file, a <code>GraphGenerator</code> or any
+ * <code>EdgeSource</code>; the heap then holds the compressed graph, one chunk being filled and O(V) of offsets.
+ * <br><br>
+ * Adjacency lists are read with a reusable <code>Cursor</code>, which decodes in place without allocating;
+ * <code>adj()</code> wraps a cursor as an <code>Iterable&lt;Edge&gt;</code> for code written against
+ * <code>EdgeWeightedGraph</code>.
+ */
+public class CompressedEdgeWeightedGraph {
+
+    private static final int CHUNK_BYTES_LOG2 = 30;
+
+    private final int vertexCount;
+    private final long edgeCount;
+    private final double quantum;       // fixed-point step, 0.0 for float weights
+    private final int chunkShift;       // log2 of the bytes per chunk
+    private final long[] offsets;       // offsets[v] is the first byte of v's list, offsets[v + 1] is one past its end
+    private final byte[][] data;        // every chunk is full except the last
+
+    /**
+     * <code>Adjacency</code> - Private interface, the slots of the CSR graph being compressed, indexed by
+     * <code>long</code> so both <code>CsrEdgeWeightedGraph</code> and <code>OffHeapCsrGraph</code> fit.
+     */
+    private interface Adjacency {
+        long adjStart(int v);
+        long adjEnd(int v);
+        int target(long slot);
+        double weight(long slot);
+    }
+
+    private CompressedEdgeWeightedGraph(int vertexCount, long edgeCount, Adjacency adjacency, double quantum, int chunkBytesLog2) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.quantum = quantum;
+        this.chunkShift = chunkBytesLog2;
+        this.offsets = new long[vertexCount + 1];
+
+        long maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) maxDegree = Math.max(maxDegree, adjacency.adjEnd(v) - adjacency.adjStart(v));
+
+        if (maxDegree > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Vertex degree too large to sort: " + maxDegree);
+
+        // a first guess of 5 bytes per slot for float weights and 2 for fixed-point, the first chunk grows if needed
+        Encoder encoder = new Encoder(2L * edgeCount * (quantum == 0.0 ? 5 : 2) + vertexCount, chunkBytesLog2);
+        long[] order = new long[(int) maxDegree];
+
+        for (int v = 0; v < vertexCount; v++) {
+            long start = adjacency.adjStart(v);
+            int degree = (int) (adjacency.adjEnd(v) - start);
+
+            // sort the slots of v by target, carrying the slot along in the low bits
+            for (int i = 0; i < degree; i++) order[i] = (long) adjacency.target(start + i) << 32 | i;
+            Arrays.sort(order, 0, degree);
+
+            offsets[v] = encoder.size;
+            encoder.putVarLong(degree);
+
+            int previous = 0;
+
+            for (int i = 0; i < degree; i++) {
+                long slot = start + (int) order[i];
+                int target = adjacency.target(slot);
+
+                encoder.putVarLong(target - previous);
+                previous = target;
+
+                if (quantum == 0.0) {
+                    encoder.putFloat((float) adjacency.weight(slot));
+                } else {
+                    encoder.putVarLong(zigZag(quantize(adjacency.weight(slot), quantum)));
+                }
+            }
+        }
+
+        offsets[vertexCount] = encoder.size;
+        this.data = encoder.finish();
+    }
+
+    private CompressedEdgeWeightedGraph(CsrEdgeWeightedGraph csrGraph, double quantum) {
+        this(csrGraph.vertexCount(), csrGraph.edgeCount(), new Adjacency() {
+            @Override public long adjStart(int v) { return csrGraph.adjStart(v); }
+            @Override public long adjEnd(int v) { return csrGraph.adjEnd(v); }
+            @Override public int target(long slot) { return csrGraph.target((int) slot); }
+            @Override public double weight(long slot) { return csrGraph.weight((int) slot); }
+        }, quantum, CHUNK_BYTES_LOG2);
+    }
+
+    private CompressedEdgeWeightedGraph(OffHeapCsrGraph offHeapGraph, double quantum, int chunkBytesLog2) {
+        this(offHeapGraph.vertexCount(), offHeapGraph.edgeCount(), new Adjacency() {
+            @Override public long adjStart(int v) { return offHeapGraph.adjStart(v); }
+            @Override public long adjEnd(int v) { return offHeapGraph.adjEnd(v); }
+            @Override public int target(long slot) { return offHeapGraph.target(slot); }
+            @Override public double weight(long slot) { return offHeapGraph.weight(slot); }
+        }, quantum, chunkBytesLog2);
+    }
+
+    /**
+     * <code>float32()</code> - Compresses a graph, storing each weight as a 4-byte <code>float</code>.
+     * @param csrGraph the graph to compress
+     * @return CompressedEdgeWeightedGraph with float weights
+     */
+    public static CompressedEdgeWeightedGraph float32(CsrEdgeWeightedGraph csrGraph) {
+        return new CompressedEdgeWeightedGraph(csrGraph, 0.0);
+    }
+
+    /**
+     * <code>float32()</code> - Compresses an off-heap graph, storing each weight as a 4-byte <code>float</code>.
+     * @param offHeapGraph the graph to compress
+     * @return CompressedEdgeWeightedGraph with float weights
+     * @throws IllegalArgumentException if a vertex has 2<sup>31</sup> slots or more
+     */
+    public static CompressedEdgeWeightedGraph float32(OffHeapCsrGraph offHeapGraph) {
+        return new CompressedEdgeWeightedGraph(offHeapGraph, 0.0, CHUNK_BYTES_LOG2);
+    }
+
+    /**
+     * <code>fixedPoint()</code> - Compresses a graph, storing each weight as the nearest multiple of <code>quantum</code>.
+     * A quantum of 1.0 keeps integer weights exact, 0.01 keeps two decimal places.
+     * @param csrGraph the graph to compress
+     * @param quantum the positive step between representable weights
+     * @return CompressedEdgeWeightedGraph with fixed-point weights
+     * @throws IllegalArgumentException if the quantum is not positive and finite, or a weight is too large for it
+     */
+    public static CompressedEdgeWeightedGraph fixedPoint(CsrEdgeWeightedGraph csrGraph, double quantum) {
+        validateQuantum(quantum);
+
+        return new CompressedEdgeWeightedGraph(csrGraph, quantum);
+    }
+
+    /**
+     * <code>fixedPoint()</code> - Compresses an off-heap graph, storing each weight as the nearest multiple of
+     * <code>quantum</code>.
+     * @param offHeapGraph the graph to compress
+     * @param quantum the positive step between representable weights
+     * @return CompressedEdgeWeightedGraph with fixed-point weights
+     * @throws IllegalArgumentException if the quantum is not positive and finite, a weight is too large for it, or a
+     * vertex has 2<sup>31</sup> slots or more
+     */
+    public static CompressedEdgeWeightedGraph fixedPoint(OffHeapCsrGraph offHeapGraph, double quantum) {
+        validateQuantum(quantum);
+
+        return new CompressedEdgeWeightedGraph(offHeapGraph, quantum, CHUNK_BYTES_LOG2);
+    }
+
+    /**
+     * <code>compress()</code> - Package-private, compresses an off-heap graph into chunks of a given size, so tests can
+     * cross chunk boundaries with small graphs. A quantum of 0.0 selects <code>float</code> weights.
+     */
+    static CompressedEdgeWeightedGraph compress(OffHeapCsrGraph offHeapGraph, double quantum, int chunkBytesLog2) {
+        if (quantum != 0.0) validateQuantum(quantum);
+
+        return new CompressedEdgeWeightedGraph(offHeapGraph, quantum, chunkBytesLog2);
+    }
+
+    private static void validateQuantum(double quantum) {
+        if (!(quantum > 0.0) || Double.isInfinite(quantum)) throw new IllegalArgumentException("Invalid quantum");
+    }
+
+    private static long quantize(double weight, double quantum) {
+        double steps = Math.rint(weight / quantum);
+
+        if (Double.isNaN(steps) || Math.abs(steps) > 0x1p62) throw new IllegalArgumentException("Weight out of range for quantum: " + weight);
+
+        return (long) steps;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * <code>Encoder</code> - Private byte buffer for the encoded lists. The first chunk starts at the estimated size and
+     * grows by doubling up to the chunk size; after that full chunks are appended as they are, so at most one chunk is
+     * ever copied and the last one is trimmed to fit.
+     */
+    private static class Encoder {
+
+        private final int chunkBytes;
+        private byte[][] full = new byte[0][];
+        private byte[] bytes;               // the chunk being written
+        private int index;                  // next position in bytes
+        private long size;
+
+        Encoder(long capacity, int chunkBytesLog2) {
+            this.chunkBytes = 1 << chunkBytesLog2;
+            this.bytes = new byte[(int) Math.max(16, Math.min(capacity, chunkBytes))];
+        }
+
+        private void put(int b) {
+            if (index == bytes.length) {
+                if (bytes.length < chunkBytes) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(2L * bytes.length, chunkBytes));
+                } else {
+                    full = Arrays.copyOf(full, full.length + 1);
+                    full[full.length - 1] = bytes;
+                    bytes = new byte[chunkBytes];
+                    index = 0;
+                }
+            }
+
+            bytes[index++] = (byte) b;
+            size++;
+        }
+
+        void putVarLong(long value) {
+            if (index + 10 > bytes.length) {
+                // near the end of the chunk, check every byte
+                while ((value & ~0x7FL) != 0) {
+                    put((int) ((value & 0x7F) | 0x80));
+                    value >>>= 7;
+                }
+
+                put((int) value);
+                return;
+            }
+
+            int begin = index;
+
+            while ((value & ~0x7FL) != 0) {
+                bytes[index++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            bytes[index++] = (byte) value;
+            size += index - begin;
+        }
+
+        void putFloat(float value) {
+            int bits = Float.floatToRawIntBits(value);
+
+            if (index + 4 <= bytes.length) {
+                bytes[index] = (byte) bits;
+                bytes[index + 1] = (byte) (bits >>> 8);
+                bytes[index + 2] = (byte) (bits >>> 16);
+                bytes[index + 3] = (byte) (bits >>> 24);
+                index += 4;
+                size += 4;
+                return;
+            }
+
+            put(bits);
+            put(bits >>> 8);
+            put(bits >>> 16);
+            put(bits >>> 24);
+        }
+
+        byte[][] finish() {
+            byte[][] chunks = Arrays.copyOf(full, full.length + 1);
+            chunks[full.length] = Arrays.copyOf(bytes, index);
+
+            return chunks;
+        }
+    }
+
+    /**
+     * <code>Cursor</code> - Decodes adjacency lists one neighbor at a time. A cursor can be reset to any vertex and
+     * reused, so a traversal needs only one. Not thread-safe; use one cursor per thread.
+     */
+    public class Cursor {
+
+        private byte[] chunk;
+        private int chunkIndex;
+        private int position;       // next byte in chunk
+        private int remaining;
+        private int target;
+        private double weight;
+
+        private Cursor() { }
+
+        /**
+         * <code>reset()</code> - Positions the cursor before the first neighbor of <code>v</code>.
+         * @param v the vertex
+         * @return integer of the degree of v
+         * @throws IllegalArgumentException if the vertex is out of range
+         */
+        public int reset(int v) {
+            validateVertex(v);
+
+            chunkIndex = (int) (offsets[v] >>> chunkShift);
+            chunk = data[chunkIndex];
+            position = (int) (offsets[v] & ((1L << chunkShift) - 1));
+            remaining = (int) readVarLong();
+            target = 0;
+
+            return remaining;
+        }
+
+        /**
+         * <code>next()</code> - Advances to the next neighbor, in ascending target order.
+         * @return boolean true if there was another neighbor, false at the end of the list
+         */
+        public boolean next() {
+            if (remaining == 0) return false;
+
+            remaining--;
+
+            byte[] bytes = chunk;
+            int p = position;
+
+            // an entry takes at most 20 bytes, so away from the end of the chunk it is decoded without checking for one
+            if (p + 20 > bytes.length) {
+                nextAcrossChunks();
+                return true;
+            }
+
+            int gap = 0;
+            int shift = 0;
+            byte b;
+
+            do {
+                b = bytes[p++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            target += gap;
+
+            if (quantum == 0.0) {
+                int bits = (bytes[p] & 0xFF) | (bytes[p + 1] & 0xFF) << 8 | (bytes[p + 2] & 0xFF) << 16 | bytes[p + 3] << 24;
+
+                p += 4;
+                weight = Float.intBitsToFloat(bits);
+            } else {
+                long steps = 0;
+                shift = 0;
+
+                do {
+                    b = bytes[p++];
+                    steps |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                weight = ((steps >>> 1) ^ -(steps & 1)) * quantum;
+            }
+
+            position = p;
+
+            return true;
+        }
+
+        /**
+         * <code>nextAcrossChunks()</code> - Private method, decodes the next entry one byte at a time, moving on to the
+         * next chunk where this one ends.
+         */
+        private void nextAcrossChunks() {
+            target += (int) readVarLong();
+
+            if (quantum == 0.0) {
+                int bits = (readByte() & 0xFF) | (readByte() & 0xFF) << 8 | (readByte() & 0xFF) << 16 | readByte() << 24;
+                weight = Float.intBitsToFloat(bits);
+            } else {
+                long steps = readVarLong();
+                weight = ((steps >>> 1) ^ -(steps & 1)) * quantum;
+            }
+        }
+
+        /**
+         * <code>target()</code> - The other endpoint of the current edge.
+         * @return integer of the vertex
+         */
+        public int target() { return target; }
+
+        /**
+         * <code>weight()</code> - The weight of the current edge, as encoded.
+         * @return double of the weight
+         */
+        public double weight() { return weight; }
+
+        private byte readByte() {
+            if (position == chunk.length) {
+                chunk = data[++chunkIndex];
+                position = 0;
+            }
+
+            return chunk[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+
+            do {
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            return value;
+        }
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= vertexCount) throw new IllegalArgumentException("Vertex out of range");
+    }
+
+    /**
+     * <code>cursor()</code> - Creates a cursor over the adjacency lists of this graph.
+     * @return a new Cursor
+     */
+    public Cursor cursor() { return new Cursor(); }
+
+    /**
+     * <code>adj()</code> - The edges incident to vertex <code>v</code> as new <code>Edge</code> objects, for code
+     * written against <code>EdgeWeightedGraph</code>. Use a <code>Cursor</code> to avoid the allocation.
+     * @param v the vertex
+     * @return Iterable of the edges incident to v
+     * @throws IllegalArgumentException if the vertex is out of range
+     */
+    public Iterable<Edge> adj(int v) {
+        validateVertex(v);
+
+        return () -> new Iterator<>() {
+            private final Cursor cursor = new Cursor();
+            private boolean ready;
+
+            {
+                cursor.reset(v);
+                ready = cursor.next();
+            }
+
+            @Override
+            public boolean hasNext() { return ready; }
+
+            @Override
+            public Edge next() {
+                if (!ready) throw new NoSuchElementException("No more edges");
+
+                Edge edge = new Edge(v, cursor.target(), cursor.weight());
+                ready = cursor.next();
+
+                return edge;
+            }
+        };
+    }
+
+    /**
+     * <code>degree()</code> - The number of neighbors of vertex <code>v</code>, counting a self-loop twice.
+     * @param v the vertex
+     * @return integer of the degree
+     * @throws IllegalArgumentException if the vertex is out of range
+     */
+    public int degree(int v) {
+        return new Cursor().reset(v);
+    }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices in this graph.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>edgeCount()</code> - The number of undirected edges in this graph.
+     * @return a long of the number of edges
+     */
+    public long edgeCount() { return edgeCount; }
+
+    /**
+     * <code>isFixedPoint()</code> - Whether the weights are stored as multiples of a quantum rather than as floats.
+     * @return boolean true for fixed-point weights, false for float weights
+     */
+    public boolean isFixedPoint() { return quantum != 0.0; }
+
+    /**
+     * <code>quantum()</code> - The step between representable weights of a fixed-point graph.
+     * @return double of the quantum, 0.0 for float weights
+     */
+    public double quantum() { return quantum; }
+
+    /**
+     * <code>byteSize()</code> - The number of bytes in the encoded lists and their offsets, excluding object headers.
+     * @return long of the size in bytes
+     */
+    public long byteSize() {
+        long bytes = 8L * offsets.length;
+        for (byte[] chunk : data) bytes += chunk.length;
+
+        return bytes;
+    }
+
+    // compares the footprint of the graph in each representation and the MST weight of each encoding
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        CsrEdgeWeightedGraph csr = GraphLoader.loadCsr(args[0]);
+        double quantum = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        long edges = Math.max(1, csr.edgeCount());
+        long csrBytes = 4L * (csr.vertexCount() + 1) + 24L * csr.edgeCount();
+
+        CompressedEdgeWeightedGraph floats = float32(csr);
+        CompressedEdgeWeightedGraph fixed = fixedPoint(csr, quantum);
+
+        System.out.printf("CSR:         %,d bytes, %.1f per edge, MST %.5f%n", csrBytes, (double) csrBytes / edges,
+                new EagerPrimMST(csr).totalWeight());
+        System.out.printf("float32:     %,d bytes, %.1f per edge, MST %.5f%n", floats.byteSize(), (double) floats.byteSize() / edges,
+                new EagerPrimMST(floats).totalWeight());
+        System.out.printf("fixed %-6s %,d bytes, %.1f per edge, MST %.5f%n", quantum + ":", fixed.byteSize(), (double) fixed.byteSize() / edges,
+                new EagerPrimMST(fixed).totalWeight());
+    }
+
+}
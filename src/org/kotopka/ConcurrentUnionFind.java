@@ -0,0 +1,153 @@
+package org.kotopka;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <code>ConcurrentUnionFind</code> - A lock-free union-find disjoint-set data type that can be shared between threads.
+ * <br><br>
+ * The parent links live in an <code>AtomicIntegerArray</code>. <code>union()</code> links one root below the other with a
+ * single compare-and-set, retrying if another thread changed either root first. Roots are linked by a fixed random
+ * priority (a shuffled permutation of the sites) instead of by size, since sizes can't be kept consistent without
+ * locking; the lower-priority root always goes below the higher one, so the links can never form a cycle.
+ * <code>find()</code> uses path splitting: every site on the way to the root is pointed at its grandparent with a
+ * compare-and-set that is simply skipped if it fails, since any ancestor is still a correct parent.
+ * <br><br>
+ * <code>connected()</code>, <code>union()</code> and <code>count()</code> have the same meaning as in
+ * <code>WeightedUnionFind</code>, and each call is atomic with respect to concurrent unions.
+ * <br><br>
+ * Anderson, Woll, <em>Wait-free Parallel Algorithms for the Union-Find Problem</em>, STOC 1991; Jayanti, Tarjan,
+ * <em>A Randomized Concurrent Algorithm for Disjoint Set Union</em>, PODC 2016.
+ */
+public class ConcurrentUnionFind implements DisjointSet {
+
+    private final int n;
+    private final AtomicIntegerArray parent;
+    private final int[] priority;   // random and distinct, the root with the lower priority is linked below the other
+    private final AtomicInteger count;
+
+    /**
+     * <code>ConcurrentUnionFind()</code> - Constructor. Initializes the union-find instance with <code>n</code> sites.
+     * @param n integer for the number of sites in this instance
+     */
+    public ConcurrentUnionFind(int n) {
+        this(n, 0x5EED);
+    }
+
+    /**
+     * <code>ConcurrentUnionFind()</code> - Constructor. Initializes the union-find instance with <code>n</code> sites,
+     * drawing the linking priorities from the given seed.
+     * @param n integer for the number of sites in this instance
+     * @param seed long seed for the random priorities
+     */
+    public ConcurrentUnionFind(int n, long seed) {
+        if (n < 0) throw new IllegalArgumentException("Invalid number of sites");
+
+        this.n = n;
+        this.parent = new AtomicIntegerArray(n);
+        this.priority = new int[n];
+        this.count = new AtomicInteger(n);
+
+        Random random = new Random(seed);
+
+        // Fisher-Yates shuffle of 0..n-1
+        for (int i = 0; i < n; i++) {
+            int j = random.nextInt(i + 1);
+            priority[i] = priority[j];
+            priority[j] = i;
+        }
+
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    private void validatePoint(int p) {
+        if (p < 0 || p >= n) throw new IllegalArgumentException("Argument out of range");
+    }
+
+    /**
+     * <code>find()</code> - Finds the current root of the connected component containing site "p", splitting the path
+     * on the way. A concurrent union may make the returned root stale by the time it is used.
+     * @param p integer for the site to be queried
+     * @return integer of the root of the connected component containing site "p"
+     */
+    @Override
+    public int find(int p) {
+        validatePoint(p);
+
+        return root(p);
+    }
+
+    private int root(int p) {
+        while (true) {
+            int up = parent.get(p);
+            if (up == p) return p;
+
+            int grand = parent.get(up);
+            if (grand != up) parent.compareAndSet(p, up, grand);  // path splitting, fine to lose the race
+
+            p = up;
+        }
+    }
+
+    /**
+     * <code>union()</code> - Joins the components of sites "p" and "q".
+     * @param p integer for site "p"
+     * @param q integer for site "q"
+     * @return boolean true if this call joined two components, false if they were already connected
+     */
+    @Override
+    public boolean union(int p, int q) {
+        validatePoint(p);
+        validatePoint(q);
+
+        while (true) {
+            int i = root(p);
+            int j = root(q);
+
+            if (i == j) return false;
+
+            if (priority[i] > priority[j]) {
+                int temp = i;
+                i = j;
+                j = temp;
+            }
+
+            // i may have stopped being a root since root() returned it, in which case start over
+            if (parent.compareAndSet(i, i, j)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * <code>connected()</code> - Query the union-find instance to see if sites "p" and "q" are connected.
+     * @param p integer for one of the sites to be queried
+     * @param q integer for the other site
+     * @return <code>true</code> if sites "p" and "q" are connected, <code>false</code> otherwise
+     */
+    @Override
+    public boolean connected(int p, int q) {
+        validatePoint(p);
+        validatePoint(q);
+
+        while (true) {
+            int i = root(p);
+            int j = root(q);
+
+            if (i == j) return true;
+
+            // if i is still a root, p and q were in different components when j was found
+            if (parent.get(i) == i) return false;
+        }
+    }
+
+    /**
+     * <code>count()</code> - Number of connected components in this union-find instance.
+     * @return integer of the number of connected components
+     */
+    @Override
+    public int count() { return count.get(); }
+
+}
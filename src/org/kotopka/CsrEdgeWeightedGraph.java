@@ -0,0 +1,194 @@
+package org.kotopka;
+
+/**
+ * <code>CsrEdgeWeightedGraph</code> - An immutable edge-weighted undirected graph stored in compressed sparse row (CSR) form.
+ * <br><br>
+ * Instead of a <code>Bag</code> of <code>Edge</code> objects per vertex, the adjacency lists of all vertices are packed
+ * back-to-back into primitive arrays. Each undirected edge occupies two "slots", one in the adjacency list of each endpoint.
+ * The slots of vertex <code>v</code> are <code>adjStart(v)</code> (inclusive) to <code>adjEnd(v)</code> (exclusive), and
+ * each slot holds the other endpoint (<code>target()</code>) and the weight of the edge (<code>weight()</code>).
+ * <br><br>
+ * A slot costs 12 bytes, so an edge costs 24 bytes, compared to an <code>Edge</code> object plus two <code>Bag</code>
+ * nodes (roughly 80 bytes) in <code>EdgeWeightedGraph</code>.
+ */
+public class CsrEdgeWeightedGraph {
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[] offsets;        // offsets[v] is the first slot of v, offsets[v + 1] is one past its last slot
+    private final int[] targets;        // slot-indexed, the other endpoint of the edge
+    private final double[] weights;     // slot-indexed, the weight of the edge
+
+    /**
+     * <code>CsrEdgeWeightedGraph()</code> - Constructor. Builds a CSR copy of an existing <code>EdgeWeightedGraph</code>.
+     * @param edgeWeightedGraph the graph to copy
+     */
+    public CsrEdgeWeightedGraph(EdgeWeightedGraph edgeWeightedGraph) {
+        this.vertexCount = edgeWeightedGraph.vertexCount();
+        this.edgeCount = edgeWeightedGraph.edgeCount();
+        this.offsets = new int[vertexCount + 1];
+        this.targets = new int[2 * edgeCount];
+        this.weights = new double[2 * edgeCount];
+
+        int slot = 0;
+
+        // the adjacency lists already hold both directions of every edge, so copy them in vertex order
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v] = slot;
+
+            for (Edge e : edgeWeightedGraph.adj(v)) {
+                targets[slot] = e.other(v);
+                weights[slot] = e.weight();
+                slot++;
+            }
+        }
+
+        offsets[vertexCount] = slot;
+    }
+
+    /**
+     * <code>CsrEdgeWeightedGraph()</code> - Constructor. Builds the graph from parallel arrays of edge endpoints and weights,
+     * where edge <code>i</code> connects <code>from[i]</code> and <code>to[i]</code> with weight <code>weight[i]</code>.
+     * The arrays are not retained.
+     * @param vertexCount the number of vertices
+     * @param from integer array of one endpoint of each edge
+     * @param to integer array of the other endpoint of each edge
+     * @param weight double array of the weight of each edge
+     * @throws IllegalArgumentException if the vertex count is not positive, the arrays differ in length, or an endpoint is out of range
+     */
+    public CsrEdgeWeightedGraph(int vertexCount, int[] from, int[] to, double[] weight) {
+        this(new EdgeList(vertexCount, from, to, weight));
+    }
+
+    /**
+     * <code>CsrEdgeWeightedGraph()</code> - Constructor. Builds the graph from an <code>EdgeList</code>. The list is not retained.
+     * @param edgeList the edges of the graph
+     */
+    public CsrEdgeWeightedGraph(EdgeList edgeList) {
+        this.vertexCount = edgeList.vertexCount();
+        this.edgeCount = edgeList.size();
+        this.offsets = new int[vertexCount + 1];
+        this.targets = new int[2 * edgeCount];
+        this.weights = new double[2 * edgeCount];
+
+        // count the degree of each vertex into offsets[v + 1]...
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[edgeList.from(i) + 1]++;
+            offsets[edgeList.to(i) + 1]++;
+        }
+
+        // ...then turn the degrees into starting offsets with a prefix sum
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+
+        for (int i = 0; i < edgeCount; i++) {
+            int v = edgeList.from(i);
+            int w = edgeList.to(i);
+            double weight = edgeList.weight(i);
+
+            targets[next[v]] = w;
+            weights[next[v]++] = weight;
+            targets[next[w]] = v;
+            weights[next[w]++] = weight;
+        }
+    }
+
+    /**
+     * <code>adjStart()</code> - The first adjacency slot of vertex <code>v</code>.
+     * @param v the vertex
+     * @return integer of the first slot, inclusive
+     */
+    public int adjStart(int v) { return offsets[v]; }
+
+    /**
+     * <code>adjEnd()</code> - One past the last adjacency slot of vertex <code>v</code>.
+     * @param v the vertex
+     * @return integer of the last slot, exclusive
+     */
+    public int adjEnd(int v) { return offsets[v + 1]; }
+
+    /**
+     * <code>degree()</code> - The number of edges incident to vertex <code>v</code>.
+     * @param v the vertex
+     * @return integer of the degree of <code>v</code>
+     */
+    public int degree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    /**
+     * <code>target()</code> - The other endpoint of the edge stored in an adjacency slot.
+     * @param slot the adjacency slot
+     * @return integer of the vertex at the other end of the edge
+     */
+    public int target(int slot) { return targets[slot]; }
+
+    /**
+     * <code>weight()</code> - The weight of the edge stored in an adjacency slot.
+     * @param slot the adjacency slot
+     * @return double of the edge weight
+     */
+    public double weight(int slot) { return weights[slot]; }
+
+    /**
+     * <code>source()</code> - The vertex whose adjacency list contains the slot. Uses a binary search over the offsets,
+     * so it is meant for materializing result edges rather than for inner loops.
+     * @param slot the adjacency slot
+     * @return integer of the vertex owning the slot
+     */
+    public int source(int slot) {
+        if (slot < 0 || slot >= targets.length) throw new IllegalArgumentException("Slot out of range");
+
+        int lo = 0;
+        int hi = vertexCount - 1;
+
+        // find the last vertex whose first slot is <= slot, skipping vertices with empty adjacency lists
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+
+            if (offsets[mid] <= slot) lo = mid;
+            else                      hi = mid - 1;
+        }
+
+        return lo;
+    }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices in this graph.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>edgeCount()</code> - The number of undirected edges in this graph.
+     * @return an integer of the number of edges
+     */
+    public int edgeCount() { return edgeCount; }
+
+    /**
+     * <code>toString()</code> - String representation of this graph
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("[");
+
+        for (int v = 0; v < vertexCount; v++) {
+            for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                if (targets[slot] > v) sb.append("(").append(new Edge(v, targets[slot], weights[slot])).append("), ");
+            }
+        }
+
+        if (sb.length() > 2) {
+            sb.setLength(sb.length() - 2);
+        }
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+}
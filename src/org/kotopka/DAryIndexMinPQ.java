@@ -0,0 +1,199 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>DAryIndexMinPQ</code> - An indexed minimum priority queue with <code>double</code> keys, kept as a d-ary heap.
+ * <br><br>
+ * A node at heap position <code>k</code> has its children at <code>d * k + 1 .. d * k + d</code>, so the heap is only
+ * log<sub>d</sub> N levels deep: <code>decreaseKey()</code> (which only swims) gets cheaper as <code>d</code> grows,
+ * while <code>delMin()</code> compares up to <code>d</code> children per level. With many key decreases per removal,
+ * as in Prim's algorithm on dense graphs, <code>d = 4</code> or <code>8</code> is usually faster than a binary heap.
+ * <br><br>
+ * The keys are stored in heap order next to the indices, so scanning the children of a node reads one contiguous
+ * run of the key array instead of jumping through an index.
+ */
+public class DAryIndexMinPQ implements DoubleIndexPQ {
+
+    private final int capacity;
+    private final int d;
+    private final double[] heapKeys;    // heapKeys[k] is the key at heap position k
+    private final int[] heap;           // heap[k] is the index at heap position k
+    private final int[] position;       // position[i] is the heap position of index i, -1 if absent
+    private int size;
+
+    /**
+     * <code>DAryIndexMinPQ()</code> - Constructor. Creates a 4-ary heap.
+     * @param capacity integer of the number of indices, <code>0..capacity - 1</code>
+     */
+    public DAryIndexMinPQ(int capacity) {
+        this(capacity, 4);
+    }
+
+    /**
+     * <code>DAryIndexMinPQ()</code> - Constructor.
+     * @param capacity integer of the number of indices, <code>0..capacity - 1</code>
+     * @param d integer of the number of children per node, at least 2
+     * @throws IllegalArgumentException if the capacity is less than 1 or d is less than 2
+     */
+    public DAryIndexMinPQ(int capacity, int d) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid capacity");
+        if (d < 2) throw new IllegalArgumentException("Heap arity must be at least 2");
+
+        this.capacity = capacity;
+        this.d = d;
+        this.heapKeys = new double[capacity];
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * <code>swim()</code> - Private method, moves the key of index i up from heap position k until its parent is
+     * not larger. Parents are shifted down into the hole instead of swapped.
+     */
+    private void swim(int k, int i, double key) {
+        while (k > 0) {
+            int parent = (k - 1) / d;
+
+            if (!(key < heapKeys[parent])) break;
+
+            place(k, heap[parent], heapKeys[parent]);
+            k = parent;
+        }
+
+        place(k, i, key);
+    }
+
+    /**
+     * <code>sink()</code> - Private method, moves the key of index i down from heap position k until none of its
+     * children are smaller. Children are shifted up into the hole instead of swapped.
+     */
+    private void sink(int k, int i, double key) {
+        while (true) {
+            int first = d * k + 1;
+            if (first >= size) break;
+
+            int last = Math.min(first + d, size);
+            int min = first;
+
+            for (int j = first + 1; j < last; j++) {
+                if (heapKeys[j] < heapKeys[min]) min = j;
+            }
+
+            if (!(heapKeys[min] < key)) break;
+
+            place(k, heap[min], heapKeys[min]);
+            k = min;
+        }
+
+        place(k, i, key);
+    }
+
+    private void place(int k, int i, double key) {
+        heap[k] = i;
+        heapKeys[k] = key;
+        position[i] = k;
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("Invalid index range");
+        }
+    }
+
+    /**
+     * <code>insert()</code> - Inserts a key into the priority queue at index i
+     * @param i integer for the index
+     * @param key double value of the key to be inserted
+     * @throws IllegalArgumentException if the index is invalid, already in use, or the key is NaN
+     */
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (contains(i)) throw new IllegalArgumentException("Index already in use");
+
+        swim(size++, i, key);
+    }
+
+    /**
+     * <code>decreaseKey()</code> - Decreases the priority of the key associated with index "i"
+     * @param i integer of the array index
+     * @param key double value of the new, smaller key
+     * @throws IllegalArgumentException if the index is invalid, or the key is not smaller than the current key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    @Override
+    public void decreaseKey(int i, double key) {
+        validateIndex(i);
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        int k = position[i];
+        if (!(key < heapKeys[k])) throw new IllegalArgumentException("Smaller key already in queue");
+
+        swim(k, i, key);
+    }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return position[i] != -1;
+    }
+
+    /**
+     * <code>delMin()</code> - Removes the minimum key and returns the index
+     * @return integer index of the key removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    @Override
+    public int delMin() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+
+        // sink the last element from the root
+        if (size > 0) sink(0, heap[size], heapKeys[size]);
+
+        return min;
+    }
+
+    @Override
+    public double minKey() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return heapKeys[0];
+    }
+
+    /**
+     * <code>key()</code> - Returns the key associated with index "i"
+     * @param i integer of the array index
+     * @return double of the key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    public double key(int i) {
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        return heapKeys[position[i]];
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+    /**
+     * <code>arity()</code> - The number of children per heap node.
+     * @return integer d
+     */
+    public int arity() { return d; }
+
+}
@@ -0,0 +1,42 @@
+package org.kotopka;
+
+/**
+ * <code>DisjointSet</code> - A union-find data type over the sites <code>0..n - 1</code>: joins sites into connected
+ * components and answers whether two sites are in the same component.
+ * <br><br>
+ * <code>WeightedUnionFind</code> validates every argument and throws <code>IllegalArgumentException</code>. The faster
+ * variants (<code>RemUnionFind</code>, <code>RankUnionFind</code>, <code>CompactUnionFind</code>) leave that to the
+ * array bounds checks, so a site out of range throws an <code>IndexOutOfBoundsException</code> instead.
+ */
+public interface DisjointSet {
+
+    /**
+     * <code>find()</code> - The root of the component containing site "p". Two sites are connected exactly when their
+     * roots are the same, until the next <code>union()</code>.
+     * @param p integer for the site to be queried
+     * @return integer of the root of the component containing site "p"
+     */
+    int find(int p);
+
+    /**
+     * <code>union()</code> - Joins the components of sites "p" and "q".
+     * @param p integer for site "p"
+     * @param q integer for site "q"
+     * @return boolean true if this call joined two components, false if they were already connected
+     */
+    boolean union(int p, int q);
+
+    /**
+     * <code>connected()</code> - Whether sites "p" and "q" are in the same component.
+     * @param p integer for one of the sites to be queried
+     * @param q integer for the other site
+     * @return <code>true</code> if sites "p" and "q" are connected, <code>false</code> otherwise
+     */
+    boolean connected(int p, int q);
+
+    /**
+     * <code>count()</code> - Number of connected components.
+     * @return integer of the number of connected components
+     */
+    int count();
+}
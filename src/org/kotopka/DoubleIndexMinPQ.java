@@ -0,0 +1,232 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>DoubleIndexMinPQ</code> - An indexed minimum priority queue specialized for <code>double</code> keys.
+ * Same binary heap and index bookkeeping as <code>IndexMinPQ</code>, but the keys live in a <code>double[]</code>, so
+ * <code>insert()</code>, <code>decreaseKey()</code> and <code>delMin()</code> never allocate, and heap comparisons are
+ * plain <code>double</code> comparisons instead of unboxing and <code>compareTo()</code> calls.
+ * <br><br>
+ * This is the binary heap implementation of <code>DoubleIndexPQ</code>; see also <code>DAryIndexMinPQ</code> and
+ * <code>PairingIndexMinPQ</code>.
+ * <br><br>
+ * Adapted from <a href="https://algs4.cs.princeton.edu/home/">Altorithms 4th ed.</a> by Robert Sedgewick and Kevin Wayne
+ */
+public class DoubleIndexMinPQ implements DoubleIndexPQ {
+
+    private final int capacity;
+    private final double[] keys;    // keys[i] is the priority of index i
+    private final int[] pq;         // pq[i] is the index of the key in heap position i
+    private final int[] qp;         // qp[i] is the heap position of the key with index i, -1 if absent
+    private int size;
+
+    public DoubleIndexMinPQ(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid capacity");
+
+        this.capacity = capacity;
+
+        // see the discussion of these arrays in the IndexMinPQ constructor
+        this.keys = new double[capacity];
+        this.pq = new int[capacity + 1];
+        this.qp = new int[capacity];
+
+        Arrays.fill(qp, -1);
+    }
+
+    /**
+     * <code>swap()</code> Private method, swaps the index pointers in pq[] and qp[]
+     * @param a integer index of one item to be swapped
+     * @param b integer index of the other item to be swapped
+     */
+    private void swap(int a, int b) {
+        int temp = pq[a];
+        pq[a] = pq[b];
+        pq[b] = temp;
+
+        qp[pq[a]] = a;
+        qp[pq[b]] = b;
+    }
+
+    /**
+     * <code>isGreaterThan()</code> Private method, returns true if the key at heap position a > the key at heap position b
+     * @param a integer of the heap position of element a
+     * @param b integer of the heap position of element b
+     * @return boolean value, true if keys[pq[a]] > keys[pq[b]], false otherwise
+     */
+    private boolean isGreaterThan(int a, int b) {
+        return keys[pq[a]] > keys[pq[b]];
+    }
+
+    /**
+     * <code>sink()</code> Private method, puts the element "k" into the correct place to maintain the heap property.
+     * The <code>sink()</code> method is used to restore order after a deletion.
+     * @param k integer of the heap position where the item to sink originates
+     */
+    private void sink(int k) {
+        while (2 * k <= size) {
+            int j = 2 * k;
+
+            // find the smaller of the two children at nodes j and j + 1
+            if (j < size && isGreaterThan(j, j + 1)) { j++; }
+
+            // if the heap property has been restored, break
+            if (!isGreaterThan(k, j)) { break; }
+
+            swap(j, k);
+            k = j;
+        }
+    }
+
+    /**
+     * <code>swim()</code> - Private method, puts the element "k" into the correct place to maintain the heap property.
+     * The <code>swim()</code> method is used to restore order after an insertion or a key decrease.
+     * @param k integer of the heap position where the item to swim originates
+     */
+    private void swim(int k) {
+        while (k > 1 && isGreaterThan(k/2, k)) {
+            swap(k/2, k);
+            k = k/2;
+        }
+    }
+
+    /**
+     * <code>validateIndex()</code> - Validates the index supplied as a method argument
+     * @param index integer of the array index
+     * @throws IllegalArgumentException if array index is invalid
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("Invalid index range");
+        }
+    }
+
+    /**
+     * <code>insert()</code> - Inserts a key into the priority queue at index i
+     * @param i integer for the index
+     * @param key double value of the key to be inserted
+     * @throws IllegalArgumentException if the index is invalid
+     * @throws IllegalArgumentException if the key is NaN
+     * @throws IllegalArgumentException if the index "i" is already in use
+     */
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (contains(i)) throw new IllegalArgumentException("Index already in use");
+
+        size++;
+        qp[i] = size;
+        pq[size] = i;
+        keys[i] = key;
+        swim(size);
+    }
+
+    /**
+     * <code>decreaseKey()</code> - Decreases the priority of the key associated with index "i"
+     * @param i integer of the array index
+     * @param key double value of the new, smaller key
+     * @throws IllegalArgumentException if the index is invalid
+     * @throws NoSuchElementException if the index can't be found
+     * @throws IllegalArgumentException if the key is not smaller than the key already in the priority queue
+     */
+    @Override
+    public void decreaseKey(int i, double key) {
+        validateIndex(i);
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+        if (keys[i] == key) throw new IllegalArgumentException("Key already found");
+        if (!(key < keys[i])) throw new IllegalArgumentException("Smaller key already in queue");
+
+        keys[i] = key;
+        swim(qp[i]);
+    }
+
+    /**
+     * <code>changeKey()</code> - Changes the priority of the key associated with index "i"
+     * @param i integer of the array index
+     * @param key double value of the new key
+     * @throws IllegalArgumentException if the index is invalid
+     * @throws IllegalArgumentException if the key is NaN
+     * @throws NoSuchElementException if the index can't be found
+     */
+    public void changeKey(int i, double key) {
+        validateIndex(i);
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        keys[i] = key;
+        swim(qp[i]);
+        sink(qp[i]);
+    }
+
+    /**
+     * <code>contains()</code> - Returns boolean value if the index "i" is associated with a key in this priority queue
+     * @param i integer of the array index
+     * @return boolean true if this priority queue contains the key at index "i", false otherwise
+     */
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return qp[i] != -1;
+    }
+
+    /**
+     * <code>delMin()</code> - Removes the minimum key and returns the index
+     * @return integer index of the key removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    @Override
+    public int delMin() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        int min = pq[1];
+        swap(1, size--);
+        sink(1);
+        qp[min] = -1;
+        pq[size + 1] = -1;
+        return min;
+    }
+
+    /**
+     * <code>minKey()</code> - Returns the minimum key without removing it
+     * @return double of the smallest key
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    @Override
+    public double minKey() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return keys[pq[1]];
+    }
+
+    /**
+     * <code>key()</code> - Returns the key associated with index "i"
+     * @param i integer of the array index
+     * @return double of the key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    public double key(int i) {
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        return keys[i];
+    }
+
+    /**
+     * <code>isEmpty()</code> - Returns true if the priority queue is empty, false otherwise.
+     * @return boolean value, true if the priority queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * <code>size()</code> - Returns the number of elements currently in this priority queue
+     * @return integer representing the number of elements contained herein
+     */
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+}
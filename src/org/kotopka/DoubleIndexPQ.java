@@ -0,0 +1,60 @@
+package org.kotopka;
+
+/**
+ * <code>DoubleIndexPQ</code> - An indexed minimum priority queue with <code>double</code> keys, where each key is
+ * associated with an integer index in <code>0..capacity() - 1</code>. This is everything eager Prim needs from its
+ * priority queue, so <code>EagerPrimMST</code> can be given any implementation.
+ */
+public interface DoubleIndexPQ {
+
+    /**
+     * <code>insert()</code> - Associates a key with index i.
+     * @param i integer for the index, not already in the queue
+     * @param key double value of the key
+     */
+    void insert(int i, double key);
+
+    /**
+     * <code>decreaseKey()</code> - Decreases the key associated with index i.
+     * @param i integer for an index in the queue
+     * @param key double value of the new key, smaller than the current one
+     */
+    void decreaseKey(int i, double key);
+
+    /**
+     * <code>contains()</code> - Whether index i is in the queue.
+     * @param i integer for the index
+     * @return boolean true if index i has a key in the queue, false otherwise
+     */
+    boolean contains(int i);
+
+    /**
+     * <code>delMin()</code> - Removes the minimum key and returns its index.
+     * @return integer index of the key removed
+     */
+    int delMin();
+
+    /**
+     * <code>minKey()</code> - The minimum key, without removing it.
+     * @return double of the smallest key
+     */
+    double minKey();
+
+    /**
+     * <code>isEmpty()</code> - Whether the queue has no keys.
+     * @return boolean true if the queue is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * <code>size()</code> - The number of keys in the queue.
+     * @return integer of the number of keys
+     */
+    int size();
+
+    /**
+     * <code>capacity()</code> - One more than the largest index the queue accepts.
+     * @return integer of the number of indices
+     */
+    int capacity();
+}
@@ -0,0 +1,360 @@
+package org.kotopka;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * <code>DoublingRatio</code> - Measures how the running time and memory of the <code>MST</code> implementations grow
+ * with the size of the graph, in the spirit of the doubling test from <em>Algorithms 4th ed.</em>
+ * <br><br>
+ * For each average degree, the number of vertices doubles from <code>-start</code> to <code>-max</code>, and every
+ * engine computes the MST of the same <code>GraphGenerator.random()</code> graph, built outside the measurement. Each
+ * run records:
+ * <ul>
+ *     <li>the wall time, the best of <code>-trials</code> runs after one warm-up run,</li>
+ *     <li>the bytes allocated by all threads (<code>com.sun.management.ThreadMXBean</code>), and</li>
+ *     <li>the peak heap in use during the run above the heap in use after a GC before it, taken from the peak usage
+ *     of the heap memory pools. It is sampled at GC time by some collectors, so it is an estimate.</li>
+ * </ul>
+ * The ratio of each time to the time at half the size, and its base-2 logarithm, estimate the exponent b in
+ * <em>T(E) ~ a E<sup>b</sup></em>; a least-squares fit of log T against log E over the whole series gives the overall
+ * exponent per engine and degree. Only the edge list and the representation of the engine being measured are kept
+ * in memory. An engine that runs out of memory is marked <code>OOM</code> and skipped for the larger sizes of that
+ * degree.
+ * <br><br>
+ * Usage: <code>java org.kotopka.DoublingRatio [-engines kruskal,lazyPrim,...] [-degrees 4,16,64] [-start V] [-max V]
+ * [-trials n] [-seed s]</code>
+ */
+public class DoublingRatio {
+
+    /**
+     * <code>Engine</code> - The MST implementations under test, with the graph representation each one is given.
+     */
+    enum Engine {
+        KRUSKAL("kruskal", inputs -> new KruskalMST(inputs.edgeWeightedGraph())),
+        LAZY_PRIM("lazyPrim", inputs -> new LazyPrimMST(inputs.edgeWeightedGraph())),
+        EAGER_PRIM("eagerPrim", inputs -> new EagerPrimMST(inputs.edgeWeightedGraph())),
+        KRUSKAL_EDGE_LIST("kruskalEdgeList", inputs -> new KruskalMST(inputs.edgeList)),
+        LAZY_PRIM_CSR("lazyPrimCsr", inputs -> new LazyPrimMST(inputs.csrGraph())),
+        EAGER_PRIM_CSR("eagerPrimCsr", inputs -> new EagerPrimMST(inputs.csrGraph())),
+        FILTER_KRUSKAL("filterKruskal", inputs -> new FilterKruskalMST(inputs.edgeList)),
+        BORUVKA("boruvka", inputs -> new BoruvkaMST(inputs.edgeList, ForkJoinPool.commonPool()));
+
+        private final String label;
+        private final Function<Inputs, MST> compute;
+
+        Engine(String label, Function<Inputs, MST> compute) {
+            this.label = label;
+            this.compute = compute;
+        }
+
+        String label() { return label; }
+
+        MST compute(Inputs inputs) { return compute.apply(inputs); }
+
+        static Engine of(String label) {
+            for (Engine engine : values()) {
+                if (engine.label.equals(label)) return engine;
+            }
+
+            throw new IllegalArgumentException("Unknown engine " + label);
+        }
+    }
+
+    /**
+     * <code>Inputs</code> - One graph in every representation an engine may ask for, each built on first use so it is
+     * never part of a measurement.
+     */
+    static class Inputs {
+
+        private final EdgeList edgeList;
+        private EdgeWeightedGraph edgeWeightedGraph;
+        private CsrEdgeWeightedGraph csrGraph;
+
+        Inputs(EdgeList edgeList) {
+            this.edgeList = edgeList;
+        }
+
+        EdgeWeightedGraph edgeWeightedGraph() {
+            if (edgeWeightedGraph == null) {
+                edgeWeightedGraph = new EdgeWeightedGraph(edgeList.vertexCount());
+                for (int i = 0; i < edgeList.size(); i++) edgeWeightedGraph.addEdge(edgeList.edge(i));
+            }
+
+            return edgeWeightedGraph;
+        }
+
+        CsrEdgeWeightedGraph csrGraph() {
+            if (csrGraph == null) csrGraph = new CsrEdgeWeightedGraph(edgeList);
+
+            return csrGraph;
+        }
+
+        /**
+         * <code>prepare()</code> - Builds the representation the engine uses, so the first timed run doesn't, and drops
+         * the ones it doesn't use, so they don't count against its heap.
+         */
+        void prepare(Engine engine) {
+            boolean adjacency = engine == Engine.KRUSKAL || engine == Engine.LAZY_PRIM || engine == Engine.EAGER_PRIM;
+            boolean csr = engine == Engine.LAZY_PRIM_CSR || engine == Engine.EAGER_PRIM_CSR;
+
+            if (!adjacency) edgeWeightedGraph = null;
+            if (!csr) csrGraph = null;
+
+            if (adjacency) edgeWeightedGraph();
+            if (csr) csrGraph();
+        }
+    }
+
+    /**
+     * <code>Measurement</code> - The result of one engine on one graph.
+     */
+    static class Measurement {
+
+        final int vertexCount;
+        final int edgeCount;
+        final long nanos;
+        final long allocatedBytes;
+        final long peakHeapBytes;
+        final double totalWeight;
+
+        Measurement(int vertexCount, int edgeCount, long nanos, long allocatedBytes, long peakHeapBytes, double totalWeight) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+            this.totalWeight = totalWeight;
+        }
+    }
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = heapPools();
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pools.add(pool);
+        }
+
+        return pools;
+    }
+
+    /**
+     * <code>allocatedBytes()</code> - Private method, the bytes allocated so far by all live threads, or -1 if the JVM
+     * can't tell.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported() || !sunThreads.isThreadAllocatedMemoryEnabled()) return -1;
+
+        long total = 0;
+        for (long bytes : sunThreads.getThreadAllocatedBytes(sunThreads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+
+        return total;
+    }
+
+    private static long heapUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) used += pool.getUsage().getUsed();
+        return used;
+    }
+
+    private static long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) peak += pool.getPeakUsage().getUsed();
+        return peak;
+    }
+
+    /**
+     * <code>measure()</code> - Runs an engine once to warm up and then <code>trials</code> times, keeping the best time.
+     * The allocation and peak heap are taken from the last run.
+     * @param engine the Engine to run
+     * @param inputs the graph
+     * @param trials the number of timed runs
+     * @return Measurement of the engine on the graph
+     */
+    static Measurement measure(Engine engine, Inputs inputs, int trials) {
+        if (trials < 1) throw new IllegalArgumentException("Need at least one trial");
+
+        inputs.prepare(engine);
+        engine.compute(inputs);
+
+        long best = Long.MAX_VALUE;
+        long allocated = -1;
+        long peak = 0;
+        double totalWeight = 0.0;
+
+        for (int trial = 0; trial < trials; trial++) {
+            System.gc();
+
+            long baseline = heapUsed();
+            for (MemoryPoolMXBean pool : HEAP_POOLS) pool.resetPeakUsage();
+
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+
+            MST mst = engine.compute(inputs);
+
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = allocatedBytes();
+
+            best = Math.min(best, elapsed);
+            allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+            peak = Math.max(0, peakHeapUsed() - baseline);
+            totalWeight = mst.totalWeight();
+        }
+
+        return new Measurement(inputs.edgeList.vertexCount(), inputs.edgeList.size(), best, allocated, peak, totalWeight);
+    }
+
+    /**
+     * <code>fit()</code> - Least-squares fit of <em>T = a E<sup>b</sup></em>, as a straight line through the points
+     * (log E, log T).
+     * @param sizes the problem sizes E
+     * @param times the measured times T, all positive
+     * @return double[] holding the exponent b and the constant a
+     */
+    static double[] fit(double[] sizes, double[] times) {
+        if (sizes.length != times.length || sizes.length < 2) throw new IllegalArgumentException("Need at least two points");
+
+        int n = sizes.length;
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+
+        for (int i = 0; i < n; i++) {
+            double x = Math.log(sizes[i]);
+            double y = Math.log(times[i]);
+
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+
+        double b = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+        double a = Math.exp((sumY - b * sumX) / n);
+
+        return new double[] { b, a };
+    }
+
+    private static String megabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    public static void main(String[] args) {
+        String engines = "kruskal,lazyPrim,eagerPrim";
+        int[] degrees = { 4, 16, 64 };
+        int start = 1 << 10;
+        int max = 1 << 20;
+        int trials = 3;
+        long seed = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-engines": engines = args[i + 1]; break;
+                case "-degrees": degrees = parseInts(args[i + 1]); break;
+                case "-start":   start = Integer.parseInt(args[i + 1]); break;
+                case "-max":     max = Integer.parseInt(args[i + 1]); break;
+                case "-trials":  trials = Integer.parseInt(args[i + 1]); break;
+                case "-seed":    seed = Long.parseLong(args[i + 1]); break;
+                default:
+                    System.out.println("Error: unknown option " + args[i]);
+                    System.exit(-1);
+            }
+        }
+
+        Engine[] selected = Arrays.stream(engines.split(",")).map(Engine::of).toArray(Engine[]::new);
+
+        System.out.printf(Locale.ROOT, "max heap %s MB, %d cores%n", megabytes(Runtime.getRuntime().maxMemory()), Runtime.getRuntime().availableProcessors());
+
+        for (int degree : degrees) {
+            System.out.printf(Locale.ROOT, "%naverage degree %d%n", degree);
+            System.out.printf(Locale.ROOT, "%-16s %10s %11s %10s %7s %6s %11s %10s%n", "engine", "V", "E", "ms", "ratio", "lg", "alloc MB", "peak MB");
+
+            List<List<Measurement>> series = new ArrayList<>();
+            boolean[] outOfMemory = new boolean[selected.length];
+
+            for (Engine ignored : selected) series.add(new ArrayList<>());
+
+            for (int V = start; V <= max && V > 0; V *= 2) {
+                Inputs inputs;
+
+                try {
+                    inputs = new Inputs(GraphGenerator.random(V, (long) V * degree / 2, seed).edgeList());
+                } catch (OutOfMemoryError e) {
+                    System.out.printf(Locale.ROOT, "%-16s %10d  OOM while generating the graph%n", "-", V);
+                    break;
+                }
+
+                String fastest = null;
+                long fastestNanos = Long.MAX_VALUE;
+
+                for (int k = 0; k < selected.length; k++) {
+                    if (outOfMemory[k]) continue;
+
+                    Measurement m;
+
+                    try {
+                        m = measure(selected[k], inputs, trials);
+                    } catch (OutOfMemoryError e) {
+                        outOfMemory[k] = true;
+                        System.out.printf(Locale.ROOT, "%-16s %10d %11d  OOM%n", selected[k].label(), V, inputs.edgeList.size());
+                        continue;
+                    }
+
+                    List<Measurement> previous = series.get(k);
+                    String ratio = "";
+                    String lg = "";
+
+                    if (!previous.isEmpty()) {
+                        double r = (double) m.nanos / previous.get(previous.size() - 1).nanos;
+                        ratio = String.format(Locale.ROOT, "%.2f", r);
+                        lg = String.format(Locale.ROOT, "%.2f", Math.log(r) / Math.log(2));
+                    }
+
+                    previous.add(m);
+
+                    if (m.nanos < fastestNanos) {
+                        fastestNanos = m.nanos;
+                        fastest = selected[k].label();
+                    }
+
+                    System.out.printf(Locale.ROOT, "%-16s %10d %11d %10.2f %7s %6s %11s %10s%n", selected[k].label(), V, m.edgeCount,
+                            m.nanos / 1e6, ratio, lg, megabytes(m.allocatedBytes), megabytes(m.peakHeapBytes));
+                }
+
+                if (selected.length > 1 && fastest != null) System.out.printf(Locale.ROOT, "%-16s %10d  fastest: %s%n", "", V, fastest);
+            }
+
+            for (int k = 0; k < selected.length; k++) {
+                List<Measurement> points = series.get(k);
+                if (points.size() < 2) continue;
+
+                double[] sizes = points.stream().mapToDouble(m -> m.edgeCount).toArray();
+                double[] times = points.stream().mapToDouble(m -> m.nanos).toArray();
+                double[] fit = fit(sizes, times);
+
+                System.out.printf(Locale.ROOT, "%-16s T(E) ~ %.3g * E^%.2f ns%n", selected[k].label(), fit[1], fit[0]);
+            }
+        }
+    }
+
+}
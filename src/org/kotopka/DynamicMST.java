@@ -0,0 +1,217 @@
+package org.kotopka;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <code>DynamicMST</code> - Maintains the minimum-spanning forest of a graph whose edges arrive one at a time.
+ * <br><br>
+ * The forest is kept in a <code>LinkCutTree</code> in which every tree edge is a node of its own, linked between its two
+ * endpoints and valued with its weight. An inserted edge between two different trees simply joins them. An edge that
+ * closes a cycle replaces the heaviest edge on the tree path between its endpoints if it is lighter (the cycle
+ * property), and is discarded otherwise. Either way an insertion takes amortized O(log V) time.
+ * <br><br>
+ * Only the forest is stored, never the discarded edges, so the space is O(V) no matter how many edges are inserted.
+ * This makes it possible to compute the MST of an edge file too large for memory in a single streaming pass
+ * (<code>fromFile()</code>).
+ */
+public class DynamicMST implements MST {
+
+    private final int vertexCount;
+    private final LinkCutTree lct;      // nodes 0..V-1 are the vertices, V.. are the tree edges
+    private final int[] from;           // from[e], to[e] and weight[e] describe the tree edge in edge slot e
+    private final int[] to;
+    private final double[] weight;
+    private final boolean[] inTree;     // inTree[e] is true while edge slot e holds a tree edge
+    private final int[] freeSlots;      // stack of unused edge slots
+    private int freeCount;
+    private double totalWeight;
+    private boolean totalWeightStale;
+
+    /**
+     * <code>DynamicMST</code> - Constructor. Creates an empty forest of single vertices.
+     * @param vertexCount the number of vertices
+     */
+    public DynamicMST(int vertexCount) {
+        if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+
+        int slots = vertexCount - 1;    // a forest never has more than V - 1 edges
+
+        this.vertexCount = vertexCount;
+        this.lct = new LinkCutTree(vertexCount + slots);
+        this.from = new int[slots];
+        this.to = new int[slots];
+        this.weight = new double[slots];
+        this.inTree = new boolean[slots];
+        this.freeSlots = new int[slots];
+
+        for (int v = 0; v < vertexCount; v++) lct.setValue(v, Double.NEGATIVE_INFINITY);
+
+        // hand out the low slots first
+        for (int e = 0; e < slots; e++) freeSlots[e] = slots - 1 - e;
+        this.freeCount = slots;
+    }
+
+    /**
+     * <code>DynamicMST</code> - Constructor. Computes the minimum-spanning forest of an <code>EdgeWeightedGraph</code>
+     * by inserting its edges one at a time.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     */
+    public DynamicMST(EdgeWeightedGraph edgeWeightedGraph) {
+        this(edgeWeightedGraph.vertexCount());
+
+        for (Edge e : edgeWeightedGraph.edges()) insert(e);
+    }
+
+    /**
+     * <code>fromFile()</code> - Computes the minimum-spanning forest of a graph in the <code>V E / v w weight</code> text
+     * format in one streaming pass, without ever holding more than the forest in memory.
+     * @param file path of the text file to read
+     * @return DynamicMST holding the minimum-spanning forest of the file's graph
+     * @throws IOException if the file can't be read or is malformed
+     */
+    public static DynamicMST fromFile(Path file) throws IOException {
+        try (TextGraphParser.Reader reader = new TextGraphParser.Reader(file)) {
+            DynamicMST dynamicMST = new DynamicMST(reader.vertexCount());
+
+            while (reader.next()) {
+                dynamicMST.insert(reader.v(), reader.w(), reader.weight());
+            }
+
+            return dynamicMST;
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed graph file " + file, e);
+        }
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= vertexCount) throw new IllegalArgumentException("Vertex out of range");
+    }
+
+    /**
+     * <code>insert()</code> - Adds an edge to the graph and updates the minimum-spanning forest.
+     * @param e the Edge to add
+     * @return boolean true if the edge entered the forest, false if it was discarded
+     */
+    public boolean insert(Edge e) {
+        int v = e.either();
+        return insert(v, e.other(v), e.weight());
+    }
+
+    /**
+     * <code>insert()</code> - Adds an edge to the graph and updates the minimum-spanning forest.
+     * @param v one endpoint of the edge
+     * @param w the other endpoint of the edge
+     * @param edgeWeight the weight of the edge
+     * @return boolean true if the edge entered the forest, false if it was discarded
+     * @throws IllegalArgumentException if either endpoint is out of range or the weight is NaN
+     */
+    public boolean insert(int v, int w, double edgeWeight) {
+        validateVertex(v);
+        validateVertex(w);
+        if (Double.isNaN(edgeWeight)) throw new IllegalArgumentException("Weight cannot be NaN");
+
+        if (v == w) return false;   // a self-loop is never part of a spanning forest
+
+        if (lct.connected(v, w)) {
+            int heaviest = lct.pathMax(v, w);
+
+            if (!(edgeWeight < lct.value(heaviest))) return false;
+
+            remove(heaviest - vertexCount);
+        }
+
+        add(v, w, edgeWeight);
+
+        return true;
+    }
+
+    private void add(int v, int w, double edgeWeight) {
+        int e = freeSlots[--freeCount];
+        int node = vertexCount + e;
+
+        from[e] = v;
+        to[e] = w;
+        weight[e] = edgeWeight;
+        inTree[e] = true;
+
+        lct.setValue(node, edgeWeight);
+        lct.link(v, node);
+        lct.link(node, w);
+
+        totalWeightStale = true;
+    }
+
+    private void remove(int e) {
+        int node = vertexCount + e;
+
+        lct.cut(from[e], node);
+        lct.cut(node, to[e]);
+
+        inTree[e] = false;
+        freeSlots[freeCount++] = e;
+        totalWeightStale = true;
+    }
+
+    /**
+     * <code>connected()</code> - Whether two vertices are connected by the edges inserted so far.
+     * @param v one vertex
+     * @param w the other vertex
+     * @return boolean true if v and w are in the same tree of the forest, false otherwise
+     */
+    public boolean connected(int v, int w) {
+        validateVertex(v);
+        validateVertex(w);
+
+        return lct.connected(v, w);
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        Queue<Edge> mst = new Queue<>();
+        for (int e = 0; e < from.length; e++) {
+            if (inTree[e]) mst.enqueue(new Edge(from[e], to[e], weight[e]));
+        }
+
+        return mst;
+    }
+
+    /**
+     * <code>totalWeight()</code> - The total weight of the current forest. Recomputed from the tree edges after a change
+     * rather than tracked with additions and subtractions, so rounding errors don't accumulate over many replacements.
+     * @return double of the total weight
+     */
+    @Override
+    public double totalWeight() {
+        if (totalWeightStale) {
+            totalWeight = 0.0;
+
+            for (int e = 0; e < from.length; e++) {
+                if (inTree[e]) totalWeight += weight[e];
+            }
+
+            totalWeightStale = false;
+        }
+
+        return totalWeight;
+    }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return from.length - freeCount; }
+
+    // test client
+    public static void main(String[] args) throws IOException {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        TestClient tc = new TestClient(DynamicMST.fromFile(Path.of(args[0])));
+        tc.printMst();
+    }
+
+}
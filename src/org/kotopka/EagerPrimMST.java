@@ -1,6 +1,7 @@
 package org.kotopka;
 
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
  * <code>EagerPrimMST</code> - Implements an eager version of Prim's Minimum-Spanning Tree algorithm.
@@ -16,26 +17,117 @@ import java.util.Arrays;
 public class EagerPrimMST implements MST {
 
     private final int vertexCount;
-    private final Edge[] edgeTo;
+    private final int[] edgeTo;     // edgeTo[w] is the tree vertex at the other end of w's MST edge, -1 for roots
     private final double[] distTo;
     private final boolean[] marked;
-    private IndexMinPQ<Double> pq;
+    private final DoubleIndexPQ pq;
     private double totalWeight;
     private int edgeCount;
 
     public EagerPrimMST(EdgeWeightedGraph edgeWeightedGraph) {
-        this.vertexCount = edgeWeightedGraph.vertexCount();
+        this(edgeWeightedGraph, new DoubleIndexMinPQ(edgeWeightedGraph.vertexCount()));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of an <code>EdgeWeightedGraph</code>
+     * using the given priority queue, e.g. a <code>DAryIndexMinPQ</code> for dense graphs.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     * @param pq an empty DoubleIndexPQ with room for every vertex of the graph
+     * @throws IllegalArgumentException if the priority queue is too small or not empty
+     */
+    public EagerPrimMST(EdgeWeightedGraph edgeWeightedGraph, DoubleIndexPQ pq) {
+        this(edgeWeightedGraph.vertexCount(), pq);
+        computeForest(vertex -> visit(edgeWeightedGraph, vertex));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of a <code>CsrEdgeWeightedGraph</code>,
+     * scanning each adjacency list as a contiguous range of primitive slots.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     */
+    public EagerPrimMST(CsrEdgeWeightedGraph csrGraph) {
+        this(csrGraph, new DoubleIndexMinPQ(csrGraph.vertexCount()));
+    }
 
-        this.edgeTo = new Edge[vertexCount];
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of a <code>CsrEdgeWeightedGraph</code>
+     * using the given priority queue.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     * @param pq an empty DoubleIndexPQ with room for every vertex of the graph
+     * @throws IllegalArgumentException if the priority queue is too small or not empty
+     */
+    public EagerPrimMST(CsrEdgeWeightedGraph csrGraph, DoubleIndexPQ pq) {
+        this(csrGraph.vertexCount(), pq);
+        computeForest(vertex -> visit(csrGraph, vertex));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of an <code>OffHeapCsrGraph</code>,
+     * whose slots are <code>long</code> indexes into off-heap memory. Only the per-vertex state lives on the heap.
+     * @param offHeapGraph OffHeapCsrGraph object from which to build the MST
+     */
+    public EagerPrimMST(OffHeapCsrGraph offHeapGraph) {
+        this(offHeapGraph, new DoubleIndexMinPQ(offHeapGraph.vertexCount()));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of an <code>OffHeapCsrGraph</code>
+     * using the given priority queue.
+     * @param offHeapGraph OffHeapCsrGraph object from which to build the MST
+     * @param pq an empty DoubleIndexPQ with room for every vertex of the graph
+     * @throws IllegalArgumentException if the priority queue is too small or not empty
+     */
+    public EagerPrimMST(OffHeapCsrGraph offHeapGraph, DoubleIndexPQ pq) {
+        this(offHeapGraph.vertexCount(), pq);
+        computeForest(vertex -> visit(offHeapGraph, vertex));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of a
+     * <code>CompressedEdgeWeightedGraph</code>, decoding each adjacency list with a single reused cursor.
+     * @param compressedGraph CompressedEdgeWeightedGraph object from which to build the MST
+     */
+    public EagerPrimMST(CompressedEdgeWeightedGraph compressedGraph) {
+        this(compressedGraph, new DoubleIndexMinPQ(compressedGraph.vertexCount()));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Constructor. Computes the minimum-spanning forest of a
+     * <code>CompressedEdgeWeightedGraph</code> using the given priority queue.
+     * @param compressedGraph CompressedEdgeWeightedGraph object from which to build the MST
+     * @param pq an empty DoubleIndexPQ with room for every vertex of the graph
+     * @throws IllegalArgumentException if the priority queue is too small or not empty
+     */
+    public EagerPrimMST(CompressedEdgeWeightedGraph compressedGraph, DoubleIndexPQ pq) {
+        this(compressedGraph.vertexCount(), pq);
+
+        CompressedEdgeWeightedGraph.Cursor cursor = compressedGraph.cursor();
+        computeForest(vertex -> visit(cursor, vertex));
+    }
+
+    /**
+     * <code>EagerPrimMST</code> - Private constructor, allocates the per-vertex state that every graph type shares.
+     */
+    private EagerPrimMST(int vertexCount, DoubleIndexPQ pq) {
+        this.vertexCount = vertexCount;
+
+        this.edgeTo = new int[vertexCount];
         this.distTo = new double[vertexCount];
         this.marked = new boolean[vertexCount];
-        this.pq = new IndexMinPQ<>(vertexCount);
+        this.pq = validatePQ(pq, vertexCount);
 
         this.totalWeight = Double.NEGATIVE_INFINITY;
         this.edgeCount = Integer.MIN_VALUE;
 
+        Arrays.fill(edgeTo, -1);
         Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+    }
 
+    /**
+     * <code>computeForest()</code> - Private method, grows a tree from every vertex not reached yet, visiting each
+     * vertex taken from the priority queue with the graph-specific <code>visit</code>.
+     */
+    private void computeForest(IntConsumer visit) {
         // does not compute minimum-spanning-forest
 //        distTo[0] = 0.0;
 //        pq.insert(0, 0.0);
@@ -52,28 +144,65 @@ public class EagerPrimMST implements MST {
             pq.insert(i, 0.0);
 
             while (!pq.isEmpty()) {
-                visit(edgeWeightedGraph, pq.delMin());
+                visit.accept(pq.delMin());
             }
         }
     }
 
+    private static DoubleIndexPQ validatePQ(DoubleIndexPQ pq, int vertexCount) {
+        if (pq.capacity() < vertexCount) throw new IllegalArgumentException("Priority queue capacity is less than the vertex count");
+        if (!pq.isEmpty()) throw new IllegalArgumentException("Priority queue is not empty");
+
+        return pq;
+    }
+
     private void visit(EdgeWeightedGraph edgeWeightedGraph, int vertex) {
         marked[vertex] =  true;
 
         for (Edge e : edgeWeightedGraph.adj(vertex)) {
-            int w = e.other(vertex);
+            relax(vertex, e.other(vertex), e.weight());
+        }
+    }
+
+    private void visit(CsrEdgeWeightedGraph csrGraph, int vertex) {
+        marked[vertex] = true;
+
+        for (int slot = csrGraph.adjStart(vertex); slot < csrGraph.adjEnd(vertex); slot++) {
+            relax(vertex, csrGraph.target(slot), csrGraph.weight(slot));
+        }
+    }
+
+    private void visit(OffHeapCsrGraph offHeapGraph, int vertex) {
+        marked[vertex] = true;
+
+        long end = offHeapGraph.adjEnd(vertex);
+
+        for (long slot = offHeapGraph.adjStart(vertex); slot < end; slot++) {
+            relax(vertex, offHeapGraph.target(slot), offHeapGraph.weight(slot));
+        }
+    }
+
+    private void visit(CompressedEdgeWeightedGraph.Cursor cursor, int vertex) {
+        marked[vertex] = true;
+
+        cursor.reset(vertex);
+
+        while (cursor.next()) {
+            relax(vertex, cursor.target(), cursor.weight());
+        }
+    }
 
-            if (marked[w]) continue;
+    private void relax(int vertex, int w, double weight) {
+        if (marked[w]) return;
 
-            if (e.weight() < distTo[w]) {
-                edgeTo[w] = e;
-                distTo[w] = e.weight();
+        if (weight < distTo[w]) {
+            edgeTo[w] = vertex;
+            distTo[w] = weight;
 
-                if (pq.contains(w)) {
-                    pq.decreaseKey(w, distTo[w]);
-                } else {
-                    pq.insert(w, distTo[w]);
-                }
+            if (pq.contains(w)) {
+                pq.decreaseKey(w, distTo[w]);
+            } else {
+                pq.insert(w, distTo[w]);
             }
         }
     }
@@ -83,8 +212,8 @@ public class EagerPrimMST implements MST {
         Queue<Edge> mst = new Queue<>();
 
         for (int i = 1; i < edgeTo.length; i++) {
-            if (edgeTo[i] != null) {
-                mst.enqueue(edgeTo[i]);
+            if (edgeTo[i] != -1) {
+                mst.enqueue(new Edge(edgeTo[i], i, distTo[i]));
             }
         }
 
@@ -107,8 +236,8 @@ public class EagerPrimMST implements MST {
     public int edgeCount() {
         if (edgeCount == Integer.MIN_VALUE) {
             edgeCount = 0;
-            for (Edge e : edgeTo) {
-                if (e != null) edgeCount++;
+            for (int v : edgeTo) {
+                if (v != -1) edgeCount++;
             }
         }
 
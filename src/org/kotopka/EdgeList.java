@@ -0,0 +1,443 @@
+package org.kotopka;
+
+import java.util.Arrays;
+
+/**
+ * <code>EdgeList</code> - A flat list of weighted undirected edges kept as a structure of arrays: edge <code>i</code>
+ * connects <code>from(i)</code> and <code>to(i)</code> with weight <code>weight(i)</code>.
+ * The arrays grow by doubling as edges are added.
+ * <br><br>
+ * This is the input format for edge-centric algorithms such as Kruskal's. Sorting the edges by weight is done through
+ * an index permutation (<code>sortedIndex()</code>) on primitive keys, so no <code>Edge</code> objects are created
+ * and no <code>compareTo()</code> calls are made.
+ */
+public class EdgeList {
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final int vertexCount;
+    private int[] from;
+    private int[] to;
+    private double[] weight;
+    private int size;
+
+    /**
+     * <code>EdgeList()</code> - Constructor. Creates an empty edge list.
+     * @param vertexCount the number of vertices the edges may refer to
+     * @param capacity the initial number of edges to make room for
+     */
+    public EdgeList(int vertexCount, int capacity) {
+        if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+        if (capacity < 0) throw new IllegalArgumentException("Invalid capacity value");
+
+        this.vertexCount = vertexCount;
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.weight = new double[capacity];
+    }
+
+    /**
+     * <code>EdgeList()</code> - Constructor. Wraps existing parallel arrays without copying them. The arrays must not be
+     * modified afterwards.
+     * @param vertexCount the number of vertices the edges may refer to
+     * @param from integer array of one endpoint of each edge
+     * @param to integer array of the other endpoint of each edge
+     * @param weight double array of the weight of each edge
+     * @throws IllegalArgumentException if the vertex count is not positive, the arrays differ in length, or an endpoint is out of range
+     */
+    public EdgeList(int vertexCount, int[] from, int[] to, double[] weight) {
+        if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+        if (from.length != to.length || from.length != weight.length) throw new IllegalArgumentException("Edge arrays differ in length");
+
+        this.vertexCount = vertexCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.size = from.length;
+
+        for (int i = 0; i < size; i++) {
+            validateVertex(from[i]);
+            validateVertex(to[i]);
+        }
+    }
+
+    /**
+     * <code>EdgeList()</code> - Constructor. Copies the edges of an <code>EdgeWeightedGraph</code>.
+     * @param edgeWeightedGraph the graph to copy
+     */
+    public EdgeList(EdgeWeightedGraph edgeWeightedGraph) {
+        this(edgeWeightedGraph.vertexCount(), edgeWeightedGraph.edgeCount());
+
+        // walk the adjacency lists directly rather than through edges(), which builds a throwaway Bag
+        for (int v = 0; v < vertexCount; v++) {
+            for (Edge e : edgeWeightedGraph.adj(v)) {
+                int w = e.other(v);
+                if (w > v) add(v, w, e.weight());
+            }
+        }
+    }
+
+    /**
+     * <code>EdgeList()</code> - Constructor. Copies the edges of a <code>CsrEdgeWeightedGraph</code>.
+     * @param csrGraph the graph to copy
+     */
+    public EdgeList(CsrEdgeWeightedGraph csrGraph) {
+        this(csrGraph.vertexCount(), csrGraph.edgeCount());
+
+        // every edge appears in the adjacency lists of both endpoints, only take it from the smaller one
+        for (int v = 0; v < vertexCount; v++) {
+            for (int slot = csrGraph.adjStart(v); slot < csrGraph.adjEnd(v); slot++) {
+                int w = csrGraph.target(slot);
+                if (w > v) add(v, w, csrGraph.weight(slot));
+            }
+        }
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= vertexCount) throw new IllegalArgumentException("Vertex out of range");
+    }
+
+    /**
+     * <code>add()</code> - Appends an edge to the list, growing the internal arrays if needed.
+     * @param v one endpoint of the edge
+     * @param w the other endpoint of the edge
+     * @param edgeWeight the weight of the edge
+     * @return integer index of the new edge
+     * @throws IllegalArgumentException if either endpoint is out of range
+     */
+    public int add(int v, int w, double edgeWeight) {
+        validateVertex(v);
+        validateVertex(w);
+
+        if (size == from.length) resize(Math.max(16, 2 * size));
+
+        from[size] = v;
+        to[size] = w;
+        weight[size] = edgeWeight;
+
+        return size++;
+    }
+
+    private void resize(int newSize) {
+        from = Arrays.copyOf(from, newSize);
+        to = Arrays.copyOf(to, newSize);
+        weight = Arrays.copyOf(weight, newSize);
+    }
+
+    /**
+     * <code>from()</code> - One endpoint of edge <code>i</code>.
+     * @param i the edge index
+     * @return integer of the vertex
+     */
+    public int from(int i) { return from[i]; }
+
+    /**
+     * <code>to()</code> - The other endpoint of edge <code>i</code>.
+     * @param i the edge index
+     * @return integer of the vertex
+     */
+    public int to(int i) { return to[i]; }
+
+    /**
+     * <code>weight()</code> - The weight of edge <code>i</code>.
+     * @param i the edge index
+     * @return double of the edge weight
+     */
+    public double weight(int i) { return weight[i]; }
+
+    /**
+     * <code>edge()</code> - Materializes edge <code>i</code> as an <code>Edge</code> object.
+     * @param i the edge index
+     * @return a new Edge
+     */
+    public Edge edge(int i) { return new Edge(from[i], to[i], weight[i]); }
+
+    /**
+     * <code>size()</code> - The number of edges in this list.
+     * @return an integer of the number of edges
+     */
+    public int size() { return size; }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices the edges may refer to.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>sortedIndex()</code> - Returns the edge indices ordered by ascending weight. The edge list itself is not modified.
+     * @return integer array, a permutation of <code>0..size() - 1</code>
+     */
+    public int[] sortedIndex() {
+        int[] index = new int[size];
+        double[] keys = Arrays.copyOf(weight, size);
+
+        for (int i = 0; i < size; i++) index[i] = i;
+
+        sort(keys, index, 0, size - 1);
+
+        return index;
+    }
+
+    /**
+     * <code>parallelSortedIndex()</code> - Returns the edge indices ordered by ascending weight, like <code>sortedIndex()</code>
+     * up to ties, but sorts with <code>Arrays.parallelSort()</code> on packed primitive keys.
+     * <br><br>
+     * Each edge becomes one <code>long</code>: the upper 32 bits of its weight, transformed so that signed <code>long</code>
+     * order matches <code>double</code> order, followed by the 32-bit edge index. Sorting these longs orders the edges by
+     * the leading bits of their weights (the index comes along for free), and then any run of edges that share those
+     * leading bits but differ in the low bits is re-sorted by exact weight. Such runs are rare and short.
+     * <br><br>
+     * Neither sort is stable, so edges of equal weight may come out in a different order than from
+     * <code>sortedIndex()</code>. With tied weights, Kruskal can then pick a different tree of the same total weight.
+     * @return integer array, a permutation of <code>0..size() - 1</code>
+     */
+    public int[] parallelSortedIndex() {
+        long[] packed = new long[size];
+
+        Arrays.parallelSetAll(packed, i -> (sortableBits(weight[i]) & 0xFFFF_FFFF_0000_0000L) | i);
+        Arrays.parallelSort(packed);
+
+        int[] index = new int[size];
+        Arrays.parallelSetAll(index, i -> (int) packed[i]);
+
+        double[] keys = null;
+        int runStart = 0;
+
+        for (int i = 1; i <= size; i++) {
+            if (i < size && (packed[i] >>> 32) == (packed[runStart] >>> 32)) continue;
+
+            if (i - runStart > 1 && !isSorted(index, runStart, i)) {
+                if (keys == null) keys = new double[size];
+
+                for (int j = runStart; j < i; j++) keys[j] = weight[index[j]];
+
+                sort(keys, index, runStart, i - 1);
+            }
+
+            runStart = i;
+        }
+
+        return index;
+    }
+
+    /**
+     * <code>hasIntegerWeights()</code> - Whether every weight is a whole number of magnitude at most 2<sup>53</sup>, so
+     * the edges can be sorted with <code>radixSortedIndex()</code> on <code>quantizedWeights(1.0)</code> without
+     * rounding. Larger doubles are all whole numbers too, but no longer exact integers.
+     * @return boolean true if every weight is a whole number in range, false otherwise
+     */
+    public boolean hasIntegerWeights() {
+        for (int i = 0; i < size; i++) {
+            if (weight[i] != Math.rint(weight[i]) || Math.abs(weight[i]) > 0x1p53) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * <code>quantizedWeights()</code> - The weights as whole multiples of <code>quantum</code>, each rounded to the
+     * nearest multiple. A quantum of 1.0 gives integer weights as they are, 0.01 gives cents.
+     * @param quantum the positive step between representable weights
+     * @return long array, <code>round(weight(i) / quantum)</code> for each edge
+     * @throws IllegalArgumentException if the quantum is not positive and finite, or a weight is too large for it
+     */
+    public long[] quantizedWeights(double quantum) {
+        if (!(quantum > 0.0) || Double.isInfinite(quantum)) throw new IllegalArgumentException("Invalid quantum");
+
+        long[] keys = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            double steps = Math.rint(weight[i] / quantum);
+
+            // 2^53 keeps every key exact as a double too, so quantum * key is the rounded weight
+            if (Double.isNaN(steps) || Math.abs(steps) > 0x1p53) throw new IllegalArgumentException("Weight out of range for quantum: " + weight[i]);
+
+            keys[i] = (long) steps;
+        }
+
+        return keys;
+    }
+
+    /**
+     * <code>radixSortedIndex()</code> - Returns the edge indices ordered by ascending integer key, in O(E + range) time
+     * and without comparisons. <code>keys[i]</code> is the key of edge <code>i</code>, e.g. from
+     * <code>quantizedWeights()</code>. Edges with equal keys keep their original order.
+     * <br><br>
+     * When the range of the keys is at most the number of edges, or 2<sup>16</sup>, a single counting sort places each
+     * edge directly. Otherwise an LSD radix sort makes one stable pass per 11-bit digit of <code>key - min</code>, only
+     * as many passes as the range needs: two for ranges up to 2<sup>22</sup>, three up to 2<sup>33</sup>.
+     * @param keys long array with one key per edge
+     * @return integer array, a permutation of <code>0..size() - 1</code>
+     * @throws IllegalArgumentException if there is not one key per edge
+     */
+    public int[] radixSortedIndex(long[] keys) {
+        if (keys.length != size) throw new IllegalArgumentException("Need one key per edge");
+
+        int[] index = new int[size];
+        if (size == 0) return index;
+
+        long min = keys[0];
+        long max = keys[0];
+
+        for (long key : keys) {
+            if (key < min) min = key;
+            if (key > max) max = key;
+        }
+
+        long range = max - min;
+
+        if (range >= 0 && range <= Math.max(size, 1 << 16)) {
+            int[] start = new int[(int) range + 2];
+
+            for (long key : keys) start[(int) (key - min) + 1]++;
+            for (int b = 1; b < start.length; b++) start[b] += start[b - 1];
+            for (int i = 0; i < size; i++) index[start[(int) (keys[i] - min)]++] = i;
+
+            return index;
+        }
+
+        // range < 0 means the keys span more than 2^63, which quantizedWeights() never produces; sort all 64 bits then
+        int bits = range < 0 ? 64 : 64 - Long.numberOfLeadingZeros(range);
+        long[] from = new long[size];
+        long[] to = new long[size];
+        int[] toIndex = new int[size];
+        int[] count = new int[RADIX + 1];
+
+        for (int i = 0; i < size; i++) {
+            from[i] = keys[i] - min;
+            index[i] = i;
+        }
+
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            Arrays.fill(count, 0);
+
+            for (int i = 0; i < size; i++) count[(int) ((from[i] >>> shift) & (RADIX - 1)) + 1]++;
+            for (int b = 1; b <= RADIX; b++) count[b] += count[b - 1];
+
+            for (int i = 0; i < size; i++) {
+                int at = count[(int) ((from[i] >>> shift) & (RADIX - 1))]++;
+                to[at] = from[i];
+                toIndex[at] = index[i];
+            }
+
+            long[] keysSwap = from;
+            from = to;
+            to = keysSwap;
+
+            int[] indexSwap = index;
+            index = toIndex;
+            toIndex = indexSwap;
+        }
+
+        return index;
+    }
+
+    /**
+     * <code>sortableBits()</code> - The bits of a <code>double</code>, transformed so that comparing them as signed
+     * <code>long</code> values gives the same order as comparing the <code>double</code> values.
+     * Negative values have all but the sign bit flipped.
+     * @param value the double to transform
+     * @return long with the same ordering as the argument
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private boolean isSorted(int[] index, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            if (weight[index[i]] < weight[index[i - 1]]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * <code>sort()</code> - Sorts <code>keys[lo..hi]</code> ascending and applies the same permutation to
+     * <code>index[lo..hi]</code>. Quicksort with median-of-three pivots, finishing small ranges with insertion sort.
+     * @param keys double array of the sort keys
+     * @param index integer array permuted alongside the keys
+     * @param lo integer of the first position to sort, inclusive
+     * @param hi integer of the last position to sort, inclusive
+     */
+    static void sort(double[] keys, int[] index, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+
+            // order keys[lo], keys[mid], keys[hi] so the median ends up at mid
+            if (keys[mid] < keys[lo]) exchange(keys, index, mid, lo);
+            if (keys[hi] < keys[lo]) exchange(keys, index, hi, lo);
+            if (keys[hi] < keys[mid]) exchange(keys, index, hi, mid);
+
+            double pivot = keys[mid];
+            int i = lo;
+            int j = hi;
+
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+
+                if (i <= j) exchange(keys, index, i++, j--);
+            }
+
+            // recurse into the smaller half and loop on the larger one to bound the stack depth
+            if (j - lo < hi - i) {
+                sort(keys, index, lo, j);
+                lo = i;
+            } else {
+                sort(keys, index, i, hi);
+                hi = j;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = keys[i];
+            int idx = index[i];
+            int j = i - 1;
+
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                index[j + 1] = index[j];
+                j--;
+            }
+
+            keys[j + 1] = key;
+            index[j + 1] = idx;
+        }
+    }
+
+    private static void exchange(double[] keys, int[] index, int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+
+        int idx = index[a];
+        index[a] = index[b];
+        index[b] = idx;
+    }
+
+    /**
+     * <code>toString()</code> - String representation of this edge list
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("[");
+
+        for (int i = 0; i < size; i++) {
+            sb.append("(").append(edge(i)).append("), ");
+        }
+
+        if (sb.length() > 2) {
+            sb.setLength(sb.length() - 2);
+        }
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+}
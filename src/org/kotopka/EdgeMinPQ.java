@@ -0,0 +1,184 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/**
+ * <code>EdgeMinPQ</code> - A min-value priority queue of edges, where an edge is just an integer id (an
+ * <code>EdgeList</code> index, a <code>CsrEdgeWeightedGraph</code> slot, ...) ordered by a <code>double</code> weight.
+ * <br><br>
+ * The binary heap is kept in two parallel primitive arrays, so no <code>Edge</code> objects are created and the heap
+ * never unboxes or calls <code>compareTo()</code>. The arrays grow by doubling and never shrink.
+ * <br><br>
+ * Lazy algorithms leave entries in the queue that have become useless. Rather than growing to hold all of them,
+ * <code>purge()</code> drops every stale entry in one pass and rebuilds the heap bottom-up in linear time.
+ */
+public class EdgeMinPQ {
+
+    private double[] weights;   // weights[k] is the weight of the edge at heap position k
+    private int[] edges;        // edges[k] is the id of the edge at heap position k
+    private int size;
+
+    /**
+     * <code>EdgeMinPQ()</code> - Constructor.
+     * @param capacity integer for the initial capacity of the heap
+     */
+    public EdgeMinPQ(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Invalid capacity value");
+
+        this.weights = new double[capacity];
+        this.edges = new int[capacity];
+    }
+
+    /**
+     * <code>swim()</code> - Private method, moves the entry (weight, edge) up from heap position k, shifting larger
+     * parents down into the hole.
+     */
+    private void swim(int k, double weight, int edge) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+
+            if (!(weight < weights[parent])) break;
+
+            weights[k] = weights[parent];
+            edges[k] = edges[parent];
+            k = parent;
+        }
+
+        weights[k] = weight;
+        edges[k] = edge;
+    }
+
+    /**
+     * <code>sink()</code> - Private method, moves the entry (weight, edge) down from heap position k, shifting smaller
+     * children up into the hole.
+     */
+    private void sink(int k, double weight, int edge) {
+        int half = size >>> 1;
+
+        while (k < half) {
+            int j = 2 * k + 1;
+
+            if (j + 1 < size && weights[j + 1] < weights[j]) j++;
+
+            if (!(weights[j] < weight)) break;
+
+            weights[k] = weights[j];
+            edges[k] = edges[j];
+            k = j;
+        }
+
+        weights[k] = weight;
+        edges[k] = edge;
+    }
+
+    /**
+     * <code>insert()</code> - Inserts an edge, growing the heap if it is full.
+     * @param weight double of the edge weight
+     * @param edge integer id of the edge
+     * @throws IllegalArgumentException if the weight is NaN
+     */
+    public void insert(double weight, int edge) {
+        if (Double.isNaN(weight)) throw new IllegalArgumentException("Weight cannot be NaN");
+
+        if (size == edges.length) ensureCapacity(2 * size);
+
+        swim(size++, weight, edge);
+    }
+
+    /**
+     * <code>ensureCapacity()</code> - Grows the heap, if needed, so it can hold at least the given number of edges.
+     * @param capacity integer of the number of edges to make room for
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= edges.length) return;
+
+        weights = Arrays.copyOf(weights, capacity);
+        edges = Arrays.copyOf(edges, capacity);
+    }
+
+    /**
+     * <code>delMin()</code> - Removes the lightest edge and returns its id.
+     * @return integer id of the edge removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public int delMin() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        int min = edges[0];
+        size--;
+
+        if (size > 0) sink(0, weights[size], edges[size]);
+
+        return min;
+    }
+
+    /**
+     * <code>minEdge()</code> - The id of the lightest edge, without removing it.
+     * @return integer id of the edge
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public int minEdge() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return edges[0];
+    }
+
+    /**
+     * <code>minWeight()</code> - The weight of the lightest edge, without removing it.
+     * @return double of the weight
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public double minWeight() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return weights[0];
+    }
+
+    /**
+     * <code>purge()</code> - Removes every edge for which <code>stale</code> returns true, then restores the heap order
+     * bottom-up (Floyd's heap construction), which is O(N) instead of O(N log N) for reinserting the survivors.
+     * @param stale predicate on edge ids, true for the edges to remove
+     * @return integer of the number of edges removed
+     */
+    public int purge(IntPredicate stale) {
+        int kept = 0;
+
+        for (int k = 0; k < size; k++) {
+            if (stale.test(edges[k])) continue;
+
+            weights[kept] = weights[k];
+            edges[kept] = edges[k];
+            kept++;
+        }
+
+        int removed = size - kept;
+        size = kept;
+
+        for (int k = (size >>> 1) - 1; k >= 0; k--) {
+            sink(k, weights[k], edges[k]);
+        }
+
+        return removed;
+    }
+
+    /**
+     * <code>isEmpty()</code> - Returns true if the priority queue is empty, false otherwise.
+     * @return boolean value, true if the priority queue is empty, false otherwise
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * <code>size()</code> - Returns the number of edges currently in this priority queue, stale or not
+     * @return integer representing the number of edges contained herein
+     */
+    public int size() { return size; }
+
+    /**
+     * <code>capacity()</code> - The number of edges the heap can hold before it has to grow.
+     * @return integer of the length of the internal arrays
+     */
+    public int capacity() { return edges.length; }
+
+}
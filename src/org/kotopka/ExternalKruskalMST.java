@@ -0,0 +1,491 @@
+package org.kotopka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <code>ExternalKruskalMST</code> - Implements Kruskal's Minimum-Spanning Tree algorithm for edge files that are too
+ * large to hold in memory, by sorting the edges on disk.
+ * <br><br>
+ * The text graph file is read once. For as long as its edges are in weight order they go straight to a
+ * <code>RemUnionFind</code>, so a presorted file is consumed directly, with no runs at all. At the first out-of-order
+ * edge that tree is discarded: the sorted prefix is kept as it stands in the text file, and the rest of the file is
+ * streamed in runs of <code>runEdges</code> edges, each sorted by weight in memory and written to a temporary run file.
+ * <br><br>
+ * The runs are merged k-way through an <code>EdgeMinPQ</code> holding the current edge of each input. At most
+ * <code>fanIn</code> inputs are open at once, 128 by default, which bounds the open files and the 64 KB read buffers;
+ * while there are more runs than that, groups of <code>fanIn</code> runs are merged into longer runs first. The final
+ * merge of the prefix and the remaining runs is fed to the union-find, and stops as soon as the tree has <em>V - 1</em>
+ * edges. Apart from the run buffer, whose size is fixed by the caller, and the merge buffers, memory is O(V).
+ */
+public class ExternalKruskalMST implements MST {
+
+    private static final int DEFAULT_RUN_EDGES = 1 << 21;   // 2M edges, about 40 MB of run buffer
+    private static final int DEFAULT_FAN_IN = 128;          // runs merged at once, 8 MB of read buffers
+    private static final int RECORD_BYTES = 16;             // int v, int w, double weight
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private Queue<Edge> mst;
+    private final int vertexCount;
+    private final RemUnionFind uf;
+    private final int fanIn;
+    private double totalWeight;
+    private int edgeCount;
+    private boolean presorted;
+    private int runCount;
+    private int mergePassCount;
+
+    /**
+     * <code>ExternalKruskalMST</code> - Constructor. Computes the MST of a graph in the <code>V E / v w weight</code>
+     * text format, writing runs of the default size to the default temporary directory.
+     * @param file path of the text file to read
+     * @throws IOException if a file can't be read or written, or the graph file is malformed
+     */
+    public ExternalKruskalMST(Path file) throws IOException {
+        this(file, null, DEFAULT_RUN_EDGES);
+    }
+
+    /**
+     * <code>ExternalKruskalMST</code> - Constructor. Computes the MST of a graph in the <code>V E / v w weight</code>
+     * text format, merging at most the default number of runs at once.
+     * @param file path of the text file to read
+     * @param tempDir directory for the run files, or <code>null</code> for the default temporary directory
+     * @param runEdges integer of the number of edges sorted in memory at a time
+     * @throws IOException if a file can't be read or written, or the graph file is malformed
+     */
+    public ExternalKruskalMST(Path file, Path tempDir, int runEdges) throws IOException {
+        this(file, tempDir, runEdges, DEFAULT_FAN_IN);
+    }
+
+    /**
+     * <code>ExternalKruskalMST</code> - Constructor. Computes the MST of a graph in the <code>V E / v w weight</code>
+     * text format. This constructor is responsible for all of the object's internal logic.
+     * @param file path of the text file to read
+     * @param tempDir directory for the run files, or <code>null</code> for the default temporary directory
+     * @param runEdges integer of the number of edges sorted in memory at a time
+     * @param fanIn integer of the largest number of runs merged at once, at least 2
+     * @throws IOException if a file can't be read or written, or the graph file is malformed
+     * @throws IllegalArgumentException if the run size or the fan-in is too small
+     */
+    public ExternalKruskalMST(Path file, Path tempDir, int runEdges, int fanIn) throws IOException {
+        if (runEdges <= 0) throw new IllegalArgumentException("Invalid run size");
+        if (fanIn < 2) throw new IllegalArgumentException("Fan-in must be at least 2");
+
+        this.mst = new Queue<>();
+        this.fanIn = fanIn;
+
+        List<Path> files = new ArrayList<>();   // every run file created, for the cleanup
+        Path runDir = null;
+        List<Path> runs = new ArrayList<>();
+        long prefix = 0;
+
+        try {
+            try (TextGraphParser.Reader reader = new TextGraphParser.Reader(file)) {
+                this.vertexCount = reader.vertexCount();
+
+                if (vertexCount <= 0) throw new IOException("Graph must have positive number of vertices");
+
+                this.uf = new RemUnionFind(vertexCount);
+
+                double previous = Double.NEGATIVE_INFINITY;
+                boolean more;
+
+                // Kruskal on the edges as they come, for as long as they are in weight order
+                while ((more = reader.next()) && reader.weight() >= previous) {
+                    previous = reader.weight();
+                    prefix++;
+
+                    if (!isComplete()) accept(reader.v(), reader.w(), reader.weight());
+                }
+
+                presorted = !more;
+
+                if (!presorted) {
+                    // the prefix's tree is not the MST after all; forget it, the prefix is merged with the runs instead
+                    uf.reset();
+                    mst = new Queue<>();
+                    totalWeight = 0.0;
+                    edgeCount = 0;
+
+                    runDir = tempDir == null ? Files.createTempDirectory("kruskal-runs") : Files.createTempDirectory(tempDir, "kruskal-runs");
+                    writeRuns(reader, runDir, runEdges, runs, files);
+                    runCount = runs.size();
+                }
+            }
+
+            if (!presorted) {
+                // the prefix takes one of the final merge's inputs
+                runs = reduce(runs, runDir, prefix > 0 ? fanIn - 1 : fanIn, files);
+                merge(file, prefix, runs);
+            }
+        } finally {
+            for (Path run : files) Files.deleteIfExists(run);
+            if (runDir != null) Files.deleteIfExists(runDir);
+        }
+    }
+
+    private boolean isComplete() {
+        return edgeCount == vertexCount - 1;
+    }
+
+    /**
+     * <code>accept()</code> - Private method, the union-find step of Kruskal's algorithm for the next edge in weight order.
+     */
+    private void accept(int v, int w, double weight) throws IOException {
+        if (v < 0 || v >= vertexCount || w < 0 || w >= vertexCount) throw new IOException("Vertex out of range: " + v + " " + w);
+
+        // Don't add this edge if it creates a cycle in the MST
+        if (uf.union(v, w)) {
+            mst.enqueue(new Edge(v, w, weight));
+            totalWeight += weight;
+            edgeCount++;
+        }
+    }
+
+    /**
+     * <code>writeRuns()</code> - Private method, splits the rest of the file, starting with the reader's current edge,
+     * into sorted run files. Each run is added to <code>runs</code> and <code>files</code> as soon as it exists, so the
+     * caller can clean up after a failure.
+     */
+    private static void writeRuns(TextGraphParser.Reader reader, Path runDir, int runEdges, List<Path> runs,
+                                  List<Path> files) throws IOException {
+        int[] from = new int[runEdges];
+        int[] to = new int[runEdges];
+        double[] keys = new double[runEdges];
+        int[] index = new int[runEdges];
+        boolean more = true;
+
+        while (more) {
+            int n = 0;
+
+            while (more && n < runEdges) {
+                from[n] = reader.v();
+                to[n] = reader.w();
+                keys[n] = reader.weight();
+                index[n] = n;
+                n++;
+                more = reader.next();
+            }
+
+            EdgeList.sort(keys, index, 0, n - 1);
+
+            Path run = runDir.resolve("run-" + runs.size());
+            runs.add(run);
+            files.add(run);
+
+            try (RunWriter writer = new RunWriter(run)) {
+                for (int i = 0; i < n; i++) writer.add(from[index[i]], to[index[i]], keys[i]);
+            }
+        }
+    }
+
+    /**
+     * <code>reduce()</code> - Private method, merges groups of <code>fanIn</code> runs into longer runs, pass after pass,
+     * until no more than <code>limit</code> runs are left. Each merged run is deleted as soon as its group is written.
+     * @return the list of remaining runs
+     */
+    private List<Path> reduce(List<Path> runs, Path runDir, int limit, List<Path> files) throws IOException {
+        while (runs.size() > limit) {
+            List<Path> merged = new ArrayList<>();
+
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(runs.size(), i + fanIn));
+
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+
+                Path run = runDir.resolve("merge-" + mergePassCount + "-" + merged.size());
+                merged.add(run);
+                files.add(run);
+
+                try (MergedSource source = new MergedSource(openRuns(group, null)); RunWriter writer = new RunWriter(run)) {
+                    while (source.next()) writer.add(source.v, source.w, source.weight);
+                }
+
+                for (Path done : group) Files.delete(done);
+            }
+
+            runs = merged;
+            mergePassCount++;
+        }
+
+        return runs;
+    }
+
+    /**
+     * <code>merge()</code> - Private method, k-way merges the sorted prefix of the text file and the runs into the
+     * union-find pass.
+     */
+    private void merge(Path file, long prefix, List<Path> runs) throws IOException {
+        Source first = prefix > 0 ? new PrefixReader(file, prefix) : null;
+
+        try (MergedSource source = new MergedSource(openRuns(runs, first))) {
+            while (!isComplete() && source.next()) {
+                accept(source.v, source.w, source.weight);
+            }
+        }
+    }
+
+    /**
+     * <code>openRuns()</code> - Private method, opens a reader on each run, after <code>first</code> if it is not
+     * <code>null</code>. Closes whatever was opened if one of them fails.
+     */
+    private static Source[] openRuns(List<Path> runs, Source first) throws IOException {
+        int offset = first == null ? 0 : 1;
+        Source[] sources = new Source[runs.size() + offset];
+
+        sources[0] = first;
+
+        try {
+            for (int r = 0; r < runs.size(); r++) sources[r + offset] = new RunReader(runs.get(r));
+        } catch (IOException e) {
+            for (Source source : sources) {
+                if (source != null) source.close();
+            }
+            throw e;
+        }
+
+        return sources;
+    }
+
+    /**
+     * <code>Source</code> - A stream of edges in weight order, read one edge at a time.
+     */
+    private abstract static class Source implements AutoCloseable {
+
+        int v;
+        int w;
+        double weight;
+
+        /**
+         * <code>next()</code> - Advances to the next edge.
+         * @return boolean true if there was another edge, false at the end of the stream
+         */
+        abstract boolean next() throws IOException;
+
+        @Override
+        public abstract void close() throws IOException;
+    }
+
+    /**
+     * <code>MergedSource</code> - The k-way merge of several sources, through an <code>EdgeMinPQ</code> holding the
+     * index of each source by the weight of its current edge.
+     */
+    private static class MergedSource extends Source {
+
+        private final Source[] sources;
+        private final EdgeMinPQ heads;
+        private int current = -1;   // the source of the current edge, advanced on the next call
+
+        MergedSource(Source[] sources) throws IOException {
+            this.sources = sources;
+            this.heads = new EdgeMinPQ(Math.max(1, sources.length));
+
+            try {
+                for (int r = 0; r < sources.length; r++) {
+                    if (sources[r].next()) heads.insert(sources[r].weight, r);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (current >= 0 && sources[current].next()) heads.insert(sources[current].weight, current);
+
+            if (heads.isEmpty()) {
+                current = -1;
+                return false;
+            }
+
+            current = heads.delMin();
+
+            Source source = sources[current];
+            v = source.v;
+            w = source.w;
+            weight = source.weight;
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+
+            for (Source source : sources) {
+                try {
+                    if (source != null) source.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                }
+            }
+
+            if (failure != null) throw failure;
+        }
+    }
+
+    /**
+     * <code>PrefixReader</code> - Reads the first <code>count</code> edges of a text graph file, which are known to be
+     * in weight order.
+     */
+    private static class PrefixReader extends Source {
+
+        private final TextGraphParser.Reader reader;
+        private long remaining;
+
+        PrefixReader(Path file, long count) throws IOException {
+            this.reader = new TextGraphParser.Reader(file);
+            this.remaining = count;
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (remaining == 0 || !reader.next()) return false;
+
+            remaining--;
+            v = reader.v();
+            w = reader.w();
+            weight = reader.weight();
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * <code>RunWriter</code> - Writes fixed-size little-endian edge records through a buffer.
+     */
+    private static class RunWriter implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void add(int v, int w, double weight) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) flush();
+
+            buffer.putInt(v).putInt(w).putDouble(weight);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * <code>RunReader</code> - Reads back the records of a <code>RunWriter</code> one edge at a time.
+     */
+    private static class RunReader extends Source {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.limit(0);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+
+                while (buffer.position() < RECORD_BYTES) {
+                    if (channel.read(buffer) < 0) break;
+                }
+
+                buffer.flip();
+
+                if (buffer.remaining() < RECORD_BYTES) return false;
+            }
+
+            v = buffer.getInt();
+            w = buffer.getInt();
+            weight = buffer.getDouble();
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    @Override
+    public double totalWeight() { return totalWeight; }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return edgeCount; }
+
+    /**
+     * <code>isPresorted()</code> - Whether the input file was already in weight order, so no runs were written.
+     * @return boolean true if the edges were consumed directly from the input file, false otherwise
+     */
+    public boolean isPresorted() { return presorted; }
+
+    /**
+     * <code>runCount()</code> - The number of sorted runs written from the unsorted part of the input.
+     * @return integer of the number of runs, 0 if the input was presorted
+     */
+    public int runCount() { return runCount; }
+
+    /**
+     * <code>mergePassCount()</code> - The number of passes that merged runs into longer runs before the final merge,
+     * needed only when there were more runs than the fan-in.
+     * @return integer of the number of intermediate merge passes
+     */
+    public int mergePassCount() { return mergePassCount; }
+
+    // test client
+    public static void main(String[] args) throws IOException {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        TestClient tc = new TestClient(new ExternalKruskalMST(Path.of(args[0])));
+        tc.printMst();
+    }
+
+}
@@ -0,0 +1,263 @@
+package org.kotopka;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <code>FilterKruskalMST</code> - Implements the Filter-Kruskal variant of Kruskal's Minimum-Spanning Tree algorithm.
+ * <br><br>
+ * Instead of sorting every edge up front, the edges are partitioned quicksort-style around a pivot weight. The light
+ * side is handled first (recursively), and then the heavy side is filtered: every heavy edge whose endpoints are already
+ * connected by the light edges can never enter the tree, so it is dropped before it is ever sorted. Only ranges smaller
+ * than <code>BASE_CASE</code> are actually sorted. The algorithm stops as soon as the tree has <em>V - 1</em> edges.
+ * <br><br>
+ * Median-of-3 pivots can still split badly on unlucky inputs, so the number of partition steps on any path is limited to
+ * about <em>2 log E</em>; a range that runs out of steps is sorted and scanned like plain Kruskal, which keeps the
+ * recursion depth logarithmic.
+ * <br><br>
+ * When constructed with a <code>ForkJoinPool</code>, large partition and filter steps run in parallel, with the filter
+ * threads sharing a <code>ConcurrentUnionFind</code>; the union-find pass itself stays sequential.
+ * <br><br>
+ * Osipov, Sanders, Singler, <em>The Filter-Kruskal Minimum Spanning Tree Algorithm</em>, ALENEX 2009.
+ */
+public class FilterKruskalMST implements MST {
+
+    private static final int BASE_CASE = 1024;          // ranges up to this size are sorted directly
+    private static final int PARALLEL_CUTOFF = 1 << 16; // ranges below this size are partitioned sequentially
+
+    private final Queue<Edge> mst;
+    private final int vertexCount;
+    private double totalWeight;
+    private int edgeCount;
+
+    // working state, released at the end of the constructor
+    private EdgeList edgeList;
+    private DisjointSet uf;         // a ConcurrentUnionFind with a pool, shared by the parallel filter steps
+    private ForkJoinPool pool;
+    private int[] index;            // edge indices, permuted in place by the partition and filter steps
+    private int[] scratch;          // destination for the parallel steps, null when running sequentially
+    private double[] baseKeys;
+    private int[] baseIndex;
+
+    /**
+     * <code>FilterKruskalMST</code> - Constructor. Computes the MST of an <code>EdgeWeightedGraph</code> sequentially.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     */
+    public FilterKruskalMST(EdgeWeightedGraph edgeWeightedGraph) {
+        this(new EdgeList(edgeWeightedGraph), null);
+    }
+
+    /**
+     * <code>FilterKruskalMST</code> - Constructor. Computes the MST of an <code>EdgeList</code> sequentially.
+     * @param edgeList EdgeList object from which to build the MST
+     */
+    public FilterKruskalMST(EdgeList edgeList) {
+        this(edgeList, null);
+    }
+
+    /**
+     * <code>FilterKruskalMST</code> - Constructor. Computes the MST of an <code>EdgeList</code>, running large partition
+     * and filter steps on the given pool.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param pool the ForkJoinPool for the parallel steps, or <code>null</code> to run sequentially
+     */
+    public FilterKruskalMST(EdgeList edgeList, ForkJoinPool pool) {
+        this(edgeList, pool, 2 * (32 - Integer.numberOfLeadingZeros(edgeList.size())));
+    }
+
+    /**
+     * <code>FilterKruskalMST</code> - Package private constructor with a given limit on the partition steps per path,
+     * 0 to sort every edge. This constructor is responsible for all of the object's internal logic.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param pool the ForkJoinPool for the parallel steps, or <code>null</code> to run sequentially
+     * @param depthLimit the number of partition steps before a range is sorted instead
+     */
+    FilterKruskalMST(EdgeList edgeList, ForkJoinPool pool, int depthLimit) {
+        this.mst = new Queue<>();
+        this.vertexCount = edgeList.vertexCount();
+
+        this.edgeList = edgeList;
+        this.uf = pool == null ? new RankUnionFind(vertexCount) : new ConcurrentUnionFind(vertexCount);
+        this.pool = pool;
+        this.index = new int[edgeList.size()];
+        this.scratch = pool == null ? null : new int[edgeList.size()];
+        this.baseKeys = new double[BASE_CASE];
+        this.baseIndex = new int[BASE_CASE];
+
+        for (int i = 0; i < index.length; i++) index[i] = i;
+
+        filterKruskal(0, index.length, depthLimit);
+
+        this.edgeList = null;
+        this.uf = null;
+        this.pool = null;
+        this.index = null;
+        this.scratch = null;
+        this.baseKeys = null;
+        this.baseIndex = null;
+    }
+
+    private boolean isComplete() {
+        return edgeCount == vertexCount - 1;
+    }
+
+    /**
+     * <code>filterKruskal()</code> - Private method, runs Filter-Kruskal on the edges in <code>index[lo..hi - 1]</code>.
+     * Recurses into the light side and loops on the heavy side, sorting the range once <code>depth</code> runs out.
+     */
+    private void filterKruskal(int lo, int hi, int depth) {
+        while (hi - lo > BASE_CASE && !isComplete()) {
+            if (depth-- == 0) {
+                kruskal(lo, hi);
+                return;
+            }
+
+            double pivot = pivot(lo, hi);
+
+            // [lo, lt) is lighter than the pivot, [lt, gt) equal to it and [gt, hi) heavier
+            long bounds = partition(lo, hi, pivot);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+
+            filterKruskal(lo, lt, depth);
+
+            // edges of equal weight need no sorting among themselves
+            for (int i = lt; i < gt && !isComplete(); i++) {
+                accept(index[i]);
+            }
+
+            if (isComplete()) return;
+
+            lo = gt;
+            hi = gt + filter(gt, hi);
+        }
+
+        if (!isComplete()) kruskal(lo, hi);
+    }
+
+    /**
+     * <code>pivot()</code> - Private method, the median weight of the first, middle and last edge of the range.
+     */
+    private double pivot(int lo, int hi) {
+        double a = edgeList.weight(index[lo]);
+        double b = edgeList.weight(index[(lo + hi) >>> 1]);
+        double c = edgeList.weight(index[hi - 1]);
+
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * <code>partition()</code> - Private method, three-way partitions <code>index[lo..hi - 1]</code> around the pivot.
+     * @return long with the end of the lighter part in the high 32 bits and the start of the heavier part in the low 32 bits
+     */
+    private long partition(int lo, int hi, double pivot) {
+        int lt = lo;
+        int gt = hi;
+
+        if (pool != null && hi - lo >= PARALLEL_CUTOFF) {
+            int n = hi - lo;
+            lt += Parallel.filter(pool, index, lo, n, e -> edgeList.weight(e) < pivot, scratch, lo);
+            gt = lt + Parallel.filter(pool, index, lo, n, e -> edgeList.weight(e) == pivot, scratch, lt);
+            Parallel.filter(pool, index, lo, n, e -> edgeList.weight(e) > pivot, scratch, gt);
+            System.arraycopy(scratch, lo, index, lo, n);
+        } else {
+            int i = lo;
+
+            // Dijkstra's three-way partitioning
+            while (i < gt) {
+                double weight = edgeList.weight(index[i]);
+
+                if      (weight < pivot) exchange(lt++, i++);
+                else if (weight > pivot) exchange(i, --gt);
+                else                     i++;
+            }
+        }
+
+        return ((long) lt << 32) | gt;
+    }
+
+    /**
+     * <code>filter()</code> - Private method, drops the edges of <code>index[lo..hi - 1]</code> whose endpoints are already
+     * connected, compacting the survivors to the front of the range.
+     * @return integer of the number of surviving edges
+     */
+    private int filter(int lo, int hi) {
+        if (pool != null && hi - lo >= PARALLEL_CUTOFF) {
+            // the union-find is lock-free, so every thread can query it directly
+            int count = Parallel.filter(pool, index, lo, hi - lo, e -> !uf.connected(edgeList.from(e), edgeList.to(e)), scratch, lo);
+            System.arraycopy(scratch, lo, index, lo, count);
+            return count;
+        }
+
+        int count = 0;
+
+        for (int i = lo; i < hi; i++) {
+            int e = index[i];
+            if (!uf.connected(edgeList.from(e), edgeList.to(e))) index[lo + count++] = e;
+        }
+
+        return count;
+    }
+
+    /**
+     * <code>kruskal()</code> - Private method, the base case: sorts a range and runs plain Kruskal over it. Small ranges
+     * reuse the base case buffers, a range that ran out of partition steps gets its own.
+     */
+    private void kruskal(int lo, int hi) {
+        int n = hi - lo;
+        double[] keys = n <= BASE_CASE ? baseKeys : new double[n];
+        int[] order = n <= BASE_CASE ? baseIndex : new int[n];
+
+        for (int i = 0; i < n; i++) {
+            order[i] = index[lo + i];
+            keys[i] = edgeList.weight(order[i]);
+        }
+
+        EdgeList.sort(keys, order, 0, n - 1);
+
+        for (int i = 0; i < n && !isComplete(); i++) {
+            accept(order[i]);
+        }
+    }
+
+    private void accept(int e) {
+        // Don't add this edge if it creates a cycle in the MST
+        if (uf.union(edgeList.from(e), edgeList.to(e))) {
+            mst.enqueue(edgeList.edge(e));
+            totalWeight += edgeList.weight(e);
+            edgeCount++;
+        }
+    }
+
+    private void exchange(int a, int b) {
+        int temp = index[a];
+        index[a] = index[b];
+        index[b] = temp;
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    @Override
+    public double totalWeight() { return totalWeight; }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return edgeCount; }
+
+    // test client
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        TestClient tc = new TestClient(new FilterKruskalMST(GraphLoader.load(args[0])));
+        tc.printMst();
+    }
+
+}
@@ -0,0 +1,801 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>FullyDynamicMST</code> - Maintains the minimum-spanning forest of a graph whose edges can be inserted, deleted
+ * and re-weighted at any time. <code>edges()</code> and <code>totalWeight()</code> always describe the current forest.
+ * <br><br>
+ * The edges are split into groups of at most V edges, the leaves of a balanced binary tree (sparsification). Every
+ * node of the tree keeps the minimum-spanning forest of the edges below it, computed from the forests of its two
+ * children alone, since the forest of a union of graphs is the forest of the union of their forests. The root holds the
+ * forest of the whole graph. A node's input is at most 2(V - 1) edges however many edges the graph has, and the tree
+ * has O(log(E / V)) levels.
+ * <br><br>
+ * Edges are ordered by weight and then by id, so every forest is unique, and an update of one edge changes the forest of
+ * each node on its way to the root by at most two edges. Each node keeps its forest the way <code>DynamicMST</code>
+ * does, in a <code>LinkCutTree</code> with a node per tree edge, and lists the forest edges and the other
+ * ("non-tree") edges at each vertex:
+ * <ul>
+ *     <li>Inserting an edge, or changing the weight of an edge outside the forest, follows the cycle rule of
+ *     <code>DynamicMST</code> in every node: O(log V log(E / V)) amortized.</li>
+ *     <li>Lowering the weight of a forest edge only updates its value in the link-cut tree of every node.</li>
+ *     <li>Deleting a forest edge, or raising its weight, reconnects the two halves in each node with the lightest
+ *     non-tree edge between them. Both halves are walked in turn until the smaller one is complete, and only its
+ *     non-tree edges are looked at, so this costs time proportional to the smaller half and its edges: O(V log(E / V))
+ *     at worst, as a node never has more than 2V input edges, instead of O(E log V) over the whole graph.</li>
+ * </ul>
+ * Groups that empty out are merged by rebuilding the tree once fewer than a quarter of the group slots are in use.
+ * <br><br>
+ * Edges are identified by the integer id returned from <code>insertEdge()</code>, or by the <code>Edge</code> object that
+ * was inserted. Ids are not reused after deletion.
+ * <br><br>
+ * Eppstein, Galil, Italiano, Nissenzweig, <em>Sparsification - A Technique for Speeding Up Dynamic Graph
+ * Algorithms</em>, Journal of the ACM 1997.
+ */
+public class FullyDynamicMST implements MST {
+
+    private static final byte ABSENT = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+    private static final int NONE = -1;
+
+    private final int vertexCount;
+    private final int leafCapacity;         // the number of edges in a full group
+
+    private int[] from;                     // from[id], to[id] and weight[id] describe edge id
+    private int[] to;
+    private double[] weight;
+    private int[] leafOf;                   // leafOf[id] is the group of edge id, -1 once it is deleted
+    private Edge[] inserted;                // inserted[id] is the Edge object edge id was inserted as, if any
+    private int size;
+    private int liveCount;
+
+    private Node[][] nodes;                 // nodes[h][i] has children nodes[h - 1][2i] and [2i + 1], leaves on level 0
+    private byte[][] state;                 // state[h][id] is the state of edge id in its node on level h
+    private int[][] slotOf;                 // slotOf[h][id] is the tree edge slot of edge id in its node on level h
+    private int height;                     // the root is nodes[height][0]
+    private int leafCount;
+    private int[] leafSize;
+    private int[] openLeaves;               // stack of the groups that are not full
+    private int openCount;
+
+    private final Map<Edge, Integer> ids;   // Edge objects to their ids, by identity
+    private Changes changes;
+    private Changes parentChanges;
+
+    private final int[] mark;               // scratch for Node.lightestAcross(), shared since one node works at a time
+    private int stamp;
+    private final int[][] queue;
+    private final int[] head;
+    private final int[] tail;
+    private final int[] cursor;
+
+    private double totalWeight;
+    private boolean totalWeightStale;
+
+    /**
+     * <code>Changes</code> - Private class, the edges that joined or left a node's forest during one update, which
+     * are the changes to the input of its parent. An edge that left and rejoined (or the other way around) cancels out.
+     */
+    private static class Changes {
+
+        private int[] ids = new int[8];
+        private boolean[] joined = new boolean[8];
+        private int count;
+
+        private void add(int id, boolean isJoined) {
+            for (int i = 0; i < count; i++) {
+                if (ids[i] == id) {
+                    count--;
+                    ids[i] = ids[count];
+                    joined[i] = joined[count];
+                    return;
+                }
+            }
+
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * count);
+                joined = Arrays.copyOf(joined, 2 * count);
+            }
+
+            ids[count] = id;
+            joined[count] = isJoined;
+            count++;
+        }
+    }
+
+    /**
+     * <code>Node</code> - Private class, a node of the sparsification tree: the minimum-spanning forest of its input
+     * edges in a <code>LinkCutTree</code>, and for every vertex a list of its forest edges and a list of its other
+     * input edges. Edge states and slots are kept per level, in the outer class, since each edge is the input of at
+     * most one node on a level.
+     * <br><br>
+     * The lists hold half-edges: <code>2s</code> and <code>2s + 1</code> are the "from" and "to" ends of the edge in slot
+     * s, in the list of their own endpoint.
+     */
+    private class Node {
+
+        private final int level;
+        private final LinkCutTree lct;          // nodes 0..V-1 are the vertices, V.. are the tree edge slots
+        private final int[] treeEdge;           // treeEdge[s] is the id of the tree edge in slot s
+        private final int[] freeTree;           // stack of unused tree edge slots
+        private int freeTreeCount;
+        private final int[] treeHead;           // treeHead[v] is the first tree half-edge at v
+        private final int[] treeNext;
+        private final int[] treePrev;
+        private final int[] nonTreeEdge;        // the same for the other input edges, at most 2V of them
+        private final int[] freeNonTree;
+        private int freeNonTreeCount;
+        private final int[] nonTreeHead;
+        private final int[] nonTreeNext;
+        private final int[] nonTreePrev;
+
+        private Node(int level) {
+            int treeSlots = vertexCount - 1;
+            int nonTreeSlots = 2 * vertexCount;
+
+            this.level = level;
+            this.lct = new LinkCutTree(vertexCount + treeSlots);
+            this.treeEdge = new int[treeSlots];
+            this.freeTree = new int[treeSlots];
+            this.treeHead = new int[vertexCount];
+            this.treeNext = new int[2 * treeSlots];
+            this.treePrev = new int[2 * treeSlots];
+            this.nonTreeEdge = new int[nonTreeSlots];
+            this.freeNonTree = new int[nonTreeSlots];
+            this.nonTreeHead = new int[vertexCount];
+            this.nonTreeNext = new int[2 * nonTreeSlots];
+            this.nonTreePrev = new int[2 * nonTreeSlots];
+
+            Arrays.fill(treeHead, NONE);
+            Arrays.fill(nonTreeHead, NONE);
+
+            for (int v = 0; v < vertexCount; v++) lct.setValue(v, Double.NEGATIVE_INFINITY);
+            for (int s = 0; s < treeSlots; s++) freeTree[s] = treeSlots - 1 - s;
+            for (int s = 0; s < nonTreeSlots; s++) freeNonTree[s] = nonTreeSlots - 1 - s;
+            this.freeTreeCount = treeSlots;
+            this.freeNonTreeCount = nonTreeSlots;
+        }
+
+        /**
+         * <code>insert()</code> - Private method, adds an edge to the input: into the forest if it joins two trees or
+         * is lighter than the heaviest edge on its cycle, otherwise into the non-tree lists.
+         */
+        private void insert(int id, Changes out) {
+            int v = from[id];
+            int w = to[id];
+
+            if (!lct.connected(v, w)) {
+                link(id, out);
+                return;
+            }
+
+            if (v != w) {
+                int replaced = treeEdge[lct.pathMax(v, w) - vertexCount];
+
+                if (compare(id, replaced) < 0) {
+                    unlink(replaced, out);
+                    addNonTree(replaced);
+
+                    link(id, out);
+                    return;
+                }
+            }
+
+            addNonTree(id);
+        }
+
+        /**
+         * <code>delete()</code> - Private method, removes an edge from the input. A tree edge is replaced by the
+         * lightest non-tree edge between the two halves, if there is one; every other non-tree edge still has both
+         * endpoints in one tree.
+         */
+        private void delete(int id, Changes out) {
+            if (state[level][id] == NON_TREE) {
+                removeNonTree(id);
+                state[level][id] = ABSENT;
+                return;
+            }
+
+            unlink(id, out);
+            state[level][id] = ABSENT;
+
+            int replacement = lightestAcross(from[id], to[id]);
+
+            if (replacement != NONE) {
+                removeNonTree(replacement);
+                link(replacement, out);
+            }
+        }
+
+        /**
+         * <code>lightestAcross()</code> - Private method, after the tree edge between a and b was cut: the lightest
+         * non-tree edge between the two halves, or <code>NONE</code>. Both halves are walked one tree edge at a time in
+         * turn until one of them is exhausted, so the walk costs O(size of the smaller half), and only the non-tree
+         * edges of the smaller half are looked at.
+         */
+        private int lightestAcross(int a, int b) {
+            if (stamp >= Integer.MAX_VALUE - 2) {
+                Arrays.fill(mark, 0);
+                stamp = 0;
+            }
+
+            stamp += 2;
+
+            int side = 0;
+
+            start(0, a);
+            start(1, b);
+
+            while (step(side)) side ^= 1;
+
+            int sideMark = stamp + side;
+            int best = NONE;
+
+            for (int i = 0; i < tail[side]; i++) {
+                for (int h = nonTreeHead[queue[side][i]]; h != NONE; h = nonTreeNext[h]) {
+                    int id = nonTreeEdge[h >> 1];
+                    int other = (h & 1) == 0 ? to[id] : from[id];
+
+                    if (mark[other] != sideMark && (best == NONE || compare(id, best) < 0)) best = id;
+                }
+            }
+
+            return best;
+        }
+
+        private void start(int side, int v) {
+            mark[v] = stamp + side;
+            queue[side][0] = v;
+            head[side] = 0;
+            tail[side] = 1;
+            cursor[side] = treeHead[v];
+        }
+
+        /**
+         * <code>step()</code> - Private method, follows one tree half-edge of a half's breadth-first walk.
+         * @return boolean false once every vertex of the half has been reached
+         */
+        private boolean step(int side) {
+            while (cursor[side] == NONE) {
+                if (++head[side] == tail[side]) return false;
+                cursor[side] = treeHead[queue[side][head[side]]];
+            }
+
+            int h = cursor[side];
+            int id = treeEdge[h >> 1];
+            int other = (h & 1) == 0 ? to[id] : from[id];
+
+            cursor[side] = treeNext[h];
+
+            if (mark[other] != stamp + side) {
+                mark[other] = stamp + side;
+                queue[side][tail[side]++] = other;
+            }
+
+            return true;
+        }
+
+        private void link(int id, Changes out) {
+            int slot = freeTree[--freeTreeCount];
+            int node = vertexCount + slot;
+
+            treeEdge[slot] = id;
+            slotOf[level][id] = slot;
+            state[level][id] = TREE;
+
+            lct.setValue(node, weight[id], id);
+            lct.link(from[id], node);
+            lct.link(node, to[id]);
+
+            addHalfEdge(treeHead, treeNext, treePrev, from[id], 2 * slot);
+            addHalfEdge(treeHead, treeNext, treePrev, to[id], 2 * slot + 1);
+
+            if (out != null) out.add(id, true);
+        }
+
+        private void unlink(int id, Changes out) {
+            int slot = slotOf[level][id];
+            int node = vertexCount + slot;
+
+            lct.cut(from[id], node);
+            lct.cut(node, to[id]);
+
+            removeHalfEdge(treeHead, treeNext, treePrev, from[id], 2 * slot);
+            removeHalfEdge(treeHead, treeNext, treePrev, to[id], 2 * slot + 1);
+
+            freeTree[freeTreeCount++] = slot;
+
+            if (out != null) out.add(id, false);
+        }
+
+        private void addNonTree(int id) {
+            int slot = freeNonTree[--freeNonTreeCount];
+
+            nonTreeEdge[slot] = id;
+            slotOf[level][id] = slot;
+            state[level][id] = NON_TREE;
+
+            addHalfEdge(nonTreeHead, nonTreeNext, nonTreePrev, from[id], 2 * slot);
+            addHalfEdge(nonTreeHead, nonTreeNext, nonTreePrev, to[id], 2 * slot + 1);
+        }
+
+        private void removeNonTree(int id) {
+            int slot = slotOf[level][id];
+
+            removeHalfEdge(nonTreeHead, nonTreeNext, nonTreePrev, from[id], 2 * slot);
+            removeHalfEdge(nonTreeHead, nonTreeNext, nonTreePrev, to[id], 2 * slot + 1);
+
+            freeNonTree[freeNonTreeCount++] = slot;
+        }
+
+        /**
+         * <code>lowerWeight()</code> - Private method, updates the value of a tree edge whose weight went down. It is
+         * still the lightest edge across its cut.
+         */
+        private void lowerWeight(int id, double newWeight) {
+            lct.setValue(vertexCount + slotOf[level][id], newWeight, id);
+        }
+
+        private boolean isInUse(int slot) {
+            // a free slot may still name the edge that used it last, which is then deleted or somewhere else
+            int id = treeEdge[slot];
+            return state[level][id] == TREE && slotOf[level][id] == slot;
+        }
+
+        /**
+         * <code>insertForestInto()</code> - Private method, adds this node's forest edges to the input of its parent.
+         */
+        private void insertForestInto(Node parent) {
+            for (int slot = 0; slot < treeEdge.length; slot++) {
+                if (isInUse(slot)) parent.insert(treeEdge[slot], null);
+            }
+        }
+    }
+
+    private static void addHalfEdge(int[] listHead, int[] next, int[] prev, int v, int h) {
+        next[h] = listHead[v];
+        prev[h] = NONE;
+        if (listHead[v] != NONE) prev[listHead[v]] = h;
+        listHead[v] = h;
+    }
+
+    private static void removeHalfEdge(int[] listHead, int[] next, int[] prev, int v, int h) {
+        if (prev[h] != NONE) next[prev[h]] = next[h];
+        else                 listHead[v] = next[h];
+
+        if (next[h] != NONE) prev[next[h]] = prev[h];
+    }
+
+    /**
+     * <code>FullyDynamicMST</code> - Constructor. Creates a graph with no edges.
+     * @param vertexCount the number of vertices
+     */
+    public FullyDynamicMST(int vertexCount) {
+        if (vertexCount <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+
+        this.vertexCount = vertexCount;
+        this.leafCapacity = vertexCount;
+
+        this.from = new int[16];
+        this.to = new int[16];
+        this.weight = new double[16];
+        this.leafOf = new int[16];
+        this.inserted = new Edge[16];
+
+        this.ids = new IdentityHashMap<>();
+        this.changes = new Changes();
+        this.parentChanges = new Changes();
+
+        this.mark = new int[vertexCount];
+        this.queue = new int[2][vertexCount];
+        this.head = new int[2];
+        this.tail = new int[2];
+        this.cursor = new int[2];
+
+        rebuild();
+    }
+
+    /**
+     * <code>FullyDynamicMST</code> - Constructor. Inserts every edge of an <code>EdgeWeightedGraph</code>. The graph's
+     * <code>Edge</code> objects can then be passed to <code>deleteEdge()</code> and <code>updateWeight()</code>.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     */
+    public FullyDynamicMST(EdgeWeightedGraph edgeWeightedGraph) {
+        this(edgeWeightedGraph.vertexCount());
+
+        // add the edges to the groups first and build every node once, bottom up
+        for (Edge e : edgeWeightedGraph.edges()) {
+            if (ids.containsKey(e)) throw new IllegalArgumentException("Edge already inserted");
+
+            int v = e.either();
+            int id = newEdge(v, e.other(v), e.weight());
+
+            inserted[id] = e;
+            ids.put(e, id);
+        }
+
+        rebuild();
+    }
+
+    private int compare(int a, int b) {
+        int cmp = Double.compare(weight[a], weight[b]);
+        return cmp != 0 ? cmp : Integer.compare(a, b);
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= vertexCount) throw new IllegalArgumentException("Vertex out of range");
+    }
+
+    private void validateEdge(int id) {
+        if (id < 0 || id >= size || leafOf[id] < 0) throw new NoSuchElementException("Edge not found");
+    }
+
+    private int idOf(Edge e) {
+        Integer id = ids.get(e);
+        if (id == null) throw new NoSuchElementException("Edge not found");
+
+        return id;
+    }
+
+    /**
+     * <code>insertEdge()</code> - Adds an edge to the graph and updates the minimum-spanning forest.
+     * @param v one endpoint of the edge
+     * @param w the other endpoint of the edge
+     * @param edgeWeight the weight of the edge
+     * @return integer id of the new edge
+     * @throws IllegalArgumentException if either endpoint is out of range or the weight is NaN
+     */
+    public int insertEdge(int v, int w, double edgeWeight) {
+        validateVertex(v);
+        validateVertex(w);
+        if (Double.isNaN(edgeWeight)) throw new IllegalArgumentException("Weight cannot be NaN");
+
+        int id = newEdge(v, w, edgeWeight);
+        int leaf = openLeaf();
+
+        leafOf[id] = leaf;
+        if (++leafSize[leaf] == leafCapacity) openCount--;
+
+        nodes[0][leaf].insert(id, changes);
+        propagate(leaf);
+
+        return id;
+    }
+
+    /**
+     * <code>insertEdge()</code> - Adds an edge to the graph and updates the minimum-spanning forest.
+     * @param e the Edge to add
+     * @return integer id of the new edge
+     * @throws IllegalArgumentException if the same Edge object was already inserted
+     */
+    public int insertEdge(Edge e) {
+        if (ids.containsKey(e)) throw new IllegalArgumentException("Edge already inserted");
+
+        int v = e.either();
+        int id = insertEdge(v, e.other(v), e.weight());
+
+        inserted[id] = e;
+        ids.put(e, id);
+
+        return id;
+    }
+
+    /**
+     * <code>newEdge()</code> - Private method, hands out the next id. The edge belongs to no group yet.
+     */
+    private int newEdge(int v, int w, double edgeWeight) {
+        if (size == from.length) resize(2 * size);
+
+        int id = size++;
+        from[id] = v;
+        to[id] = w;
+        weight[id] = edgeWeight + 0.0;     // -0.0 becomes 0.0, so Double.compare() agrees with the link-cut tree
+        liveCount++;
+
+        return id;
+    }
+
+    private void resize(int newSize) {
+        from = Arrays.copyOf(from, newSize);
+        to = Arrays.copyOf(to, newSize);
+        weight = Arrays.copyOf(weight, newSize);
+        leafOf = Arrays.copyOf(leafOf, newSize);
+        inserted = Arrays.copyOf(inserted, newSize);
+
+        for (int h = 0; h <= height; h++) {
+            state[h] = Arrays.copyOf(state[h], newSize);
+            slotOf[h] = Arrays.copyOf(slotOf[h], newSize);
+        }
+    }
+
+    /**
+     * <code>openLeaf()</code> - Private method, a group that is not full, adding one (and a level above the root, if
+     * the tree is full) when there is none.
+     */
+    private int openLeaf() {
+        if (openCount > 0) return openLeaves[openCount - 1];
+
+        if (leafCount == 1 << height) grow();
+
+        int leaf = leafCount++;
+
+        for (int h = 0; h <= height; h++) {
+            if (nodes[h][leaf >> h] == null) nodes[h][leaf >> h] = new Node(h);
+        }
+
+        openLeaves[openCount++] = leaf;
+
+        return leaf;
+    }
+
+    /**
+     * <code>grow()</code> - Private method, doubles the number of groups the tree can hold with a new root above the old
+     * one. The new root's input is the old root's forest.
+     */
+    private void grow() {
+        int newHeight = height + 1;
+        Node[][] newNodes = new Node[newHeight + 1][];
+
+        for (int h = 0; h <= newHeight; h++) {
+            newNodes[h] = new Node[1 << (newHeight - h)];
+            if (h <= height) System.arraycopy(nodes[h], 0, newNodes[h], 0, nodes[h].length);
+        }
+
+        state = Arrays.copyOf(state, newHeight + 1);
+        slotOf = Arrays.copyOf(slotOf, newHeight + 1);
+        state[newHeight] = new byte[from.length];
+        slotOf[newHeight] = new int[from.length];
+
+        nodes = newNodes;
+        height = newHeight;
+        leafSize = Arrays.copyOf(leafSize, 1 << height);
+        openLeaves = Arrays.copyOf(openLeaves, 1 << height);
+
+        nodes[height][0] = new Node(height);
+        nodes[height - 1][0].insertForestInto(nodes[height][0]);
+    }
+
+    /**
+     * <code>rebuild()</code> - Private method, packs the remaining edges into as few groups as possible and builds
+     * every node of a new tree from its children's forests.
+     */
+    private void rebuild() {
+        int leaves = Math.max(1, (liveCount + leafCapacity - 1) / leafCapacity);
+
+        height = 32 - Integer.numberOfLeadingZeros(leaves - 1);
+        nodes = new Node[height + 1][];
+        state = new byte[height + 1][from.length];
+        slotOf = new int[height + 1][from.length];
+        leafSize = new int[1 << height];
+        openLeaves = new int[1 << height];
+        openCount = 0;
+
+        for (int h = 0; h <= height; h++) nodes[h] = new Node[1 << (height - h)];
+
+        int leaf = 0;
+        nodes[0][0] = new Node(0);
+
+        for (int id = 0; id < size; id++) {
+            if (leafOf[id] < 0) continue;
+
+            if (leafSize[leaf] == leafCapacity) {
+                leaf++;
+                nodes[0][leaf] = new Node(0);
+            }
+
+            leafOf[id] = leaf;
+            leafSize[leaf]++;
+            nodes[0][leaf].insert(id, null);
+        }
+
+        leafCount = leaf + 1;
+        if (leafSize[leaf] < leafCapacity) openLeaves[openCount++] = leaf;
+
+        for (int h = 1; h <= height; h++) {
+            for (int i = 0; i < nodes[h].length && nodes[h - 1][2 * i] != null; i++) {
+                nodes[h][i] = new Node(h);
+                nodes[h - 1][2 * i].insertForestInto(nodes[h][i]);
+                if (nodes[h - 1][2 * i + 1] != null) nodes[h - 1][2 * i + 1].insertForestInto(nodes[h][i]);
+            }
+        }
+
+        totalWeightStale = true;
+    }
+
+    /**
+     * <code>propagate()</code> - Private method, after the group's forest changed by <code>changes</code>: applies the
+     * changes to each node on the way to the root, each node's own changes becoming the input of the next.
+     */
+    private void propagate(int leaf) {
+        for (int h = 1; h <= height && changes.count > 0; h++) {
+            Node node = nodes[h][leaf >> h];
+
+            // joins first: an edge that replaced another one in the child usually replaces it here too, and then the
+            // one that left is no longer a tree edge when it is deleted, so no replacement has to be searched for
+            for (int i = 0; i < changes.count; i++) {
+                if (changes.joined[i]) node.insert(changes.ids[i], parentChanges);
+            }
+
+            for (int i = 0; i < changes.count; i++) {
+                if (!changes.joined[i]) node.delete(changes.ids[i], parentChanges);
+            }
+
+            Changes temp = changes;
+            changes = parentChanges;
+            parentChanges = temp;
+            parentChanges.count = 0;
+        }
+
+        changes.count = 0;
+        totalWeightStale = true;
+    }
+
+    /**
+     * <code>deleteEdge()</code> - Removes an edge from the graph and updates the minimum-spanning forest.
+     * @param id integer id of the edge
+     * @throws NoSuchElementException if there is no such edge
+     */
+    public void deleteEdge(int id) {
+        validateEdge(id);
+
+        int leaf = leafOf[id];
+
+        nodes[0][leaf].delete(id, changes);
+        propagate(leaf);
+
+        leafOf[id] = -1;
+        liveCount--;
+        if (leafSize[leaf]-- == leafCapacity) openLeaves[openCount++] = leaf;
+
+        if (inserted[id] != null) {
+            ids.remove(inserted[id]);
+            inserted[id] = null;
+        }
+
+        if (leafCount > 1 && 4L * liveCount < (long) leafCount * leafCapacity) rebuild();
+    }
+
+    /**
+     * <code>deleteEdge()</code> - Removes an edge from the graph and updates the minimum-spanning forest.
+     * @param e the Edge object that was inserted
+     * @throws NoSuchElementException if the edge was not inserted or was already deleted
+     */
+    public void deleteEdge(Edge e) {
+        deleteEdge(idOf(e));
+    }
+
+    /**
+     * <code>updateWeight()</code> - Changes the weight of an edge and updates the minimum-spanning forest.
+     * @param id integer id of the edge
+     * @param newWeight double of the new weight
+     * @throws NoSuchElementException if there is no such edge
+     * @throws IllegalArgumentException if the weight is NaN
+     */
+    public void updateWeight(int id, double newWeight) {
+        validateEdge(id);
+        if (Double.isNaN(newWeight)) throw new IllegalArgumentException("Weight cannot be NaN");
+
+        int leaf = leafOf[id];
+        newWeight += 0.0;
+
+        if (state[height][id] == TREE && newWeight <= weight[id]) {
+            // an edge of the whole forest is in the forest of every node below the root too, and stays there
+            for (int h = 0; h <= height; h++) nodes[h][leaf >> h].lowerWeight(id, newWeight);
+
+            weight[id] = newWeight;
+            totalWeightStale = true;
+            return;
+        }
+
+        // the nodes decided where the edge goes by its old weight, so take it out everywhere before changing it
+        nodes[0][leaf].delete(id, changes);
+        propagate(leaf);
+
+        weight[id] = newWeight;
+
+        nodes[0][leaf].insert(id, changes);
+        propagate(leaf);
+    }
+
+    /**
+     * <code>updateWeight()</code> - Changes the weight of an edge and updates the minimum-spanning forest.
+     * @param e the Edge object that was inserted; the object itself keeps its original weight
+     * @param newWeight double of the new weight
+     * @throws NoSuchElementException if the edge was not inserted or was already deleted
+     */
+    public void updateWeight(Edge e, double newWeight) {
+        updateWeight(idOf(e), newWeight);
+    }
+
+    private Node root() {
+        return nodes[height][0];
+    }
+
+    /**
+     * <code>isTreeEdge()</code> - Whether an edge is currently part of the minimum-spanning forest.
+     * @param id integer id of the edge
+     * @return boolean true if the edge is in the forest, false otherwise
+     * @throws NoSuchElementException if there is no such edge
+     */
+    public boolean isTreeEdge(int id) {
+        validateEdge(id);
+        return state[height][id] == TREE;
+    }
+
+    /**
+     * <code>connected()</code> - Whether two vertices are connected by the current edges.
+     * @param v one vertex
+     * @param w the other vertex
+     * @return boolean true if v and w are in the same tree of the forest, false otherwise
+     */
+    public boolean connected(int v, int w) {
+        validateVertex(v);
+        validateVertex(w);
+
+        return root().lct.connected(v, w);
+    }
+
+    /**
+     * <code>groupCount()</code> - The number of edge groups, the leaves of the sparsification tree.
+     * @return integer of the number of groups
+     */
+    int groupCount() { return leafCount; }
+
+    /**
+     * <code>edges()</code> - The edges of the current forest, with their current weights.
+     * @return Iterable of Edge objects
+     */
+    @Override
+    public Iterable<Edge> edges() {
+        Node root = root();
+        Queue<Edge> mst = new Queue<>();
+
+        for (int slot = 0; slot < root.treeEdge.length; slot++) {
+            int id = root.treeEdge[slot];
+
+            if (root.isInUse(slot)) mst.enqueue(new Edge(from[id], to[id], weight[id]));
+        }
+
+        return mst;
+    }
+
+    @Override
+    public double totalWeight() {
+        if (totalWeightStale) {
+            Node root = root();
+            totalWeight = 0.0;
+
+            for (int slot = 0; slot < root.treeEdge.length; slot++) {
+                if (root.isInUse(slot)) totalWeight += weight[root.treeEdge[slot]];
+            }
+
+            totalWeightStale = false;
+        }
+
+        return totalWeight;
+    }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+
+    @Override
+    public int edgeCount() { return root().treeEdge.length - root().freeTreeCount; }
+
+    // test client
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        TestClient tc = new TestClient(new FullyDynamicMST(GraphLoader.load(args[0])));
+        tc.printMst();
+    }
+
+}
@@ -0,0 +1,460 @@
+package org.kotopka;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * <code>GraphGenerator</code> - Generates reproducible random edge-weighted graphs and streams them to disk in the
+ * <code>V E / v w weight</code> text format read by <code>GraphLoader</code>, or in the <code>BinaryGraphFile</code>
+ * format, without building the graph in memory.
+ * <br><br>
+ * Every model draws from a <code>SplittableRandom</code> seeded by the caller, so the same parameters and seed always
+ * produce the same edges in the same order. Weights are uniform in [0, 1) unless stated otherwise, and are written with
+ * <code>Double.toString()</code>, which reads back to exactly the same <code>double</code>. The edge count of every
+ * model is known before the first edge is written, so both formats are written in a single pass; the geometric model
+ * counts its edges with a dry run of the same seed first.
+ * <br><br>
+ * Memory is O(1) for the random, grid, R-MAT and complete models, O(V) for the geometric model (the points) and O(E)
+ * for the Barabasi-Albert model (the endpoints drawn from so far).
+ */
+public class GraphGenerator {
+
+    /**
+     * <code>EdgeSink</code> - Receives the generated edges one at a time.
+     */
+    @FunctionalInterface
+    public interface EdgeSink {
+        void add(int v, int w, double weight) throws IOException;
+    }
+
+    /**
+     * <code>Model</code> - Private interface, emits the edges of one model for a given seed.
+     */
+    @FunctionalInterface
+    private interface Model {
+        void generate(SplittableRandom random, EdgeSink sink) throws IOException;
+    }
+
+    // R-MAT quadrant probabilities, from Chakrabarti, Zhan, Faloutsos, SDM 2004; the fourth is 1 - A - B - C
+    private static final double RMAT_A = 0.57;
+    private static final double RMAT_B = 0.19;
+    private static final double RMAT_C = 0.19;
+
+    private final int vertexCount;
+    private final long edgeCount;
+    private final long seed;
+    private final Model model;
+
+    private GraphGenerator(int vertexCount, long edgeCount, long seed, Model model) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.seed = seed;
+        this.model = model;
+    }
+
+    private static void validateVertexCount(long V) {
+        if (V <= 0 || V > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid number of vertices");
+    }
+
+    /**
+     * <code>random()</code> - A sparse random graph: E edges with endpoints chosen uniformly at random (Erdos-Renyi
+     * G(n, m)). Self-loops are redrawn, parallel edges are kept, since excluding them would take O(E) memory.
+     * @param V the number of vertices, at least 2
+     * @param E the number of edges
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator random(int V, long E, long seed) {
+        if (V < 2) throw new IllegalArgumentException("Need at least 2 vertices");
+        if (E < 0) throw new IllegalArgumentException("Invalid number of edges");
+
+        return new GraphGenerator(V, E, seed, (random, sink) -> {
+            for (long i = 0; i < E; i++) {
+                int v = random.nextInt(V);
+                int w = random.nextInt(V - 1);
+                if (w >= v) w++;    // uniform over the other V - 1 vertices
+
+                sink.add(v, w, random.nextDouble());
+            }
+        });
+    }
+
+    /**
+     * <code>geometric()</code> - A random geometric graph: V points uniform in the unit square, joined when they are
+     * closer than a radius chosen for the given average degree. The weight of an edge is the distance between its
+     * endpoints. Pairs are only compared within neighboring cells of a grid of the radius' size, so generation takes
+     * O(V + E) time.
+     * @param V the number of vertices
+     * @param averageDegree the expected average degree
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator geometric(int V, double averageDegree, long seed) {
+        validateVertexCount(V);
+        if (!(averageDegree > 0)) throw new IllegalArgumentException("Average degree must be positive");
+
+        double radius = Math.min(Math.sqrt(averageDegree / (Math.PI * V)), Math.sqrt(2.0));
+        Model model = (random, sink) -> geometricEdges(V, radius, random, sink);
+
+        // the edge count depends on where the points fall, so count them with a dry run of the same seed
+        long[] count = new long[1];
+        try {
+            model.generate(new SplittableRandom(seed), (v, w, weight) -> count[0]++);
+        } catch (IOException e) {
+            throw new AssertionError(e);    // the counting sink doesn't throw
+        }
+
+        return new GraphGenerator(V, count[0], seed, model);
+    }
+
+    private static void geometricEdges(int V, double radius, SplittableRandom random, EdgeSink sink) throws IOException {
+        double[] x = new double[V];
+        double[] y = new double[V];
+
+        for (int v = 0; v < V; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+
+        // bucket the points into cells at least as wide as the radius, counting sort by cell
+        int side = (int) Math.max(1, Math.min(Math.floor(1.0 / radius), Math.sqrt(V)));
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[V];
+
+        for (int v = 0; v < V; v++) {
+            cellOf[v] = Math.min((int) (y[v] * side), side - 1) * side + Math.min((int) (x[v] * side), side - 1);
+            cellStart[cellOf[v] + 1]++;
+        }
+
+        for (int c = 0; c < side * side; c++) cellStart[c + 1] += cellStart[c];
+
+        int[] members = new int[V];
+        int[] next = cellStart.clone();
+
+        for (int v = 0; v < V; v++) members[next[cellOf[v]]++] = v;
+
+        double radiusSquared = radius * radius;
+
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int cell = row * side + col;
+
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int v = members[i];
+
+                    // compare with the rest of this cell, then the east, south-west, south and south-east cells
+                    for (int j = i + 1; j < cellStart[cell + 1]; j++) {
+                        emitIfClose(v, members[j], x, y, radiusSquared, sink);
+                    }
+
+                    if (col + 1 < side) emitCell(v, cell + 1, cellStart, members, x, y, radiusSquared, sink);
+
+                    if (row + 1 < side) {
+                        int below = cell + side;
+
+                        if (col > 0) emitCell(v, below - 1, cellStart, members, x, y, radiusSquared, sink);
+                        emitCell(v, below, cellStart, members, x, y, radiusSquared, sink);
+                        if (col + 1 < side) emitCell(v, below + 1, cellStart, members, x, y, radiusSquared, sink);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void emitCell(int v, int cell, int[] cellStart, int[] members, double[] x, double[] y,
+                                 double radiusSquared, EdgeSink sink) throws IOException {
+        for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+            emitIfClose(v, members[j], x, y, radiusSquared, sink);
+        }
+    }
+
+    private static void emitIfClose(int v, int w, double[] x, double[] y, double radiusSquared, EdgeSink sink) throws IOException {
+        double dx = x[v] - x[w];
+        double dy = y[v] - y[w];
+        double distanceSquared = dx * dx + dy * dy;
+
+        if (distanceSquared <= radiusSquared) sink.add(v, w, Math.sqrt(distanceSquared));
+    }
+
+    /**
+     * <code>grid()</code> - A rows x cols 2D grid graph, each vertex joined to its right and lower neighbor. Vertex
+     * (r, c) is numbered <code>r * cols + c</code>.
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator grid(int rows, int cols, long seed) {
+        return grid(1, rows, cols, seed);
+    }
+
+    /**
+     * <code>grid()</code> - A layers x rows x cols 3D grid graph, each vertex joined to its next neighbor along each
+     * axis. Vertex (l, r, c) is numbered <code>(l * rows + r) * cols + c</code>.
+     * @param layers the number of layers
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator grid(int layers, int rows, int cols, long seed) {
+        if (layers <= 0 || rows <= 0 || cols <= 0) throw new IllegalArgumentException("Invalid grid dimensions");
+
+        long V = (long) layers * rows * cols;
+        validateVertexCount(V);
+
+        long E = (long) layers * rows * (cols - 1) + (long) layers * (rows - 1) * cols + (long) (layers - 1) * rows * cols;
+        int layerSize = rows * cols;
+
+        return new GraphGenerator((int) V, E, seed, (random, sink) -> {
+            for (int l = 0; l < layers; l++) {
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int v = l * layerSize + r * cols + c;
+
+                        if (c + 1 < cols)   sink.add(v, v + 1, random.nextDouble());
+                        if (r + 1 < rows)   sink.add(v, v + cols, random.nextDouble());
+                        if (l + 1 < layers) sink.add(v, v + layerSize, random.nextDouble());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * <code>rmat()</code> - A power-law R-MAT graph on 2<sup>scale</sup> vertices: each edge picks one quadrant of the
+     * adjacency matrix per bit of the vertex numbers, with probabilities 0.57, 0.19, 0.19 and 0.05. This gives a skewed
+     * degree distribution with a few very high-degree vertices, as in web and social graphs. Self-loops are redrawn,
+     * parallel edges are kept.
+     * @param scale the base-2 logarithm of the number of vertices, 1 to 30
+     * @param E the number of edges
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator rmat(int scale, long E, long seed) {
+        if (scale < 1 || scale > 30) throw new IllegalArgumentException("Scale must be between 1 and 30");
+        if (E < 0) throw new IllegalArgumentException("Invalid number of edges");
+
+        return new GraphGenerator(1 << scale, E, seed, (random, sink) -> {
+            for (long i = 0; i < E; i++) {
+                int v;
+                int w;
+
+                do {
+                    v = 0;
+                    w = 0;
+
+                    for (int bit = 0; bit < scale; bit++) {
+                        double p = random.nextDouble();
+
+                        v <<= 1;
+                        w <<= 1;
+
+                        // the top-left quadrant, with probability A, leaves both bits at 0
+                        if (p >= RMAT_A) {
+                            if      (p < RMAT_A + RMAT_B)          w |= 1;
+                            else if (p < RMAT_A + RMAT_B + RMAT_C) v |= 1;
+                            else {
+                                v |= 1;
+                                w |= 1;
+                            }
+                        }
+                    }
+                } while (v == w);
+
+                sink.add(v, w, random.nextDouble());
+            }
+        });
+    }
+
+    /**
+     * <code>barabasiAlbert()</code> - A power-law graph grown by preferential attachment: it starts as a complete graph
+     * on m + 1 vertices, and every further vertex joins m distinct earlier vertices, each chosen with probability
+     * proportional to its degree.
+     * @param V the number of vertices, more than m
+     * @param m the number of edges added with each vertex
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator barabasiAlbert(int V, int m, long seed) {
+        if (m < 1 || V <= m) throw new IllegalArgumentException("Need m >= 1 and more than m vertices");
+
+        long E = (long) m * (m + 1) / 2 + (long) (V - m - 1) * m;
+        if (2 * E > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges for preferential attachment");
+
+        return new GraphGenerator(V, E, seed, (random, sink) -> {
+            // every edge adds both endpoints, so a uniform pick from this array is a pick proportional to degree
+            int[] endpoints = new int[(int) (2 * E)];
+            int size = 0;
+            int[] targets = new int[m];
+
+            for (int v = 0; v <= m; v++) {
+                for (int w = v + 1; w <= m; w++) {
+                    sink.add(v, w, random.nextDouble());
+                    endpoints[size++] = v;
+                    endpoints[size++] = w;
+                }
+            }
+
+            for (int v = m + 1; v < V; v++) {
+                int chosen = 0;
+
+                while (chosen < m) {
+                    int target = endpoints[random.nextInt(size)];
+                    boolean duplicate = false;
+
+                    for (int k = 0; k < chosen && !duplicate; k++) duplicate = targets[k] == target;
+
+                    if (!duplicate) targets[chosen++] = target;
+                }
+
+                // the new edges only count toward the picks of later vertices
+                for (int k = 0; k < m; k++) {
+                    sink.add(v, targets[k], random.nextDouble());
+                    endpoints[size++] = v;
+                    endpoints[size++] = targets[k];
+                }
+            }
+        });
+    }
+
+    /**
+     * <code>complete()</code> - The complete graph on V vertices.
+     * @param V the number of vertices
+     * @param seed the random seed
+     * @return GraphGenerator for the model
+     */
+    public static GraphGenerator complete(int V, long seed) {
+        validateVertexCount(V);
+
+        return new GraphGenerator(V, (long) V * (V - 1) / 2, seed, (random, sink) -> {
+            for (int v = 0; v < V; v++) {
+                for (int w = v + 1; w < V; w++) sink.add(v, w, random.nextDouble());
+            }
+        });
+    }
+
+    /**
+     * <code>generate()</code> - Streams the edges of the graph to a sink.
+     * @param sink the EdgeSink receiving the edges
+     * @throws IOException if the sink throws
+     */
+    public void generate(EdgeSink sink) throws IOException {
+        model.generate(new SplittableRandom(seed), sink);
+    }
+
+    /**
+     * <code>writeText()</code> - Writes the graph in the <code>V E / v w weight</code> text format. E may exceed
+     * <code>Integer.MAX_VALUE</code>; such files are read with <code>TextGraphParser.Reader</code>, e.g. by
+     * <code>OffHeapCsrGraph</code> or <code>ExternalKruskalMST</code>, but can't be loaded into an <code>EdgeList</code>.
+     * @param file path of the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void writeText(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            StringBuilder line = new StringBuilder(64);
+
+            writer.write(vertexCount + "\n" + edgeCount + "\n");
+
+            generate((v, w, weight) -> {
+                line.setLength(0);
+                line.append(v).append(' ').append(w).append(' ').append(weight).append('\n');
+                writer.append(line);
+            });
+        }
+    }
+
+    /**
+     * <code>writeBinary()</code> - Writes the graph in the <code>BinaryGraphFile</code> format.
+     * @param file path of the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void writeBinary(Path file) throws IOException {
+        try (BinaryGraphFile.Writer writer = new BinaryGraphFile.Writer(file, vertexCount, edgeCount, 0L, 0L)) {
+            generate(writer::add);
+        }
+    }
+
+    /**
+     * <code>edgeList()</code> - Generates the graph into an <code>EdgeList</code>, for graphs that fit in memory.
+     * @return EdgeList of the graph
+     */
+    public EdgeList edgeList() {
+        if (edgeCount > Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many edges for an EdgeList");
+
+        EdgeList edgeList = new EdgeList(vertexCount, (int) edgeCount);
+
+        try {
+            generate(edgeList::add);
+        } catch (IOException e) {
+            throw new AssertionError(e);    // EdgeList.add() doesn't throw
+        }
+
+        return edgeList;
+    }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices of the graph.
+     * @return integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>edgeCount()</code> - The number of edges of the graph.
+     * @return long of the number of edges
+     */
+    public long edgeCount() { return edgeCount; }
+
+    /**
+     * <code>main()</code> - Writes a generated graph. The output is binary if the file name ends in <code>.bin</code>,
+     * text otherwise.
+     * <pre>
+     *   java org.kotopka.GraphGenerator random    V E          seed file
+     *   java org.kotopka.GraphGenerator geometric V avgDegree  seed file
+     *   java org.kotopka.GraphGenerator grid      rows cols    seed file
+     *   java org.kotopka.GraphGenerator grid3d    layers rows cols seed file
+     *   java org.kotopka.GraphGenerator rmat      scale E      seed file
+     *   java org.kotopka.GraphGenerator ba        V m          seed file
+     *   java org.kotopka.GraphGenerator complete  V            seed file
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: GraphGenerator model parameters... seed file, where model and parameters are one of");
+            System.out.println("  random V E | geometric V avgDegree | grid rows cols | grid3d layers rows cols");
+            System.out.println("  rmat scale E | ba V m | complete V");
+            System.out.println("The file is written in the binary format if its name ends in .bin, as text otherwise.");
+            System.exit(-1);
+        }
+
+        long seed = Long.parseLong(args[args.length - 2]);
+        Path file = Path.of(args[args.length - 1]);
+        GraphGenerator generator;
+
+        switch (args[0]) {
+            case "random":    generator = random(Integer.parseInt(args[1]), Long.parseLong(args[2]), seed); break;
+            case "geometric": generator = geometric(Integer.parseInt(args[1]), Double.parseDouble(args[2]), seed); break;
+            case "grid":      generator = grid(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed); break;
+            case "grid3d":    generator = grid(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), seed); break;
+            case "rmat":      generator = rmat(Integer.parseInt(args[1]), Long.parseLong(args[2]), seed); break;
+            case "ba":        generator = barabasiAlbert(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed); break;
+            case "complete":  generator = complete(Integer.parseInt(args[1]), seed); break;
+            default:
+                System.out.println("Error: unknown model " + args[0] + ", run without arguments for the usage");
+                System.exit(-1);
+                return;
+        }
+
+        long start = System.nanoTime();
+
+        if (file.toString().endsWith(".bin")) generator.writeBinary(file);
+        else                                  generator.writeText(file);
+
+        System.out.printf("Wrote %s: V = %d, E = %d in %.1f s%n", file, generator.vertexCount(), generator.edgeCount(), (System.nanoTime() - start) / 1e9);
+    }
+
+}
@@ -1,29 +1,112 @@
 package org.kotopka;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
+/**
+ * <code>GraphLoader</code> - Loads graphs stored in the <code>V E / v w weight</code> text format.
+ * <br><br>
+ * The first load of a text file parses it with <code>TextGraphParser</code> and saves the edges to a binary sidecar
+ * file (<code>name.txt.bin</code>, see <code>BinaryGraphFile</code>) next to it. Later loads read the sidecar instead of
+ * parsing the text again, for as long as the text file's last-modified time and size are unchanged. A sidecar that
+ * can't be read back is deleted and rebuilt from the text. If the sidecar can't be written, e.g. in a read-only
+ * directory, the text file is simply parsed on every load.
+ */
 public class GraphLoader {
 
-    private static EdgeWeightedGraph ewg = null;
-
+    /**
+     * <code>load()</code> - Loads a graph as an <code>EdgeWeightedGraph</code>.
+     * @param filename path of the text file
+     * @return EdgeWeightedGraph, or <code>null</code> if the file could not be loaded
+     */
     public static EdgeWeightedGraph load(String filename) {
-        try (Scanner reader = new Scanner(new File(filename))) {
-            int vertexCount = reader.nextInt();
-            reader.nextInt(); // burn this int, not needed...
+        EdgeList edgeList = loadEdgeList(filename);
+
+        if (edgeList == null) return null;
+
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(edgeList.vertexCount());
+
+        for (int i = 0; i < edgeList.size(); i++) {
+            ewg.addEdge(edgeList.edge(i));
+        }
+
+        return ewg;
+    }
+
+    /**
+     * <code>loadCsr()</code> - Loads a graph as a <code>CsrEdgeWeightedGraph</code>.
+     * @param filename path of the text file
+     * @return CsrEdgeWeightedGraph, or <code>null</code> if the file could not be loaded
+     */
+    public static CsrEdgeWeightedGraph loadCsr(String filename) {
+        EdgeList edgeList = loadEdgeList(filename);
+
+        return edgeList == null ? null : new CsrEdgeWeightedGraph(edgeList);
+    }
 
-            ewg = new EdgeWeightedGraph(vertexCount);
+    /**
+     * <code>loadEdgeList()</code> - Loads a graph as an <code>EdgeList</code>, going through the binary sidecar.
+     * @param filename path of the text file
+     * @return EdgeList, or <code>null</code> if the file could not be loaded
+     */
+    public static EdgeList loadEdgeList(String filename) {
+        Path text = Path.of(filename);
+        Path binary = sidecar(text);
 
-            while (reader.hasNext()) {
-                ewg.addEdge(new Edge(reader.nextInt(), reader.nextInt(), reader.nextDouble()));
+        try {
+            if (BinaryGraphFile.isCacheOf(binary, text)) {
+                try {
+                    return BinaryGraphFile.read(binary);
+                } catch (IOException | IllegalArgumentException e) {
+                    // a damaged sidecar, e.g. with vertices out of range: discard it and parse the text again
+                    Files.deleteIfExists(binary);
+                }
             }
 
-        } catch (FileNotFoundException e) {
+            long modified = Files.getLastModifiedTime(text).toMillis();
+            long size = Files.size(text);
+            EdgeList edgeList = TextGraphParser.parse(text);
+
+            cache(edgeList, binary, modified, size);
+
+            return edgeList;
+        } catch (IOException e) {
             e.printStackTrace();
         }
 
-        return ewg;
+        return null;
+    }
+
+    /**
+     * <code>cache()</code> - Private method, writes the sidecar of a text file that was just parsed. The edges go to a
+     * temporary file that is then moved over the sidecar, so an interrupted write never leaves a sidecar that looks valid.
+     * Failing to write the sidecar, e.g. in a read-only directory, is not an error.
+     */
+    private static void cache(EdgeList edgeList, Path binary, long modified, long size) {
+        Path temp = null;
+
+        try {
+            temp = Files.createTempFile(binary.toAbsolutePath().getParent(), binary.getFileName().toString(), ".tmp");
+            BinaryGraphFile.write(temp, edgeList, modified, size);
+            Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                if (temp != null) Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // nothing more to clean up
+            }
+        }
+    }
+
+    /**
+     * <code>sidecar()</code> - The path of the binary sidecar file of a text graph file.
+     * @param text path of the text file
+     * @return Path of the sidecar, the text file's name with <code>.bin</code> appended
+     */
+    public static Path sidecar(Path text) {
+        return text.resolveSibling(text.getFileName() + ".bin");
     }
 
 }
@@ -7,42 +7,145 @@ package org.kotopka;
  */
 public class KruskalMST implements MST {
 
+    /**
+     * <code>Sort</code> - How the edges are put in weight order before the union-find pass.
+     */
+    public enum Sort {
+        /** Sequential quicksort of the edge indices, see <code>EdgeList.sortedIndex()</code> */
+        SEQUENTIAL,
+        /**
+         * <code>Arrays.parallelSort()</code> over packed weight/index keys, see <code>EdgeList.parallelSortedIndex()</code>.
+         * Ties may be ordered differently than by <code>SEQUENTIAL</code>, giving another MST of the same weight
+         */
+        PARALLEL,
+        /** Counting or LSD radix sort of integer weights, see <code>EdgeList.radixSortedIndex()</code>. Needs integer weights */
+        RADIX
+    }
+
     private final Queue<Edge> mst;
     private double totalWeight;
     private int edgeCount;
     private final int vertexCount;
+    private final double quantum;           // step of the integer keys, 0.0 when sorting by double weight
+    private long quantizedTotalWeight;
+    private boolean quantizedOverflow;      // the exact total left the range of a long
 
     /**
      * <code>KruskalMST</code> - Constructor. Takes an object of type <code>EdgeWeightedGraph</code> and creates an MST
-     * using the Kruskal algorithm. This constructor is responsible for all of the object's internal logic.
+     * using the Kruskal algorithm. The edges are copied into an <code>EdgeList</code> first.
      * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
      */
     public KruskalMST(EdgeWeightedGraph edgeWeightedGraph) {
+        this(new EdgeList(edgeWeightedGraph));
+    }
+
+    /**
+     * <code>KruskalMST</code> - Constructor. Creates an MST from a <code>CsrEdgeWeightedGraph</code> using the Kruskal algorithm.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     */
+    public KruskalMST(CsrEdgeWeightedGraph csrGraph) {
+        this(new EdgeList(csrGraph));
+    }
+
+    /**
+     * <code>KruskalMST</code> - Constructor. Creates an MST from an <code>EdgeList</code> using the Kruskal algorithm,
+     * sorting the edges sequentially.
+     * @param edgeList EdgeList object from which to build the MST
+     */
+    public KruskalMST(EdgeList edgeList) {
+        this(edgeList, Sort.SEQUENTIAL);
+    }
+
+    /**
+     * <code>KruskalMST</code> - Constructor. Creates an MST from an <code>EdgeList</code> using the Kruskal algorithm,
+     * with a <code>RemUnionFind</code> as the cycle detector.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param sort how to sort the edges
+     */
+    public KruskalMST(EdgeList edgeList, Sort sort) {
+        this(edgeList, sort, new RemUnionFind(edgeList.vertexCount()));
+    }
+
+    /**
+     * <code>KruskalMST</code> - Constructor. Creates an MST from an <code>EdgeList</code> using the Kruskal algorithm,
+     * sorting the edges as chosen by <code>sort</code>. With <code>Sort.RADIX</code> the weights must be whole numbers,
+     * and the total weight is also summed exactly, see <code>quantizedTotalWeight()</code>.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param sort how to sort the edges
+     * @param cycleDetector DisjointSet with one site per vertex and no unions yet
+     * @throws IllegalArgumentException if the union-find does not have one site per vertex, or <code>Sort.RADIX</code>
+     * is given a weight that is not a whole number or is larger than 2<sup>53</sup> in magnitude
+     */
+    public KruskalMST(EdgeList edgeList, Sort sort, DisjointSet cycleDetector) {
+        if (cycleDetector.count() != edgeList.vertexCount()) throw new IllegalArgumentException("Union-find must have one component per vertex");
+        if (sort == Sort.RADIX && !edgeList.hasIntegerWeights()) throw new IllegalArgumentException("Radix sort needs integer weights of at most 2^53 in magnitude");
+
         this.mst = new Queue<>();
-        this.vertexCount = edgeWeightedGraph.vertexCount();
-        MinPQ<Edge> edgeMinPQ = new MinPQ<>(edgeWeightedGraph.edgeCount());
+        this.vertexCount = edgeList.vertexCount();
+        this.quantum = sort == Sort.RADIX ? 1.0 : 0.0;
 
-        for (Edge e : edgeWeightedGraph.edges()) {
-            edgeMinPQ.insert(e);
+        if (sort == Sort.RADIX) {
+            long[] keys = edgeList.quantizedWeights(quantum);
+            connect(edgeList, edgeList.radixSortedIndex(keys), keys, cycleDetector);
+        } else {
+            connect(edgeList, sort == Sort.PARALLEL ? edgeList.parallelSortedIndex() : edgeList.sortedIndex(), null, cycleDetector);
         }
+    }
+
+    /**
+     * <code>KruskalMST</code> - Constructor. Creates an MST from an <code>EdgeList</code> of fixed-point weights using
+     * the Kruskal algorithm. Each weight is rounded to the nearest multiple of <code>quantum</code>, the edges are ordered
+     * by those integer multiples with <code>EdgeList.radixSortedIndex()</code>, and the total is summed exactly as a
+     * <code>long</code> number of quanta.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param quantum the positive step between weights, e.g. 0.01 for costs in cents
+     * @throws IllegalArgumentException if the quantum is not positive and finite, or a weight is too large for it
+     */
+    public KruskalMST(EdgeList edgeList, double quantum) {
+        long[] keys = edgeList.quantizedWeights(quantum);
+
+        this.mst = new Queue<>();
+        this.vertexCount = edgeList.vertexCount();
+        this.quantum = quantum;
 
-        WeightedUnionFind cycleDetector = new WeightedUnionFind(vertexCount);
+        connect(edgeList, edgeList.radixSortedIndex(keys), keys, new RemUnionFind(vertexCount));
+    }
 
+    /**
+     * <code>connect()</code> - Private method, the union-find pass over the edges in weight order. No <code>Edge</code>
+     * objects are created except for the edges of the MST. The pass is sequential in every mode.
+     * @param order the edge indices in ascending weight order
+     * @param keys the integer weight of each edge in quanta, or <code>null</code> to sum the double weights
+     */
+    private void connect(EdgeList edgeList, int[] order, long[] keys, DisjointSet cycleDetector) {
         // The MST will have vertexCount - 1 edges. Fencepost counting,
         // where each vertex is the "fencepost" and each edge is the "panel" in-between them
-        while (!edgeMinPQ.isEmpty() && mst.size() < vertexCount - 1) {
-            Edge currentEdge = edgeMinPQ.delMin();
-            int v = currentEdge.either();
-            int w = currentEdge.other(v);
+        for (int i = 0; i < order.length && mst.size() < vertexCount - 1; i++) {
+            int e = order[i];
 
             // Don't add this edge if it creates a cycle in the MST
-            if (!cycleDetector.connected(v, w)) {
-                mst.enqueue(currentEdge);
-                cycleDetector.union(v, w);
-                totalWeight += currentEdge.weight();
+            if (cycleDetector.union(edgeList.from(e), edgeList.to(e))) {
+                mst.enqueue(edgeList.edge(e));
                 edgeCount++;
+
+                if (keys == null) {
+                    totalWeight += edgeList.weight(e);
+                } else {
+                    // keep the double sum as well, it is the total if the exact one overflows
+                    totalWeight += keys[e] * quantum;
+
+                    if (!quantizedOverflow) {
+                        try {
+                            quantizedTotalWeight = Math.addExact(quantizedTotalWeight, keys[e]);
+                        } catch (ArithmeticException overflow) {
+                            quantizedOverflow = true;
+                        }
+                    }
+                }
             }
         }
+
+        if (keys != null && !quantizedOverflow) totalWeight = quantizedTotalWeight * quantum;
     }
 
     @Override
@@ -59,6 +162,30 @@ public class KruskalMST implements MST {
     @Override
     public int edgeCount() { return edgeCount; }
 
+    /**
+     * <code>quantum()</code> - The step of the integer weights the edges were sorted by.
+     * @return double of the quantum, 1.0 for <code>Sort.RADIX</code>, 0.0 if the edges were sorted by double weight
+     */
+    public double quantum() { return quantum; }
+
+    /**
+     * <code>quantizedTotalWeight()</code> - The exact total weight of the MST as a whole number of quanta, free of the
+     * rounding error of summing doubles. <code>totalWeight()</code> is this times <code>quantum()</code>.
+     * <br><br>
+     * The total must fit in a <code>long</code>, within <code>&plusmn;2<sup>63</sup></code> quanta. Each key is at most
+     * 2<sup>53</sup>, so that always holds below 1024 vertices, and holds for any vertex count with keys under
+     * 2<sup>32</sup>. Past it the sum is not wrapped: <code>totalWeight()</code> falls back to the <code>double</code>
+     * sum and this method throws.
+     * @return long of the total weight in quanta
+     * @throws IllegalStateException if the edges were sorted by double weight, or the total overflowed a long
+     */
+    public long quantizedTotalWeight() {
+        if (quantum == 0.0) throw new IllegalStateException("MST was not computed on integer weights");
+        if (quantizedOverflow) throw new IllegalStateException("Total weight exceeds the range of a long in quanta");
+
+        return quantizedTotalWeight;
+    }
+
     // test client
     public static void main(String[] args) {
 
@@ -3,6 +3,10 @@ package org.kotopka;
 /**
  * <code>LazyPrimMST</code> - Implements a lazy version of Prim's Minimum-Spanning Tree algorithm.
  * <br><br>
+ * The <code>CsrEdgeWeightedGraph</code> version queues CSR slots in an <code>EdgeMinPQ</code> instead of
+ * <code>Edge</code> objects in a <code>MinPQ</code>, and purges the slots leading back into the tree whenever the queue
+ * would otherwise have to grow.
+ * <br><br>
  * Adapted from <a href="https://algs4.cs.princeton.edu/home/">Altorithms 4th ed.</a> by Robert Sedgewick and Kevin Wayne
  */
 public class LazyPrimMST implements MST {
@@ -10,7 +14,8 @@ public class LazyPrimMST implements MST {
     private int vertexCount;
     private final boolean[] marked;
     private final Queue<Edge> mst;
-    private final MinPQ<Edge> edgeMinPQ;
+    private final MinPQ<Edge> edgeMinPQ;     // used for EdgeWeightedGraph
+    private final EdgeMinPQ slotMinPQ;      // used for CsrEdgeWeightedGraph, holds slots
     private int edgeCount;
     private double totalWeight;
 
@@ -19,6 +24,7 @@ public class LazyPrimMST implements MST {
         this.marked = new boolean[vertexCount];
         this.mst = new Queue<>();
         this.edgeMinPQ = new MinPQ<>();
+        this.slotMinPQ = null;
 
         for (int i = 0; i < vertexCount; i++) {
             if (marked[i]) continue;
@@ -43,6 +49,59 @@ public class LazyPrimMST implements MST {
         }
     }
 
+    /**
+     * <code>LazyPrimMST</code> - Constructor. Computes the minimum-spanning forest of a <code>CsrEdgeWeightedGraph</code>,
+     * scanning each adjacency list as a contiguous range of primitive slots.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     */
+    public LazyPrimMST(CsrEdgeWeightedGraph csrGraph) {
+        this.vertexCount = csrGraph.vertexCount();
+        this.marked = new boolean[vertexCount];
+        this.mst = new Queue<>();
+        this.edgeMinPQ = null;
+        this.slotMinPQ = new EdgeMinPQ(Math.max(16, vertexCount));
+
+        for (int i = 0; i < vertexCount; i++) {
+            if (marked[i]) continue;
+
+            visit(csrGraph, i);
+
+            while (!slotMinPQ.isEmpty()) {
+                int slot = slotMinPQ.delMin();
+                int w = csrGraph.target(slot);
+
+                // slots are only queued from the tree side, so their source is always marked
+                if (marked[w]) continue;
+
+                visit(csrGraph, w);
+
+                double weight = csrGraph.weight(slot);
+                mst.enqueue(new Edge(csrGraph.source(slot), w, weight));
+                edgeCount++;
+                totalWeight += weight;
+            }
+        }
+    }
+
+    private void visit(CsrEdgeWeightedGraph csrGraph, int vertex) {
+        marked[vertex] = true;
+
+        int needed = slotMinPQ.size() + csrGraph.degree(vertex);
+
+        if (needed > slotMinPQ.capacity()) {
+            // drop the slots whose far end has joined the tree since they were queued before growing the heap
+            slotMinPQ.purge(slot -> marked[csrGraph.target(slot)]);
+
+            // still mostly live: grow now, so that the next purge is at least as far away as this one was
+            needed = slotMinPQ.size() + csrGraph.degree(vertex);
+            if (2 * needed > slotMinPQ.capacity()) slotMinPQ.ensureCapacity(2 * needed);
+        }
+
+        for (int slot = csrGraph.adjStart(vertex); slot < csrGraph.adjEnd(vertex); slot++) {
+            if (!marked[csrGraph.target(slot)]) slotMinPQ.insert(csrGraph.weight(slot), slot);
+        }
+    }
+
     private void visit(EdgeWeightedGraph edgeWeightedGraph, int vertex) {
         marked[vertex] = true;
 
@@ -0,0 +1,320 @@
+package org.kotopka;
+
+import java.util.Arrays;
+
+/**
+ * <code>LinkCutTree</code> - A forest of rooted trees over nodes <code>0..n - 1</code> that supports linking two trees,
+ * cutting an edge, connectivity queries and path-maximum queries, each in amortized O(log n) time.
+ * <br><br>
+ * Every node carries a <code>double</code> value. <code>pathMax()</code> returns the node with the largest value on the
+ * tree path between two nodes, and of nodes with equal values the one with the largest tie-breaker, which is the node's
+ * own index unless it was set with <code>setValue()</code>. To query the heaviest edge on a path, represent each edge by a node of its own linked
+ * between its endpoints, and give the vertex nodes a value of negative infinity.
+ * <br><br>
+ * The forest is decomposed into preferred paths, each kept as a splay tree ordered by depth. A splay tree's root
+ * points to the parent of the path's top node (the "path-parent"), and every splay node caches the node with the
+ * largest value in its subtree. <code>evert()</code> reverses a path lazily with a flag. All of this lives in primitive
+ * arrays indexed by node, with -1 for "none".
+ * <br><br>
+ * Sleator, Tarjan, <em>A Data Structure for Dynamic Trees</em>, Journal of Computer and System Sciences 1983.
+ */
+public class LinkCutTree {
+
+    private static final int NONE = -1;
+
+    private final int[] left;           // left child in the splay tree, shallower on the path
+    private final int[] right;          // right child in the splay tree, deeper on the path
+    private final int[] parent;         // splay parent, or the path-parent for the root of a splay tree
+    private final boolean[] reversed;   // the children of this subtree still have to be swapped
+    private final double[] value;
+    private final int[] tieBreak;       // orders nodes of equal value for pathMax()
+    private final int[] max;            // max[x] is the node with the largest value in x's splay subtree
+    private final int[] stack;          // scratch for splay()
+
+    /**
+     * <code>LinkCutTree()</code> - Constructor. Creates n single-node trees, each with a value of zero.
+     * @param n integer of the number of nodes
+     */
+    public LinkCutTree(int n) {
+        if (n <= 0) throw new IllegalArgumentException("Invalid number of nodes");
+
+        this.left = new int[n];
+        this.right = new int[n];
+        this.parent = new int[n];
+        this.reversed = new boolean[n];
+        this.value = new double[n];
+        this.tieBreak = new int[n];
+        this.max = new int[n];
+        this.stack = new int[n];
+
+        Arrays.fill(left, NONE);
+        Arrays.fill(right, NONE);
+        Arrays.fill(parent, NONE);
+
+        for (int i = 0; i < n; i++) {
+            max[i] = i;
+            tieBreak[i] = i;
+        }
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    /**
+     * <code>push()</code> - Private method, applies a pending reversal of x's subtree to x's children.
+     */
+    private void push(int x) {
+        if (!reversed[x]) return;
+
+        int temp = left[x];
+        left[x] = right[x];
+        right[x] = temp;
+
+        if (left[x] != NONE) reversed[left[x]] ^= true;
+        if (right[x] != NONE) reversed[right[x]] ^= true;
+
+        reversed[x] = false;
+    }
+
+    /**
+     * <code>update()</code> - Private method, recomputes the cached maximum of x from its children.
+     */
+    private void update(int x) {
+        int best = x;
+
+        if (left[x] != NONE && isLarger(max[left[x]], best)) best = max[left[x]];
+        if (right[x] != NONE && isLarger(max[right[x]], best)) best = max[right[x]];
+
+        max[x] = best;
+    }
+
+    private boolean isLarger(int x, int y) {
+        return value[x] > value[y] || (value[x] == value[y] && tieBreak[x] > tieBreak[y]);
+    }
+
+    /**
+     * <code>rotate()</code> - Private method, rotates x above its splay parent.
+     */
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x;
+            else              right[g] = x;
+        }
+
+        parent[x] = g;
+
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) parent[left[x]] = p;
+            left[x] = p;
+        }
+
+        parent[p] = x;
+
+        update(p);
+        update(x);
+    }
+
+    /**
+     * <code>splay()</code> - Private method, makes x the root of its splay tree.
+     */
+    private void splay(int x) {
+        pushFromRoot(x);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                rotate((left[g] == p) == (left[p] == x) ? p : x);    // zig-zig rotates the parent first, zig-zag x
+            }
+
+            rotate(x);
+        }
+    }
+
+    /**
+     * <code>pushFromRoot()</code> - Private method, applies pending reversals on the way from the splay root down to x,
+     * top first, without recursion.
+     */
+    private void pushFromRoot(int x) {
+        int top = 0;
+        stack[top++] = x;
+
+        for (int y = x; !isSplayRoot(y); y = parent[y]) stack[top++] = parent[y];
+
+        while (top > 0) push(stack[--top]);
+    }
+
+    /**
+     * <code>access()</code> - Private method, makes the path from the root of x's tree down to x preferred, with x as
+     * the root of its splay tree and no deeper nodes on it.
+     */
+    private void access(int x) {
+        int last = NONE;
+
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+
+        splay(x);
+    }
+
+    private void validateNode(int x) {
+        if (x < 0 || x >= parent.length) throw new IllegalArgumentException("Node out of range");
+    }
+
+    /**
+     * <code>evert()</code> - Makes x the root of its tree.
+     * @param x integer of the node
+     */
+    public void evert(int x) {
+        validateNode(x);
+
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    /**
+     * <code>findRoot()</code> - The root of the tree containing x.
+     * @param x integer of the node
+     * @return integer of the root node
+     */
+    public int findRoot(int x) {
+        validateNode(x);
+
+        access(x);
+
+        int root = x;
+        push(root);
+
+        while (left[root] != NONE) {
+            root = left[root];
+            push(root);
+        }
+
+        splay(root);
+
+        return root;
+    }
+
+    /**
+     * <code>connected()</code> - Whether x and y are in the same tree.
+     * @param x integer of one node
+     * @param y integer of the other node
+     * @return boolean true if x and y are in the same tree, false otherwise
+     */
+    public boolean connected(int x, int y) {
+        validateNode(x);
+        validateNode(y);
+
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * <code>link()</code> - Joins the trees of x and y with an edge between x and y.
+     * @param x integer of one node
+     * @param y integer of the other node
+     * @throws IllegalArgumentException if x and y are already in the same tree
+     */
+    public void link(int x, int y) {
+        if (connected(x, y)) throw new IllegalArgumentException("Nodes are already connected");
+
+        evert(x);
+        parent[x] = y;
+    }
+
+    /**
+     * <code>cut()</code> - Removes the edge between x and y.
+     * @param x integer of one node
+     * @param y integer of the other node
+     * @throws IllegalArgumentException if there is no edge between x and y
+     */
+    public void cut(int x, int y) {
+        validateNode(y);
+
+        evert(x);
+        access(y);
+
+        // with x as the root, the edge exists exactly when x is y's only shallower node on the path
+        push(y);
+        int l = left[y];
+        if (l != NONE) push(l);
+
+        if (l != x || right[x] != NONE) throw new IllegalArgumentException("Nodes are not adjacent");
+
+        left[y] = NONE;
+        parent[x] = NONE;
+        update(y);
+    }
+
+    /**
+     * <code>pathMax()</code> - The node with the largest value on the tree path between x and y, both included.
+     * @param x integer of one node
+     * @param y integer of the other node
+     * @return integer of the node with the largest value
+     * @throws IllegalArgumentException if x and y are not in the same tree
+     */
+    public int pathMax(int x, int y) {
+        if (!connected(x, y)) throw new IllegalArgumentException("Nodes are not connected");
+
+        evert(x);
+        access(y);
+
+        return max[y];
+    }
+
+    /**
+     * <code>value()</code> - The value of node x.
+     * @param x integer of the node
+     * @return double of the value
+     */
+    public double value(int x) {
+        validateNode(x);
+        return value[x];
+    }
+
+    /**
+     * <code>setValue()</code> - Sets the value of node x.
+     * @param x integer of the node
+     * @param newValue double of the new value
+     */
+    public void setValue(int x, double newValue) {
+        setValue(x, newValue, tieBreak[x]);
+    }
+
+    /**
+     * <code>setValue()</code> - Sets the value of node x, and the tie-breaker that orders it among nodes of equal value.
+     * @param x integer of the node
+     * @param newValue double of the new value
+     * @param newTieBreak integer of the new tie-breaker, the larger one wins
+     */
+    public void setValue(int x, double newValue, int newTieBreak) {
+        validateNode(x);
+
+        // as the root of its splay tree, x's cached maximum is the only one that depends on its value
+        access(x);
+        value[x] = newValue;
+        tieBreak[x] = newTieBreak;
+        update(x);
+    }
+
+    /**
+     * <code>size()</code> - The number of nodes.
+     * @return integer of the number of nodes
+     */
+    public int size() { return parent.length; }
+
+}
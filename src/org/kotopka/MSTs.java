@@ -0,0 +1,469 @@
+package org.kotopka;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <code>MSTs</code> - Computes a minimum-spanning forest with whichever implementation suits the graph, so callers
+ * don't have to choose between <code>KruskalMST</code>, <code>FilterKruskalMST</code>, <code>EagerPrimMST</code> and the
+ * rest by hand.
+ * <br><br>
+ * <code>compute()</code> first profiles the graph in a single pass over its weights (see <code>Profile</code>) and then
+ * picks an engine:
+ * <ul>
+ *     <li>when memory matters more than time (<code>Options.lowMemory()</code>), eager Prim over the CSR arrays, which
+ *     allocates O(V) instead of O(E);</li>
+ *     <li>with more than one core and at least <code>PARALLEL_EDGES</code> edges, Filter-Kruskal with parallel
+ *     partition and filter steps;</li>
+ *     <li>with integer or binary fixed-point weights (multiples of 1/2, 1/4, ... as in <code>graph08.txt</code>),
+ *     Kruskal with a radix sort when the graph is sparse or the weights span at most <code>RADIX_RANGE</code> steps;</li>
+ *     <li>eager Prim as well when the graph is already a <code>CsrEdgeWeightedGraph</code> with an average degree of at
+ *     least <code>DENSE_DEGREE</code>, as it saves copying the edges into an <code>EdgeList</code>;</li>
+ *     <li>otherwise Kruskal for sparse graphs, average degree below <code>DENSE_DEGREE</code>, and Filter-Kruskal for
+ *     denser ones.</li>
+ * </ul>
+ * The thresholds come from <code>DoublingRatio</code> on random graphs with V = 2<sup>16</sup> to 2<sup>19</sup>: below
+ * an average degree of 8, plain Kruskal was up to 1.5x faster than Filter-Kruskal; from 8 up, Filter-Kruskal was
+ * fastest, 2.5x ahead of Kruskal at degree 32 and 1.3x ahead of eager Prim at degree 256. Lazy Prim and Boruvka were
+ * never the fastest sequentially, so they only run when asked for with <code>Options.engine()</code>. On integer
+ * weights, the radix sort made Kruskal 2x to 4x faster than with a comparison sort, ahead of Filter-Kruskal up to
+ * degree 16 for any range and up to degree 64 for ranges that need two 11-bit passes; it also sums the weights exactly.
+ * <br><br>
+ * The <code>Result</code> is the MST itself, together with the engine that computed it, the profile and the reason for
+ * the choice.
+ */
+public final class MSTs {
+
+    /** Average degree (2E / V) from which a graph counts as dense */
+    static final int DENSE_DEGREE = 8;
+
+    /** Number of edges from which the parallel engine is used when there is more than one core */
+    static final int PARALLEL_EDGES = 1 << 20;
+
+    /** Largest weight range, in quanta, sorted in two radix passes; up to it radix Kruskal also wins on dense graphs */
+    static final long RADIX_RANGE = 1L << 22;
+
+    /** Finest fixed-point step the profile looks for, 2<sup>-16</sup> */
+    static final int MAX_FRACTION_BITS = 16;
+
+    private MSTs() { }
+
+    /**
+     * <code>Engine</code> - The MST implementations the facade can dispatch to.
+     */
+    public enum Engine {
+        /** <code>KruskalMST</code> over an <code>EdgeList</code> */
+        KRUSKAL,
+        /** <code>KruskalMST</code> with a radix sort, for integer or fixed-point weights only */
+        RADIX_KRUSKAL,
+        /** <code>FilterKruskalMST</code>, sequential */
+        FILTER_KRUSKAL,
+        /** <code>FilterKruskalMST</code> with parallel partition and filter steps */
+        PARALLEL_FILTER_KRUSKAL,
+        /** <code>EagerPrimMST</code> over a <code>CsrEdgeWeightedGraph</code> */
+        EAGER_PRIM,
+        /** <code>LazyPrimMST</code> over a <code>CsrEdgeWeightedGraph</code> */
+        LAZY_PRIM,
+        /** <code>BoruvkaMST</code>, parallel */
+        BORUVKA
+    }
+
+    /**
+     * <code>Options</code> - Settings for <code>compute()</code>. The setters return this object so they can be chained.
+     */
+    public static class Options {
+
+        private Engine engine;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private ForkJoinPool pool;
+        private boolean lowMemory;
+
+        /**
+         * <code>defaults()</code> - Automatic engine choice, using every available core.
+         * @return new Options object with the default settings
+         */
+        public static Options defaults() {
+            return new Options();
+        }
+
+        /**
+         * <code>engine()</code> - Forces an engine instead of choosing one.
+         * @param engine the Engine to use, or <code>null</code> to choose automatically
+         * @return this Options object
+         */
+        public Options engine(Engine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        /**
+         * <code>parallelism()</code> - The number of cores the parallel engines may use; 1 keeps everything sequential.
+         * @param parallelism integer of the number of cores
+         * @return this Options object
+         */
+        public Options parallelism(int parallelism) {
+            if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * <code>pool()</code> - The pool for the parallel engines. Without one, a pool of <code>parallelism()</code>
+         * threads is created for the call and shut down afterwards.
+         * @param pool the ForkJoinPool to run on, or <code>null</code>
+         * @return this Options object
+         */
+        public Options pool(ForkJoinPool pool) {
+            this.pool = pool;
+            if (pool != null) this.parallelism = pool.getParallelism();
+            return this;
+        }
+
+        /**
+         * <code>lowMemory()</code> - Prefers the engine with the smallest working memory over the fastest one.
+         * @param lowMemory boolean true to minimize memory
+         * @return this Options object
+         */
+        public Options lowMemory(boolean lowMemory) {
+            this.lowMemory = lowMemory;
+            return this;
+        }
+    }
+
+    /**
+     * <code>Profile</code> - What <code>compute()</code> learned about the graph before choosing an engine.
+     */
+    public static class Profile {
+
+        private final int vertexCount;
+        private final int edgeCount;
+        private final double weightQuantum;
+        private final double weightRange;
+        private final int cores;
+
+        Profile(int vertexCount, int edgeCount, double weightQuantum, double weightRange, int cores) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.weightQuantum = weightQuantum;
+            this.weightRange = weightRange;
+            this.cores = cores;
+        }
+
+        /**
+         * <code>vertexCount()</code> - The number of vertices.
+         * @return integer of the number of vertices
+         */
+        public int vertexCount() { return vertexCount; }
+
+        /**
+         * <code>edgeCount()</code> - The number of edges.
+         * @return integer of the number of edges
+         */
+        public int edgeCount() { return edgeCount; }
+
+        /**
+         * <code>averageDegree()</code> - The average degree, 2E / V.
+         * @return double of the average degree
+         */
+        public double averageDegree() { return 2.0 * edgeCount / vertexCount; }
+
+        /**
+         * <code>integerWeights()</code> - Whether every weight is a whole number.
+         * @return boolean true if every weight is a whole number, false otherwise
+         */
+        public boolean integerWeights() { return weightQuantum == 1.0; }
+
+        /**
+         * <code>weightQuantum()</code> - The step every weight is a whole multiple of: 1.0 for integer weights, or a
+         * power of two down to 2<sup>-16</sup> for binary fixed-point weights such as 0.5 steps.
+         * @return double of the step, 0.0 if the weights have no such step
+         */
+        public double weightQuantum() { return weightQuantum; }
+
+        /**
+         * <code>weightRange()</code> - The difference between the largest and the smallest weight.
+         * @return double of the weight range, 0.0 without edges
+         */
+        public double weightRange() { return weightRange; }
+
+        /**
+         * <code>cores()</code> - The number of cores the engines were allowed to use.
+         * @return integer of the number of cores
+         */
+        public int cores() { return cores; }
+
+        @Override
+        public String toString() {
+            String weights = weightQuantum == 1.0 ? "integer" : weightQuantum > 0.0 ? "fixed-point " + weightQuantum : "real";
+
+            return String.format(Locale.ROOT, "V = %d, E = %d, average degree %.1f, %s weights spanning %.6g, %d cores",
+                    vertexCount, edgeCount, averageDegree(), weights, weightRange, cores);
+        }
+    }
+
+    /**
+     * <code>Result</code> - The MST computed by <code>compute()</code>, with the engine that computed it.
+     */
+    public static class Result implements MST {
+
+        private final MST mst;
+        private final Engine engine;
+        private final Profile profile;
+        private final String reason;
+
+        Result(MST mst, Engine engine, Profile profile, String reason) {
+            this.mst = mst;
+            this.engine = engine;
+            this.profile = profile;
+            this.reason = reason;
+        }
+
+        /**
+         * <code>engine()</code> - The engine that computed the MST.
+         * @return Engine that was used
+         */
+        public Engine engine() { return engine; }
+
+        /**
+         * <code>profile()</code> - The profile the engine was chosen from.
+         * @return Profile of the graph
+         */
+        public Profile profile() { return profile; }
+
+        /**
+         * <code>reason()</code> - Why this engine was chosen, in a few words.
+         * @return String with the reason
+         */
+        public String reason() { return reason; }
+
+        /**
+         * <code>componentCount()</code> - The number of connected components of the graph, one per tree of the forest.
+         * @return integer of the number of components
+         */
+        public int componentCount() { return mst.vertexCount() - mst.edgeCount(); }
+
+        @Override
+        public Iterable<Edge> edges() { return mst.edges(); }
+
+        @Override
+        public double totalWeight() { return mst.totalWeight(); }
+
+        @Override
+        public int vertexCount() { return mst.vertexCount(); }
+
+        @Override
+        public int edgeCount() { return mst.edgeCount(); }
+
+        @Override
+        public String toString() {
+            return engine + " (" + reason + "); " + profile;
+        }
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of an <code>EdgeWeightedGraph</code> with the default options.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(EdgeWeightedGraph edgeWeightedGraph) {
+        return compute(edgeWeightedGraph, Options.defaults());
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of an <code>EdgeWeightedGraph</code>. Its edges are copied into an
+     * <code>EdgeList</code> first, as every engine works on primitive arrays.
+     * @param edgeWeightedGraph EdgeWeightedGraph object from which to build the MST
+     * @param options the Options for the computation
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(EdgeWeightedGraph edgeWeightedGraph, Options options) {
+        return compute(new EdgeList(edgeWeightedGraph), options);
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of an <code>EdgeList</code> with the default options.
+     * @param edgeList EdgeList object from which to build the MST
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(EdgeList edgeList) {
+        return compute(edgeList, Options.defaults());
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of an <code>EdgeList</code>.
+     * @param edgeList EdgeList object from which to build the MST
+     * @param options the Options for the computation
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(EdgeList edgeList, Options options) {
+        WeightScan scan = new WeightScan();
+
+        for (int i = 0; i < edgeList.size(); i++) scan.add(edgeList.weight(i));
+
+        Profile profile = new Profile(edgeList.vertexCount(), edgeList.size(), scan.quantum(), scan.range(), options.parallelism);
+
+        return run(edgeList, null, profile, options);
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of a <code>CsrEdgeWeightedGraph</code> with the default options.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(CsrEdgeWeightedGraph csrGraph) {
+        return compute(csrGraph, Options.defaults());
+    }
+
+    /**
+     * <code>compute()</code> - Computes the MST of a <code>CsrEdgeWeightedGraph</code>. The edges are only copied into an
+     * <code>EdgeList</code> if the chosen engine needs one.
+     * @param csrGraph CsrEdgeWeightedGraph object from which to build the MST
+     * @param options the Options for the computation
+     * @return Result holding the MST and the engine that computed it
+     */
+    public static Result compute(CsrEdgeWeightedGraph csrGraph, Options options) {
+        WeightScan scan = new WeightScan();
+        int slots = csrGraph.adjEnd(csrGraph.vertexCount() - 1);
+
+        for (int slot = 0; slot < slots; slot++) scan.add(csrGraph.weight(slot));
+
+        Profile profile = new Profile(csrGraph.vertexCount(), csrGraph.edgeCount(), scan.quantum(), scan.range(), options.parallelism);
+
+        return run(null, csrGraph, profile, options);
+    }
+
+    private static boolean isInteger(double weight) {
+        // beyond 2^53 every double is whole, but too coarse for the exact long keys of the radix sort
+        return weight == Math.rint(weight) && Math.abs(weight) <= 0x1p53;
+    }
+
+    /**
+     * <code>WeightScan</code> - Private accumulator for the weight part of a <code>Profile</code>, in one pass.
+     */
+    private static class WeightScan {
+
+        private boolean fixedPoint = true;
+        private int fractionBits;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double weight) {
+            // scaling by a power of two is exact, so the weight is a multiple of 2^-fractionBits iff the scaled one is whole
+            while (fixedPoint && !isInteger(Math.scalb(weight, fractionBits))) {
+                if (++fractionBits > MAX_FRACTION_BITS || Double.isInfinite(weight)) fixedPoint = false;
+            }
+
+            if (weight < min) min = weight;
+            if (weight > max) max = weight;
+        }
+
+        double quantum() {
+            return fixedPoint ? Math.scalb(1.0, -fractionBits) : 0.0;
+        }
+
+        double range() {
+            return max < min ? 0.0 : max - min;
+        }
+    }
+
+    /**
+     * <code>Choice</code> - An engine and the reason it was chosen.
+     */
+    static class Choice {
+
+        final Engine engine;
+        final String reason;
+
+        Choice(Engine engine, String reason) {
+            this.engine = engine;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * <code>choose()</code> - Picks the engine for a profile.
+     * @param profile the Profile of the graph
+     * @param options the Options of the call
+     * @param csrInput whether the graph was given as a <code>CsrEdgeWeightedGraph</code>
+     * @return Choice of engine
+     */
+    static Choice choose(Profile profile, Options options, boolean csrInput) {
+        if (options.engine != null) return new Choice(options.engine, "requested");
+
+        if (options.lowMemory) return new Choice(Engine.EAGER_PRIM, "low memory, O(V) working space");
+
+        if (profile.cores() > 1 && profile.edgeCount() >= PARALLEL_EDGES) {
+            return new Choice(Engine.PARALLEL_FILTER_KRUSKAL, "large graph, " + profile.cores() + " cores");
+        }
+
+        if (profile.weightQuantum() > 0.0) {
+            String weights = profile.integerWeights() ? "integer weights" : "fixed-point weights";
+
+            if (profile.averageDegree() < DENSE_DEGREE) return new Choice(Engine.RADIX_KRUSKAL, "sparse graph, " + weights);
+
+            if (profile.weightRange() / profile.weightQuantum() <= RADIX_RANGE) {
+                return new Choice(Engine.RADIX_KRUSKAL, weights + " in a range of two radix passes");
+            }
+        }
+
+        if (profile.averageDegree() >= DENSE_DEGREE) {
+            if (csrInput) return new Choice(Engine.EAGER_PRIM, "dense CSR graph, no edge list copy");
+
+            return new Choice(Engine.FILTER_KRUSKAL, "dense graph, heavy edges filtered before sorting");
+        }
+
+        return new Choice(Engine.KRUSKAL, "sparse graph");
+    }
+
+    private static Result run(EdgeList edgeList, CsrEdgeWeightedGraph csrGraph, Profile profile, Options options) {
+        if (profile.vertexCount() <= 0) throw new IllegalArgumentException("Graph must have positive number of vertices");
+
+        Choice choice = choose(profile, options, csrGraph != null);
+        Engine engine = choice.engine;
+
+        boolean needsCsr = engine == Engine.EAGER_PRIM || engine == Engine.LAZY_PRIM;
+
+        if (needsCsr && csrGraph == null) csrGraph = new CsrEdgeWeightedGraph(edgeList);
+        if (!needsCsr && edgeList == null) edgeList = new EdgeList(csrGraph);
+
+        MST mst;
+
+        switch (engine) {
+            case KRUSKAL:        mst = new KruskalMST(edgeList); break;
+            case RADIX_KRUSKAL:
+                // a requested radix sort of real weights fails in Sort.RADIX, as it needs whole numbers
+                mst = profile.weightQuantum() > 0.0 ? new KruskalMST(edgeList, profile.weightQuantum()) : new KruskalMST(edgeList, KruskalMST.Sort.RADIX);
+                break;
+            case FILTER_KRUSKAL: mst = new FilterKruskalMST(edgeList); break;
+            case EAGER_PRIM:     mst = new EagerPrimMST(csrGraph); break;
+            case LAZY_PRIM:      mst = new LazyPrimMST(csrGraph); break;
+            default:
+                ForkJoinPool pool = options.pool != null ? options.pool : new ForkJoinPool(options.parallelism);
+
+                try {
+                    mst = engine == Engine.BORUVKA ? new BoruvkaMST(edgeList, pool) : new FilterKruskalMST(edgeList, pool);
+                } finally {
+                    if (pool != options.pool) pool.shutdown();
+                }
+        }
+
+        return new Result(mst, engine, profile, choice.reason);
+    }
+
+    // test client
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: missing commandline argument.");
+            System.exit(-1);
+        }
+
+        Result result = compute(GraphLoader.loadEdgeList(args[0]));
+
+        System.out.println("Engine: " + result);
+        System.out.println("Components: " + result.componentCount());
+        new TestClient(result).printMst();
+    }
+
+}
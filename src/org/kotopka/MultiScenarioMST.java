@@ -0,0 +1,229 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <code>MultiScenarioMST</code> - Computes the minimum-spanning forest of every scenario of a
+ * <code>MultiWeightGraph</code>, one Kruskal task per weight column, in parallel on a <code>ForkJoinPool</code>.
+ * <br><br>
+ * The tasks share the topology and draw their working memory from a pool of workspaces: the sort keys and the edge
+ * order (12 bytes per edge) and a <code>RemUnionFind</code> that is reset between scenarios. A task takes a workspace,
+ * computes one tree and puts the workspace back, so no more workspaces are created than tasks run at once, about one
+ * per thread of the pool, however many scenarios there are. Each tree is kept as the indices of its edges in the topology.
+ */
+public class MultiScenarioMST {
+
+    private final MultiWeightGraph graph;
+    private final ScenarioMST[] trees;
+    private final ConcurrentLinkedQueue<Workspace> workspaces;
+    private final AtomicInteger workspaceCount;
+
+    /**
+     * <code>MultiScenarioMST</code> - Constructor. Computes the MST of every scenario on the common pool.
+     * @param graph MultiWeightGraph object from which to build the MSTs
+     */
+    public MultiScenarioMST(MultiWeightGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <code>MultiScenarioMST</code> - Constructor. Computes the MST of every scenario on the given pool.
+     * @param graph MultiWeightGraph object from which to build the MSTs
+     * @param pool the ForkJoinPool to run the scenarios on
+     */
+    public MultiScenarioMST(MultiWeightGraph graph, ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+
+        this.graph = graph;
+        this.trees = new ScenarioMST[graph.scenarioCount()];
+        this.workspaces = new ConcurrentLinkedQueue<>();
+        this.workspaceCount = new AtomicInteger();
+
+        // one scenario per task, a scenario is far more work than a fork
+        Parallel.forEach(pool, trees.length, 1, s -> {
+            Workspace workspace = workspaces.poll();
+
+            if (workspace == null) {
+                workspace = new Workspace(graph.vertexCount(), graph.edgeCount());
+                workspaceCount.incrementAndGet();
+            }
+
+            trees[s] = kruskal(s, workspace);
+            workspaces.offer(workspace);
+        });
+
+        workspaces.clear();
+    }
+
+    /**
+     * <code>Workspace</code> - The per-task memory of a Kruskal pass, reused from one scenario to the next.
+     */
+    private static class Workspace {
+
+        private final double[] keys;
+        private final int[] index;
+        private final int[] tree;
+        private final RemUnionFind uf;
+
+        Workspace(int vertexCount, int edgeCount) {
+            this.keys = new double[edgeCount];
+            this.index = new int[edgeCount];
+            this.tree = new int[Math.max(0, vertexCount - 1)];
+            this.uf = new RemUnionFind(vertexCount);
+        }
+    }
+
+    /**
+     * <code>kruskal()</code> - Private method, Kruskal's algorithm for one scenario in a workspace.
+     */
+    private ScenarioMST kruskal(int s, Workspace workspace) {
+        double[] weight = graph.scenario(s);
+        int edges = weight.length;
+        int vertexCount = graph.vertexCount();
+
+        System.arraycopy(weight, 0, workspace.keys, 0, edges);
+        for (int e = 0; e < edges; e++) workspace.index[e] = e;
+
+        EdgeList.sort(workspace.keys, workspace.index, 0, edges - 1);
+        workspace.uf.reset();
+
+        int treeEdges = 0;
+        double totalWeight = 0.0;
+
+        for (int i = 0; i < edges && treeEdges < vertexCount - 1; i++) {
+            int e = workspace.index[i];
+
+            // Don't add this edge if it creates a cycle in the MST
+            if (workspace.uf.union(graph.from(e), graph.to(e))) {
+                workspace.tree[treeEdges++] = e;
+                totalWeight += weight[e];
+            }
+        }
+
+        return new ScenarioMST(s, Arrays.copyOf(workspace.tree, treeEdges), totalWeight);
+    }
+
+    /**
+     * <code>ScenarioMST</code> - The minimum-spanning forest of one scenario, as edge indices into the shared topology.
+     * <code>Edge</code> objects are only created when <code>edges()</code> is called.
+     */
+    public class ScenarioMST implements MST {
+
+        private final int scenario;
+        private final int[] treeEdges;      // in the order Kruskal accepted them
+        private final int[] sortedEdges;    // the same indices ascending, for contains()
+        private final double totalWeight;
+
+        private ScenarioMST(int scenario, int[] treeEdges, double totalWeight) {
+            this.scenario = scenario;
+            this.treeEdges = treeEdges;
+            this.sortedEdges = treeEdges.clone();
+            this.totalWeight = totalWeight;
+
+            Arrays.sort(sortedEdges);
+        }
+
+        /**
+         * <code>scenario()</code> - The scenario this tree belongs to.
+         * @return integer of the scenario index
+         */
+        public int scenario() { return scenario; }
+
+        /**
+         * <code>edgeIndices()</code> - The topology indices of the tree edges, in the order Kruskal accepted them.
+         * @return integer array of edge indices, a copy
+         */
+        public int[] edgeIndices() { return treeEdges.clone(); }
+
+        /**
+         * <code>contains()</code> - Whether edge <code>e</code> of the topology is in this tree, by binary search in
+         * O(log V).
+         * @param e the edge index
+         * @return boolean true if the edge is a tree edge, false otherwise
+         */
+        public boolean contains(int e) {
+            return Arrays.binarySearch(sortedEdges, e) >= 0;
+        }
+
+        @Override
+        public Iterable<Edge> edges() {
+            Queue<Edge> edges = new Queue<>();
+            double[] weight = graph.scenario(scenario);
+
+            for (int e : treeEdges) edges.enqueue(new Edge(graph.from(e), graph.to(e), weight[e]));
+
+            return edges;
+        }
+
+        @Override
+        public double totalWeight() { return totalWeight; }
+
+        @Override
+        public int vertexCount() { return graph.vertexCount(); }
+
+        @Override
+        public int edgeCount() { return treeEdges.length; }
+    }
+
+    /**
+     * <code>tree()</code> - The MST of scenario <code>s</code>.
+     * @param s the scenario index
+     * @return ScenarioMST of the scenario
+     * @throws IllegalArgumentException if the scenario is out of range
+     */
+    public ScenarioMST tree(int s) {
+        if (s < 0 || s >= trees.length) throw new IllegalArgumentException("Scenario out of range");
+
+        return trees[s];
+    }
+
+    /**
+     * <code>totalWeight()</code> - The total weight of the MST of scenario <code>s</code>.
+     * @param s the scenario index
+     * @return double of the total weight
+     * @throws IllegalArgumentException if the scenario is out of range
+     */
+    public double totalWeight(int s) { return tree(s).totalWeight(); }
+
+    /**
+     * <code>scenarioCount()</code> - The number of scenarios computed.
+     * @return integer of the number of scenarios
+     */
+    public int scenarioCount() { return trees.length; }
+
+    /**
+     * <code>workspaceCount()</code> - The number of workspaces the tasks allocated, at most the number of scenarios
+     * that ran at the same time.
+     * @return integer of the number of workspaces
+     */
+    public int workspaceCount() { return workspaceCount.get(); }
+
+    // test client: the base weights of a graph file plus scenarios with every weight scaled by a random factor
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.out.println("Error: usage: MultiScenarioMST graph.txt [scenarios]");
+            System.exit(-1);
+        }
+
+        EdgeList base = GraphLoader.loadEdgeList(args[0]);
+        int scenarios = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        MultiWeightGraph graph = new MultiWeightGraph(base);
+        SplittableRandom random = new SplittableRandom(42);
+
+        graph.addScenario(base);
+        for (int s = 1; s < scenarios; s++) graph.addScenario(e -> base.weight(e) * (0.5 + random.nextDouble()));
+
+        long start = System.nanoTime();
+        MultiScenarioMST msts = new MultiScenarioMST(graph);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d scenarios in %.2f s with %d workspaces%n", scenarios, seconds, msts.workspaceCount());
+        System.out.printf("Base scenario MST weight: %.5f%n", msts.totalWeight(0));
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * <code>MultiWeightGraph</code> - An edge-weighted undirected graph with one topology and any number of weight columns,
+ * one per scenario, for computing the MST of many cost scenarios over the same network.
+ * <br><br>
+ * The endpoints of each edge are stored once, as in <code>EdgeList</code>; each scenario adds only a
+ * <code>double[]</code> of E weights, 8 bytes per edge, where a separate <code>EdgeWeightedGraph</code> per scenario
+ * would cost roughly 80. Edge <code>e</code> connects <code>from(e)</code> and <code>to(e)</code> in every scenario and
+ * weighs <code>weight(s, e)</code> in scenario <code>s</code>. <code>MultiScenarioMST</code> computes all the trees.
+ */
+public class MultiWeightGraph {
+
+    private final int vertexCount;
+    private final int[] from;
+    private final int[] to;
+    private double[][] weights;         // weights[s][e] is the weight of edge e in scenario s
+    private int scenarioCount;
+
+    /**
+     * <code>MultiWeightGraph()</code> - Constructor. Copies the endpoints of an <code>EdgeList</code> as the shared
+     * topology. Its weights are not kept; add them with <code>addScenario(topology)</code> if they are a scenario.
+     * @param topology EdgeList whose edges every scenario has
+     */
+    public MultiWeightGraph(EdgeList topology) {
+        this.vertexCount = topology.vertexCount();
+        this.from = new int[topology.size()];
+        this.to = new int[topology.size()];
+        this.weights = new double[4][];
+
+        for (int e = 0; e < from.length; e++) {
+            from[e] = topology.from(e);
+            to[e] = topology.to(e);
+        }
+    }
+
+    /**
+     * <code>addScenario()</code> - Adds a weight column without copying it. The array must not be modified afterwards.
+     * @param weight double array of the weight of each edge, in topology order
+     * @return integer index of the new scenario
+     * @throws IllegalArgumentException if there is not one weight per edge
+     */
+    public int addScenario(double[] weight) {
+        if (weight.length != from.length) throw new IllegalArgumentException("Need one weight per edge");
+
+        if (scenarioCount == weights.length) weights = Arrays.copyOf(weights, 2 * scenarioCount);
+
+        weights[scenarioCount] = weight;
+
+        return scenarioCount++;
+    }
+
+    /**
+     * <code>addScenario()</code> - Adds the weights of an <code>EdgeList</code> with the same edges in the same order,
+     * e.g. one loaded with <code>GraphLoader.loadEdgeList()</code> per scenario file.
+     * @param edgeList EdgeList with the shared topology
+     * @return integer index of the new scenario
+     * @throws IllegalArgumentException if the edge list's vertices or edges differ from the topology
+     */
+    public int addScenario(EdgeList edgeList) {
+        if (edgeList.vertexCount() != vertexCount || edgeList.size() != from.length) throw new IllegalArgumentException("Topology differs");
+
+        double[] weight = new double[from.length];
+
+        for (int e = 0; e < from.length; e++) {
+            if (edgeList.from(e) != from[e] || edgeList.to(e) != to[e]) throw new IllegalArgumentException("Topology differs at edge " + e);
+
+            weight[e] = edgeList.weight(e);
+        }
+
+        return addScenario(weight);
+    }
+
+    /**
+     * <code>addScenario()</code> - Adds a weight column computed from the edge index, e.g. a base scenario scaled on
+     * some edges: <code>e -&gt; graph.weight(0, e) * factor[e]</code>.
+     * @param weightOf the weight of edge <code>e</code> in the new scenario
+     * @return integer index of the new scenario
+     */
+    public int addScenario(IntToDoubleFunction weightOf) {
+        double[] weight = new double[from.length];
+
+        for (int e = 0; e < from.length; e++) weight[e] = weightOf.applyAsDouble(e);
+
+        return addScenario(weight);
+    }
+
+    private void validateScenario(int s) {
+        if (s < 0 || s >= scenarioCount) throw new IllegalArgumentException("Scenario out of range");
+    }
+
+    /**
+     * <code>from()</code> - One endpoint of edge <code>e</code>.
+     * @param e the edge index
+     * @return integer of the vertex
+     */
+    public int from(int e) { return from[e]; }
+
+    /**
+     * <code>to()</code> - The other endpoint of edge <code>e</code>.
+     * @param e the edge index
+     * @return integer of the vertex
+     */
+    public int to(int e) { return to[e]; }
+
+    /**
+     * <code>weight()</code> - The weight of edge <code>e</code> in scenario <code>s</code>.
+     * @param s the scenario index
+     * @param e the edge index
+     * @return double of the edge weight
+     * @throws IllegalArgumentException if the scenario is out of range
+     */
+    public double weight(int s, int e) {
+        validateScenario(s);
+
+        return weights[s][e];
+    }
+
+    /**
+     * <code>scenario()</code> - The weight column of scenario <code>s</code>, shared, not copied.
+     * @param s the scenario index
+     * @return double array of the weight of each edge
+     * @throws IllegalArgumentException if the scenario is out of range
+     */
+    double[] scenario(int s) {
+        validateScenario(s);
+
+        return weights[s];
+    }
+
+    /**
+     * <code>edgeList()</code> - Scenario <code>s</code> as an <code>EdgeList</code> for the other MST implementations.
+     * The edge list shares the topology and the weight column instead of copying them, and must not be modified.
+     * @param s the scenario index
+     * @return EdgeList of scenario s
+     * @throws IllegalArgumentException if the scenario is out of range
+     */
+    public EdgeList edgeList(int s) {
+        return new EdgeList(vertexCount, from, to, scenario(s));
+    }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>edgeCount()</code> - The number of edges, the same in every scenario.
+     * @return an integer of the number of edges
+     */
+    public int edgeCount() { return from.length; }
+
+    /**
+     * <code>scenarioCount()</code> - The number of weight columns.
+     * @return an integer of the number of scenarios
+     */
+    public int scenarioCount() { return scenarioCount; }
+
+}
@@ -0,0 +1,369 @@
+package org.kotopka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <code>OffHeapCsrGraph</code> - An immutable edge-weighted undirected graph in compressed sparse row form, like
+ * <code>CsrEdgeWeightedGraph</code>, but stored outside the Java heap and indexed by <code>long</code> slots.
+ * <br><br>
+ * The offsets, targets and weights are kept in direct <code>ByteBuffer</code>s, or in buffers memory-mapped from a file.
+ * A single buffer is limited to 2 GB, so each array is split into chunks of <code>2<sup>30</sup></code> bytes and a slot
+ * is located by its chunk (the high bits) and its position in the chunk (the low bits). The number of slots is then
+ * bounded by memory or disk instead of by <code>Integer.MAX_VALUE</code>, and the garbage collector never scans or
+ * copies the graph, however large it is. Only the vertex count is an <code>int</code>.
+ * <br><br>
+ * A file-backed graph is written once by one of the <code>build()</code> methods and can be mapped again later with
+ * <code>open()</code>; the operating system pages it in and out as needed, so it can exceed RAM. A graph without a file
+ * lives in direct memory, whose total is limited by <code>-XX:MaxDirectMemorySize</code> (by default the maximum heap
+ * size). In both cases the memory is released when the graph becomes unreachable.
+ * <br><br>
+ * <code>EagerPrimMST</code> reads the slots in place. <code>BigKruskalMST</code> copies the edges into a
+ * <code>BigEdgeList</code> to sort them. The other MST classes index edges by <code>int</code> and don't take this graph.
+ * <br><br>
+ * File layout, little-endian: a 32-byte header (magic <code>"CSRG"</code>, version, vertex count, reserved, edge count
+ * as a <code>long</code>, reserved <code>long</code>), then <code>long offsets[V + 1]</code>,
+ * <code>int targets[2E]</code> and <code>double weights[2E]</code>.
+ */
+public class OffHeapCsrGraph {
+
+    /**
+     * <code>EdgeSource</code> - A source of edges that can be read more than once, in the same order every time.
+     * <code>build()</code> reads it twice: once to count the degrees, once to fill in the slots.
+     */
+    @FunctionalInterface
+    public interface EdgeSource {
+        void edges(GraphGenerator.EdgeSink sink) throws IOException;
+    }
+
+    private static final int MAGIC = 0x47525343;  // "CSRG" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int CHUNK_BYTES_LOG2 = 30;
+
+    private final int vertexCount;
+    private final long edgeCount;
+    private final boolean fileBacked;
+    private final int longShift;            // log2 of the longs (and doubles) per chunk
+    private final int intShift;             // log2 of the ints per chunk
+    private final LongBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights;
+
+    private OffHeapCsrGraph(int vertexCount, long edgeCount, ByteBuffers buffers, boolean fileBacked, int chunkBytesLog2)
+            throws IOException {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.fileBacked = fileBacked;
+        this.longShift = chunkBytesLog2 - 3;
+        this.intShift = chunkBytesLog2 - 2;
+
+        long slots = 2 * edgeCount;
+
+        this.offsets = new LongBuffer[chunkCount(vertexCount + 1L, longShift)];
+        this.targets = new IntBuffer[chunkCount(slots, intShift)];
+        this.weights = new DoubleBuffer[chunkCount(slots, longShift)];
+
+        long position = HEADER_BYTES;
+
+        for (int c = 0; c < offsets.length; c++) {
+            long count = chunkLength(vertexCount + 1L, longShift, c);
+            offsets[c] = buffers.get(position, 8 * count).asLongBuffer();
+            position += 8 * count;
+        }
+
+        for (int c = 0; c < targets.length; c++) {
+            long count = chunkLength(slots, intShift, c);
+            targets[c] = buffers.get(position, 4 * count).asIntBuffer();
+            position += 4 * count;
+        }
+
+        for (int c = 0; c < weights.length; c++) {
+            long count = chunkLength(slots, longShift, c);
+            weights[c] = buffers.get(position, 8 * count).asDoubleBuffer();
+            position += 8 * count;
+        }
+    }
+
+    /**
+     * <code>ByteBuffers</code> - Private interface, hands out the little-endian buffer for a byte range of the layout.
+     */
+    @FunctionalInterface
+    private interface ByteBuffers {
+        ByteBuffer get(long position, long size) throws IOException;
+    }
+
+    private static int chunkCount(long length, int shift) {
+        return (int) ((length + (1L << shift) - 1) >>> shift);
+    }
+
+    private static long chunkLength(long length, int shift, int chunk) {
+        return Math.min(1L << shift, length - ((long) chunk << shift));
+    }
+
+    private static long fileSize(int vertexCount, long edgeCount) {
+        return HEADER_BYTES + 8L * (vertexCount + 1) + 24L * edgeCount;
+    }
+
+    /**
+     * <code>build()</code> - Builds a graph from an <code>EdgeList</code>, in direct memory if <code>file</code> is
+     * <code>null</code>, otherwise in a new file.
+     * @param edgeList the edges of the graph
+     * @param file path of the file to write, or <code>null</code> for direct memory
+     * @return OffHeapCsrGraph of the edges
+     * @throws IOException if the file can't be written
+     */
+    public static OffHeapCsrGraph build(EdgeList edgeList, Path file) throws IOException {
+        return build(edgeList.vertexCount(), sink -> {
+            for (int i = 0; i < edgeList.size(); i++) sink.add(edgeList.from(i), edgeList.to(i), edgeList.weight(i));
+        }, file);
+    }
+
+    /**
+     * <code>build()</code> - Builds a graph from a <code>GraphGenerator</code> without ever holding the edges on the heap.
+     * @param generator the GraphGenerator to run, twice
+     * @param file path of the file to write, or <code>null</code> for direct memory
+     * @return OffHeapCsrGraph of the generated graph
+     * @throws IOException if the file can't be written
+     */
+    public static OffHeapCsrGraph build(GraphGenerator generator, Path file) throws IOException {
+        return build(generator.vertexCount(), generator::generate, file);
+    }
+
+    /**
+     * <code>build()</code> - Builds a graph from a text file in the <code>V E / v w weight</code> format, streaming it
+     * twice with <code>TextGraphParser.Reader</code>.
+     * @param text path of the text file to read
+     * @param file path of the file to write, or <code>null</code> for direct memory
+     * @return OffHeapCsrGraph of the text file's graph
+     * @throws IOException if a file can't be read or written, or the text file is malformed
+     */
+    public static OffHeapCsrGraph build(Path text, Path file) throws IOException {
+        int vertexCount;
+
+        try (TextGraphParser.Reader reader = new TextGraphParser.Reader(text)) {
+            vertexCount = reader.vertexCount();
+        }
+
+        return build(vertexCount, sink -> {
+            try (TextGraphParser.Reader reader = new TextGraphParser.Reader(text)) {
+                while (reader.next()) sink.add(reader.v(), reader.w(), reader.weight());
+            }
+        }, file);
+    }
+
+    /**
+     * <code>build()</code> - Builds a graph from any repeatable source of edges.
+     * @param vertexCount the number of vertices
+     * @param source the EdgeSource, read twice
+     * @param file path of the file to write, or <code>null</code> for direct memory
+     * @return OffHeapCsrGraph of the source's edges
+     * @throws IOException if the file can't be written, or the source gives different edges the second time
+     * @throws IllegalArgumentException if the vertex count is not positive or an endpoint is out of range
+     */
+    public static OffHeapCsrGraph build(int vertexCount, EdgeSource source, Path file) throws IOException {
+        return build(vertexCount, source, file, CHUNK_BYTES_LOG2);
+    }
+
+    /**
+     * <code>build()</code> - Package-private, <code>build()</code> with a given chunk size, so tests can cross chunk
+     * boundaries with small graphs.
+     */
+    static OffHeapCsrGraph build(int vertexCount, EdgeSource source, Path file, int chunkBytesLog2) throws IOException {
+        if (vertexCount <= 0 || vertexCount == Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid number of vertices");
+
+        // the degrees, and later the number of slots filled per vertex, are the only O(V) heap state
+        int[] degree = new int[vertexCount];
+        long[] edges = new long[1];
+
+        source.edges((v, w, weight) -> {
+            if (v < 0 || v >= vertexCount || w < 0 || w >= vertexCount) throw new IllegalArgumentException("Vertex out of range: " + v + " " + w);
+
+            degree[v]++;
+            degree[w]++;
+            edges[0]++;
+        });
+
+        long edgeCount = edges[0];
+        long size = fileSize(vertexCount, edgeCount);
+        OffHeapCsrGraph graph;
+
+        if (file == null) {
+            graph = new OffHeapCsrGraph(vertexCount, edgeCount, (position, bytes) ->
+                    ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN), false, chunkBytesLog2);
+        } else {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(0).putLong(edgeCount).putLong(0L);
+                header.flip();
+                while (header.hasRemaining()) channel.write(header, header.position());
+
+                // mapping past the end of the file grows it to the full size
+                graph = new OffHeapCsrGraph(vertexCount, edgeCount, (position, bytes) ->
+                        channel.map(FileChannel.MapMode.READ_WRITE, position, bytes).order(ByteOrder.LITTLE_ENDIAN), true, chunkBytesLog2);
+            }
+        }
+
+        graph.fill(source, degree);
+
+        return graph;
+    }
+
+    /**
+     * <code>fill()</code> - Private method, writes the offsets from the degrees and then the slots from a second pass
+     * over the source, reusing <code>degree</code> as the number of slots filled so far per vertex.
+     */
+    private void fill(EdgeSource source, int[] degree) throws IOException {
+        long offset = 0;
+
+        for (int v = 0; v < vertexCount; v++) {
+            putOffset(v, offset);
+            offset += degree[v];
+            degree[v] = 0;
+        }
+
+        putOffset(vertexCount, offset);
+
+        long[] edges = new long[1];
+
+        source.edges((v, w, weight) -> {
+            if (++edges[0] > edgeCount) throw new IOException("Edge source changed between passes");
+
+            long slot = adjStart(v) + degree[v]++;
+            putSlot(slot, w, weight);
+
+            slot = adjStart(w) + degree[w]++;
+            putSlot(slot, v, weight);
+        });
+
+        if (edges[0] != edgeCount) throw new IOException("Edge source changed between passes");
+    }
+
+    private void putOffset(int v, long offset) {
+        offsets[(int) ((long) v >>> longShift)].put((int) (v & ((1L << longShift) - 1)), offset);
+    }
+
+    private void putSlot(long slot, int target, double weight) {
+        targets[(int) (slot >>> intShift)].put((int) (slot & ((1L << intShift) - 1)), target);
+        weights[(int) (slot >>> longShift)].put((int) (slot & ((1L << longShift) - 1)), weight);
+    }
+
+    /**
+     * <code>open()</code> - Maps a graph file written by <code>build()</code>, read-only.
+     * @param file path of the file to map
+     * @return OffHeapCsrGraph backed by the file
+     * @throws IOException if the file can't be read or is not a valid graph file
+     */
+    public static OffHeapCsrGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) throw new IOException("Truncated header in " + file);
+            }
+
+            header.flip();
+
+            if (header.getInt() != MAGIC) throw new IOException("Not a CSR graph file: " + file);
+            if (header.getInt() != VERSION) throw new IOException("Unsupported CSR graph file version in " + file);
+
+            int vertexCount = header.getInt();
+            header.getInt();
+            long edgeCount = header.getLong();
+
+            if (vertexCount <= 0 || edgeCount < 0) throw new IOException("Invalid header in " + file);
+            if (channel.size() != fileSize(vertexCount, edgeCount)) throw new IOException("Unexpected size of " + file);
+
+            return new OffHeapCsrGraph(vertexCount, edgeCount, (position, bytes) ->
+                    channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN), true, CHUNK_BYTES_LOG2);
+        }
+    }
+
+    /**
+     * <code>adjStart()</code> - The first adjacency slot of vertex <code>v</code>.
+     * @param v the vertex
+     * @return long of the first slot, inclusive
+     */
+    public long adjStart(int v) {
+        return offsets[v >>> longShift].get(v & ((1 << longShift) - 1));
+    }
+
+    /**
+     * <code>adjEnd()</code> - One past the last adjacency slot of vertex <code>v</code>.
+     * @param v the vertex
+     * @return long of the last slot, exclusive
+     */
+    public long adjEnd(int v) {
+        return adjStart(v + 1);
+    }
+
+    /**
+     * <code>degree()</code> - The number of adjacency slots of vertex <code>v</code>.
+     * @param v the vertex
+     * @return long of the degree
+     */
+    public long degree(int v) { return adjEnd(v) - adjStart(v); }
+
+    /**
+     * <code>target()</code> - The other endpoint of the edge in a slot.
+     * @param slot the adjacency slot
+     * @return integer of the vertex at the other end
+     */
+    public int target(long slot) {
+        return targets[(int) (slot >>> intShift)].get((int) (slot & ((1L << intShift) - 1)));
+    }
+
+    /**
+     * <code>weight()</code> - The weight of the edge in a slot.
+     * @param slot the adjacency slot
+     * @return double of the weight
+     */
+    public double weight(long slot) {
+        return weights[(int) (slot >>> longShift)].get((int) (slot & ((1L << longShift) - 1)));
+    }
+
+    /**
+     * <code>vertexCount()</code> - The number of vertices in this graph.
+     * @return an integer of the number of vertices
+     */
+    public int vertexCount() { return vertexCount; }
+
+    /**
+     * <code>edgeCount()</code> - The number of undirected edges in this graph, half the number of slots.
+     * @return a long of the number of edges
+     */
+    public long edgeCount() { return edgeCount; }
+
+    /**
+     * <code>isFileBacked()</code> - Whether the graph is mapped from a file rather than held in direct memory.
+     * @return boolean true if the graph is backed by a file, false otherwise
+     */
+    public boolean isFileBacked() { return fileBacked; }
+
+    // builds a file-backed graph from a text or generated graph and prints its MST weight
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Error: usage: OffHeapCsrGraph graph.txt graph.csr");
+            System.exit(-1);
+        }
+
+        long start = System.nanoTime();
+        OffHeapCsrGraph graph = build(Path.of(args[0]), Path.of(args[1]));
+        long built = System.nanoTime();
+        EagerPrimMST mst = new EagerPrimMST(graph);
+        long done = System.nanoTime();
+
+        System.out.printf("V = %d, E = %d, built in %.1f s, MST weight %.5f in %.1f s%n", graph.vertexCount(), graph.edgeCount(),
+                (built - start) / 1e9, mst.totalWeight(), (done - built) / 1e9);
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.kotopka;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <code>PairingIndexMinPQ</code> - An indexed minimum priority queue with <code>double</code> keys, kept as a pairing heap.
+ * <br><br>
+ * The heap is a tree in which every node is no larger than its children. <code>insert()</code> and
+ * <code>decreaseKey()</code> are constant time: a new node, or a node cut from its parent with its whole subtree, is
+ * linked with the root. <code>delMin()</code> removes the root and melds its children in two passes, which is where
+ * all of the work happens (amortized O(log N)).
+ * <br><br>
+ * Nodes are the indices themselves: the tree is stored in primitive arrays of child, sibling and back links, so no
+ * node objects are created.
+ * <br><br>
+ * Fredman, Sedgewick, Sleator, Tarjan, <em>The Pairing Heap: A New Form of Self-Adjusting Heap</em>, Algorithmica 1986.
+ */
+public class PairingIndexMinPQ implements DoubleIndexPQ {
+
+    private static final int NONE = -1;
+
+    private final int capacity;
+    private final double[] keys;    // keys[i] is the priority of index i
+    private final int[] child;      // child[i] is the first child of i
+    private final int[] sibling;    // sibling[i] is the next sibling of i
+    private final int[] prev;       // prev[i] is the previous sibling of i, or its parent if i is a first child
+    private final boolean[] inHeap;
+    private final int[] pairs;      // scratch for delMin()
+    private int root;
+    private int size;
+
+    public PairingIndexMinPQ(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid capacity");
+
+        this.capacity = capacity;
+        this.keys = new double[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.prev = new int[capacity];
+        this.inHeap = new boolean[capacity];
+        this.pairs = new int[capacity];
+        this.root = NONE;
+
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(prev, NONE);
+    }
+
+    /**
+     * <code>link()</code> - Private method, makes the larger of two roots the first child of the smaller one.
+     * @return integer of the root of the combined tree
+     */
+    private int link(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+
+        sibling[b] = child[a];
+        if (child[a] != NONE) prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+
+        return a;
+    }
+
+    /**
+     * <code>cut()</code> - Private method, detaches the subtree rooted at i from its parent and siblings.
+     */
+    private void cut(int i) {
+        int p = prev[i];
+
+        if (child[p] == i) child[p] = sibling[i];
+        else               sibling[p] = sibling[i];
+
+        if (sibling[i] != NONE) prev[sibling[i]] = p;
+
+        sibling[i] = NONE;
+        prev[i] = NONE;
+    }
+
+    /**
+     * <code>combine()</code> - Private method, two-pass pairing: links the sibling list starting at first in pairs from
+     * left to right, then melds the pairs from right to left.
+     * @return integer of the root of the combined tree, or NONE if the list is empty
+     */
+    private int combine(int first) {
+        int count = 0;
+
+        while (first != NONE) {
+            int a = first;
+            int b = sibling[a];
+            first = b == NONE ? NONE : sibling[b];
+
+            sibling[a] = NONE;
+            prev[a] = NONE;
+
+            if (b != NONE) {
+                sibling[b] = NONE;
+                prev[b] = NONE;
+                a = link(a, b);
+            }
+
+            pairs[count++] = a;
+        }
+
+        if (count == 0) return NONE;
+
+        int result = pairs[--count];
+
+        while (count > 0) {
+            result = link(pairs[--count], result);
+        }
+
+        return result;
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("Invalid index range");
+        }
+    }
+
+    /**
+     * <code>insert()</code> - Inserts a key into the priority queue at index i
+     * @param i integer for the index
+     * @param key double value of the key to be inserted
+     * @throws IllegalArgumentException if the index is invalid, already in use, or the key is NaN
+     */
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (contains(i)) throw new IllegalArgumentException("Index already in use");
+
+        keys[i] = key;
+        inHeap[i] = true;
+        root = root == NONE ? i : link(root, i);
+        size++;
+    }
+
+    /**
+     * <code>decreaseKey()</code> - Decreases the priority of the key associated with index "i"
+     * @param i integer of the array index
+     * @param key double value of the new, smaller key
+     * @throws IllegalArgumentException if the index is invalid, or the key is not smaller than the current key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    @Override
+    public void decreaseKey(int i, double key) {
+        validateIndex(i);
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+        if (!(key < keys[i])) throw new IllegalArgumentException("Smaller key already in queue");
+
+        keys[i] = key;
+
+        // a smaller key can only break the order with the parent, so move the whole subtree up to the root
+        if (i != root) {
+            cut(i);
+            root = link(root, i);
+        }
+    }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return inHeap[i];
+    }
+
+    /**
+     * <code>delMin()</code> - Removes the minimum key and returns the index
+     * @return integer index of the key removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    @Override
+    public int delMin() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        int min = root;
+        root = combine(child[min]);
+        child[min] = NONE;
+        inHeap[min] = false;
+        size--;
+
+        return min;
+    }
+
+    @Override
+    public double minKey() {
+        if (size == 0) throw new NoSuchElementException("Priority queue is empty");
+
+        return keys[root];
+    }
+
+    /**
+     * <code>key()</code> - Returns the key associated with index "i"
+     * @param i integer of the array index
+     * @return double of the key
+     * @throws NoSuchElementException if the index can't be found
+     */
+    public double key(int i) {
+        if (!contains(i)) throw new NoSuchElementException("Index not found");
+
+        return keys[i];
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+}
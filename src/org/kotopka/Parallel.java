@@ -0,0 +1,135 @@
+package org.kotopka;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * <code>Parallel</code> - Package private helpers for running index-range loops on a <code>ForkJoinPool</code>.
+ * Ranges are split in half recursively until they are smaller than a grain size derived from the pool's parallelism.
+ */
+final class Parallel {
+
+    private static final int MIN_GRAIN = 4096;    // below this a range is not worth forking
+
+    private Parallel() { }
+
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final IntConsumer body;
+
+        RangeAction(int lo, int hi, int grain, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                for (int i = lo; i < hi; i++) body.accept(i);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeAction(lo, mid, grain, body), new RangeAction(mid, hi, grain, body));
+        }
+    }
+
+    /**
+     * <code>grain()</code> - The range size below which work is done sequentially, aiming for a few chunks per worker.
+     * @param pool the pool the work will run on
+     * @param n the total number of indices
+     * @return integer of the grain size
+     */
+    static int grain(ForkJoinPool pool, int n) {
+        return Math.max(MIN_GRAIN, n / (8 * pool.getParallelism()));
+    }
+
+    /**
+     * <code>forEach()</code> - Calls <code>body</code> once for every index in <code>0..n - 1</code>, in parallel, and
+     * waits for all calls to finish.
+     * @param pool the pool to run on
+     * @param n the number of indices
+     * @param body the loop body, called with each index
+     */
+    static void forEach(ForkJoinPool pool, int n, IntConsumer body) {
+        forEach(pool, n, grain(pool, n), body);
+    }
+
+    /**
+     * <code>forEach()</code> - <code>forEach()</code> with a given grain size, e.g. 1 for a few long-running bodies.
+     * @param pool the pool to run on
+     * @param n the number of indices
+     * @param grain the range size below which indices are run sequentially
+     * @param body the loop body, called with each index
+     */
+    static void forEach(ForkJoinPool pool, int n, int grain, IntConsumer body) {
+        if (n <= grain) {
+            for (int i = 0; i < n; i++) body.accept(i);
+        } else {
+            pool.invoke(new RangeAction(0, n, grain, body));
+        }
+    }
+
+    /**
+     * <code>filter()</code> - Stable parallel compaction: copies the elements of <code>src[srcPos..srcPos + n - 1]</code>
+     * that satisfy <code>keep</code> to <code>dst</code> starting at <code>dstPos</code>, preserving their order.
+     * The source and destination ranges must not overlap, and <code>keep</code> must give the same answer when asked twice
+     * about an element.
+     * @param pool the pool to run on
+     * @param src integer array of the elements to filter
+     * @param srcPos the first position of <code>src</code> to consider
+     * @param n the number of elements of <code>src</code> to consider
+     * @param keep predicate deciding which elements survive
+     * @param dst integer array receiving the survivors
+     * @param dstPos the position in <code>dst</code> of the first survivor
+     * @return integer of the number of survivors
+     */
+    static int filter(ForkJoinPool pool, int[] src, int srcPos, int n, IntPredicate keep, int[] dst, int dstPos) {
+        int grain = grain(pool, n);
+        int blocks = (n + grain - 1) / grain;
+
+        if (blocks <= 1) {
+            int count = 0;
+
+            for (int i = srcPos; i < srcPos + n; i++) {
+                if (keep.test(src[i])) dst[dstPos + count++] = src[i];
+            }
+
+            return count;
+        }
+
+        // count the survivors of each block, turn the counts into write offsets, then copy each block to its offset
+        int[] offsets = new int[blocks + 1];
+        int end = srcPos + n;
+
+        forEach(pool, blocks, 1, b -> {
+            int count = 0;
+
+            for (int i = srcPos + b * grain, last = Math.min(end, i + grain); i < last; i++) {
+                if (keep.test(src[i])) count++;
+            }
+
+            offsets[b + 1] = count;
+        });
+
+        for (int b = 0; b < blocks; b++) offsets[b + 1] += offsets[b];
+
+        forEach(pool, blocks, 1, b -> {
+            int out = dstPos + offsets[b];
+
+            for (int i = srcPos + b * grain, last = Math.min(end, i + grain); i < last; i++) {
+                if (keep.test(src[i])) dst[out++] = src[i];
+            }
+        });
+
+        return offsets[blocks];
+    }
+}
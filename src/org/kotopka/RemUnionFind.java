@@ -0,0 +1,95 @@
+package org.kotopka;
+
+/**
+ * <code>RemUnionFind</code> - Rem's union-find algorithm with splicing, in a single <code>int[]</code>.
+ * <br><br>
+ * Sites are linked by index: a parent always has a higher index than its child. <code>union()</code> climbs from both
+ * sites at once, always advancing the side with the lower parent, and splices that side's parent pointer over to the
+ * other side's parent on the way. It stops as soon as the two sides meet, often well below the roots, or links a root
+ * as soon as it reaches one. No sizes or ranks are stored.
+ * <br><br>
+ * Patwary, Blair, Manne, <em>Experiments on Union-Find Algorithms for the Disjoint-Set Data Structure</em>, SEA 2010.
+ */
+public class RemUnionFind implements DisjointSet {
+
+    private final int[] parent;
+    private int count;
+
+    /**
+     * <code>RemUnionFind()</code> - Constructor. Initializes the union-find instance with <code>n</code> sites.
+     * @param n integer for the number of sites in this instance
+     */
+    public RemUnionFind(int n) {
+        this.parent = new int[n];
+        this.count = n;
+
+        for (int i = 0; i < n; i++) parent[i] = i;
+    }
+
+    @Override
+    public int find(int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];  // path halving
+            p = parent[p];
+        }
+
+        return p;
+    }
+
+    @Override
+    public boolean union(int p, int q) {
+        while (parent[p] != parent[q]) {
+            // advance the side with the lower parent
+            if (parent[p] > parent[q]) {
+                int temp = p;
+                p = q;
+                q = temp;
+            }
+
+            int next = parent[p];
+
+            if (next == p) {
+                parent[p] = parent[q];
+                count--;
+                return true;
+            }
+
+            parent[p] = parent[q];  // splice, parent[q] is higher than the old parent so the order is kept
+            p = next;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean connected(int p, int q) {
+        while (parent[p] != parent[q]) {
+            if (parent[p] > parent[q]) {
+                int temp = p;
+                p = q;
+                q = temp;
+            }
+
+            // p's side is lower and already at a root, so q's component lies entirely above it
+            if (parent[p] == p) return false;
+
+            p = parent[p];
+        }
+
+        return true;
+    }
+
+    @Override
+    public int count() { return count; }
+
+    /**
+     * <code>reset()</code> - Puts every site back in its own component, reusing the array, so one instance can serve
+     * many union-find passes over the same sites.
+     */
+    public void reset() {
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+
+        count = parent.length;
+    }
+
+}
@@ -30,6 +30,7 @@ public class TestClient {
         TestClient tck = new TestClient(new KruskalMST(ewg));
         TestClient tclp = new TestClient(new LazyPrimMST(ewg));
         TestClient tcep = new TestClient(new EagerPrimMST(ewg));
+        TestClient tcb = new TestClient(new BoruvkaMST(ewg));
 
         System.out.println("Kruskal:");
         tck.printMst();
@@ -41,6 +42,10 @@ public class TestClient {
 
         System.out.println("Eager Prim:");
         tcep.printMst();
+        System.out.println();
+
+        System.out.println("Boruvka:");
+        tcb.printMst();
     }
 
 }
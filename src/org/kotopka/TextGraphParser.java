@@ -0,0 +1,491 @@
+package org.kotopka;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <code>TextGraphParser</code> - Byte-level parser for the <code>V E / v w weight</code> text graph format, replacing
+ * <code>java.util.Scanner</code>.
+ * <br><br>
+ * <code>parse()</code> maps the file through a <code>FileChannel</code>, splits everything after the header into
+ * newline-aligned chunks and parses the chunks in parallel into primitive arrays. The chunks are copied into the
+ * resulting <code>EdgeList</code> in file order as soon as each one is done, while later chunks are still being parsed.
+ * <br><br>
+ * <code>Reader</code> parses the same format sequentially through a small buffer, for callers that want to stream
+ * the edges without holding them in memory.
+ * <br><br>
+ * Numbers are parsed directly from the bytes. Weights with up to 15 significant digits and a small decimal exponent,
+ * which covers every bundled graph file, take an exact fast path (one multiplication or division of two exactly
+ * representable doubles); anything else falls back to <code>Double.parseDouble()</code>, so the results are always
+ * identical to it.
+ */
+public class TextGraphParser {
+
+    private static final int CHUNK_BYTES = 1 << 24;     // 16 MB of text per parallel task
+    private static final int HEADER_BYTES = 1 << 10;    // the "V E" header is looked for within the first 1 KB
+    private static final int MAX_LINE_BYTES = 1 << 10;  // the streaming reader refills when less than this is buffered
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MIN_LINE_BYTES = 6;        // "0 0 0\n", the shortest possible edge line
+    private static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private TextGraphParser() { }
+
+    /**
+     * <code>Chunk</code> - The edges parsed from one chunk of the file.
+     */
+    private static class Chunk {
+        int[] from;
+        int[] to;
+        double[] weight;
+        int size;
+
+        Chunk(int capacity) {
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new double[capacity];
+        }
+
+        void add(int v, int w, double edgeWeight) {
+            if (size == from.length) {
+                int newSize = Math.max(16, 2 * size);
+                from = Arrays.copyOf(from, newSize);
+                to = Arrays.copyOf(to, newSize);
+                weight = Arrays.copyOf(weight, newSize);
+            }
+
+            from[size] = v;
+            to[size] = w;
+            weight[size++] = edgeWeight;
+        }
+    }
+
+    /**
+     * <code>parse()</code> - Parses a text graph file on the common pool.
+     * @param file path of the text file
+     * @return EdgeList of the edges in the file, in file order
+     * @throws IOException if the file can't be read or is malformed
+     */
+    public static EdgeList parse(Path file) throws IOException {
+        return parse(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <code>parse()</code> - Parses a text graph file, splitting it into chunks that are parsed in parallel on the given pool.
+     * The edge count in the header is only used to size the result; the edges actually present are returned.
+     * @param file path of the text file
+     * @param pool the ForkJoinPool to parse the chunks on
+     * @return EdgeList of the edges in the file, in file order
+     * @throws IOException if the file can't be read, is malformed, or has more edges than an <code>EdgeList</code> holds
+     */
+    public static EdgeList parse(Path file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_BYTES));
+
+            int vertexCount;
+            long declaredEdges;
+
+            try {
+                vertexCount = parseInt(header);
+                declaredEdges = parseLong(header);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed graph file header in " + file, e);
+            }
+
+            if (vertexCount <= 0) throw new IOException("Graph must have positive number of vertices: " + file);
+
+            // split the rest of the file into chunks that each end right after a newline
+            long dataStart = header.position();
+            int chunkCount = (int) Math.max(1, (size - dataStart + CHUNK_BYTES - 1) / CHUNK_BYTES);
+            long[] bounds = new long[chunkCount + 1];
+
+            bounds[0] = dataStart;
+            bounds[chunkCount] = size;
+
+            for (int k = 1; k < chunkCount; k++) {
+                bounds[k] = nextLineStart(channel, Math.max(bounds[k - 1], dataStart + (long) k * CHUNK_BYTES));
+            }
+
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(chunkCount);
+
+            for (int k = 0; k < chunkCount; k++) {
+                long start = bounds[k];
+                long end = bounds[k + 1];
+                tasks.add(pool.submit(() -> parseChunk(channel, start, end)));
+            }
+
+            // copy each chunk into place as soon as it's done, in file order, while later chunks are still being parsed;
+            // the declared count only sizes the arrays, never beyond the number of lines the file has room for
+            long maxEdges = (size - dataStart) / MIN_LINE_BYTES + 1;
+            int capacity = (int) Math.min(Math.max(declaredEdges, 0), Math.min(maxEdges, MAX_EDGES));
+            int[] from = new int[capacity];
+            int[] to = new int[capacity];
+            double[] weight = new double[capacity];
+            int count = 0;
+
+            for (int k = 0; k < chunkCount; k++) {
+                Chunk chunk;
+
+                try {
+                    chunk = tasks.get(k).join();
+                } catch (RuntimeException e) {
+                    for (ForkJoinTask<Chunk> task : tasks) {
+                        if (task != null) task.cancel(true);
+                    }
+                    throw new IOException("Malformed graph file " + file, e);
+                }
+
+                if ((long) count + chunk.size > MAX_EDGES) {
+                    for (ForkJoinTask<Chunk> task : tasks) {
+                        if (task != null) task.cancel(true);
+                    }
+                    throw new IOException("Too many edges for an EdgeList in " + file + ", stream them with a Reader");
+                }
+
+                if (count + chunk.size > from.length) {
+                    int newSize = (int) Math.min(Math.max(count + chunk.size, 2L * from.length), MAX_EDGES);
+                    from = Arrays.copyOf(from, newSize);
+                    to = Arrays.copyOf(to, newSize);
+                    weight = Arrays.copyOf(weight, newSize);
+                }
+
+                System.arraycopy(chunk.from, 0, from, count, chunk.size);
+                System.arraycopy(chunk.to, 0, to, count, chunk.size);
+                System.arraycopy(chunk.weight, 0, weight, count, chunk.size);
+                count += chunk.size;
+                tasks.set(k, null);     // let the chunk be collected
+            }
+
+            if (count != from.length) {
+                from = Arrays.copyOf(from, count);
+                to = Arrays.copyOf(to, count);
+                weight = Arrays.copyOf(weight, count);
+            }
+
+            try {
+                return new EdgeList(vertexCount, from, to, weight);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed graph file " + file, e);
+            }
+        }
+    }
+
+    /**
+     * <code>nextLineStart()</code> - Private method, the position just after the first newline at or after <code>position</code>,
+     * or the end of the file if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        while (position < channel.size()) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') return position + i + 1;
+            }
+
+            position += read;
+        }
+
+        return channel.size();
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        Chunk chunk = new Chunk((int) Math.min(Integer.MAX_VALUE - 8, (end - start) / 16));
+
+        skipWhitespace(buffer);
+
+        while (buffer.hasRemaining()) {
+            int v = parseInt(buffer);
+            int w = parseInt(buffer);
+            double weight = parseDouble(buffer);
+
+            chunk.add(v, w, weight);
+            skipWhitespace(buffer);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * <code>Reader</code> - Streams the edges of a text graph file one at a time through a fixed-size buffer.
+     * <pre>
+     *     try (TextGraphParser.Reader reader = new TextGraphParser.Reader(path)) {
+     *         while (reader.next()) use(reader.v(), reader.w(), reader.weight());
+     *     }
+     * </pre>
+     */
+    public static class Reader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int vertexCount;
+        private final long edgeCount;
+        private boolean endOfFile;
+        private int v;
+        private int w;
+        private double weight;
+
+        /**
+         * <code>Reader()</code> - Constructor. Opens the file and reads the header.
+         * @param file path of the text file
+         * @throws IOException if the file can't be read or the header is malformed
+         */
+        public Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            this.buffer.limit(0);
+
+            try {
+                fill();
+                this.vertexCount = parseInt(buffer);
+                this.edgeCount = parseLong(buffer);
+            } catch (RuntimeException e) {
+                channel.close();
+                throw new IOException("Malformed graph file header in " + file, e);
+            }
+        }
+
+        private void fill() throws IOException {
+            if (endOfFile || buffer.remaining() >= MAX_LINE_BYTES) return;
+
+            buffer.compact();
+
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    endOfFile = true;
+                    break;
+                }
+            }
+
+            buffer.flip();
+        }
+
+        /**
+         * <code>next()</code> - Advances to the next edge.
+         * @return boolean true if there was another edge, false at the end of the file
+         * @throws IOException if the file can't be read or the edge is malformed
+         */
+        public boolean next() throws IOException {
+            fill();
+            skipWhitespace(buffer);
+            fill();
+
+            if (!buffer.hasRemaining()) return false;
+
+            try {
+                v = parseInt(buffer);
+                w = parseInt(buffer);
+                weight = parseDouble(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed edge in graph file", e);
+            }
+
+            return true;
+        }
+
+        /**
+         * <code>vertexCount()</code> - The vertex count from the header.
+         * @return integer of the number of vertices
+         */
+        public int vertexCount() { return vertexCount; }
+
+        /**
+         * <code>edgeCount()</code> - The edge count from the header.
+         * @return long of the declared number of edges
+         */
+        public long edgeCount() { return edgeCount; }
+
+        /**
+         * <code>v()</code> - One endpoint of the current edge.
+         * @return integer of the vertex
+         */
+        public int v() { return v; }
+
+        /**
+         * <code>w()</code> - The other endpoint of the current edge.
+         * @return integer of the vertex
+         */
+        public int w() { return w; }
+
+        /**
+         * <code>weight()</code> - The weight of the current edge.
+         * @return double of the weight
+         */
+        public double weight() { return weight; }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+
+    private static void skipWhitespace(ByteBuffer buffer) {
+        while (buffer.hasRemaining() && isWhitespace(buffer.get(buffer.position()))) {
+            buffer.position(buffer.position() + 1);
+        }
+    }
+
+    /**
+     * <code>parseInt()</code> - Parses the next whitespace-separated token as an <code>int</code>.
+     * @throws NumberFormatException if the token is not an integer in range
+     * @throws BufferUnderflowException if there is no token left
+     */
+    static int parseInt(ByteBuffer buffer) {
+        long value = parseLong(buffer);
+
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw new NumberFormatException("Integer out of range");
+
+        return (int) value;
+    }
+
+    /**
+     * <code>parseLong()</code> - Parses the next whitespace-separated token as a <code>long</code>, e.g. an edge count
+     * of more than 2^31 - 1.
+     * @throws NumberFormatException if the token is not an integer in range
+     * @throws BufferUnderflowException if there is no token left
+     */
+    static long parseLong(ByteBuffer buffer) {
+        skipWhitespace(buffer);
+
+        boolean negative = false;
+        byte b = buffer.get();
+
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            b = buffer.get();
+        }
+
+        if (b < '0' || b > '9') throw new NumberFormatException("Expected a digit but found '" + (char) b + "'");
+
+        long value = 0;
+
+        while (true) {
+            if (value > (Long.MAX_VALUE - (b - '0')) / 10) throw new NumberFormatException("Integer out of range");
+
+            value = 10 * value + (b - '0');
+
+            if (!buffer.hasRemaining()) break;
+
+            b = buffer.get(buffer.position());
+
+            if (isWhitespace(b)) break;
+            if (b < '0' || b > '9') throw new NumberFormatException("Unexpected character '" + (char) b + "' in integer");
+
+            buffer.position(buffer.position() + 1);
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * <code>parseDouble()</code> - Parses the next whitespace-separated token as a <code>double</code>, giving exactly
+     * the same result as <code>Double.parseDouble()</code>.
+     * @throws NumberFormatException if the token is not a number
+     * @throws BufferUnderflowException if there is no token left
+     */
+    static double parseDouble(ByteBuffer buffer) {
+        skipWhitespace(buffer);
+
+        int start = buffer.position();
+        int end = start;
+
+        while (end < buffer.limit() && !isWhitespace(buffer.get(end))) end++;
+
+        if (end == start) throw new BufferUnderflowException();
+
+        buffer.position(end);
+
+        int i = start;
+        boolean negative = false;
+
+        if (buffer.get(i) == '-' || buffer.get(i) == '+') negative = buffer.get(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;         // significant digits in the mantissa
+        int exponent = 0;       // decimal exponent applied to the mantissa
+        boolean exact = true;   // false once a non-zero digit had to be dropped
+        boolean anyDigits = false;
+        boolean fraction = false;
+
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+
+            if (b == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+
+            if (b < '0' || b > '9') break;
+
+            anyDigits = true;
+
+            if (digits < 18) {
+                mantissa = 10 * mantissa + (b - '0');
+                if (mantissa != 0) digits++;
+                if (fraction) exponent--;
+            } else {
+                if (b != '0') exact = false;
+                if (!fraction) exponent++;
+            }
+        }
+
+        if (anyDigits && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            int e = i + 1;
+            boolean negativeExponent = false;
+            int value = 0;
+
+            if (e < end && (buffer.get(e) == '-' || buffer.get(e) == '+')) negativeExponent = buffer.get(e++) == '-';
+
+            if (e == end) return slowParse(buffer, start, end);
+
+            for (; e < end && value < 10_000; e++) {
+                byte b = buffer.get(e);
+                if (b < '0' || b > '9') break;
+                value = 10 * value + (b - '0');
+            }
+
+            exponent += negativeExponent ? -value : value;
+            i = e;
+        }
+
+        // anything unusual (no digits, trailing characters, too much precision) goes to the JDK parser
+        if (!anyDigits || i != end || !exact || digits > 15 || exponent < -22 || exponent > 22) {
+            return slowParse(buffer, start, end);
+        }
+
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(ByteBuffer buffer, int start, int end) {
+        byte[] token = new byte[end - start];
+
+        for (int i = 0; i < token.length; i++) token[i] = buffer.get(start + i);
+
+        return Double.parseDouble(new String(token, StandardCharsets.US_ASCII));
+    }
+
+}
@@ -6,7 +6,7 @@ import java.util.ArrayList;
  * <code>WeightedUnionFind</code> - Implements the weighted union-find disjoint-set data type from <em>Algorithms 4th ed.</em>
  * This data type can be used to join elements into the same connected component, and to query if elements are in the same component.
  */
-public class WeightedUnionFind {
+public class WeightedUnionFind implements DisjointSet {
 
     private final int n;    // number of sites
     private final int[] id; // root of each component
@@ -38,15 +38,17 @@ public class WeightedUnionFind {
      * Arbitrarily joins "q" to "p" if both connected components are of the same size.
      * @param p integer for site "p"
      * @param q integer for site "q"
+     * @return boolean true if this call joined two components, false if they were already connected
      */
-    public void union(int p, int q) {
+    @Override
+    public boolean union(int p, int q) {
         validatePoint(p);
         validatePoint(q);
 
         int i = find(p);
         int j = find(q);
 
-        if (i == j) return;
+        if (i == j) return false;
 
         if (sz[i] < sz[j]) {
             id[i] = j;
@@ -57,6 +59,7 @@ public class WeightedUnionFind {
         }
 
         count--;
+        return true;
     }
 
     /**
@@ -64,6 +67,7 @@ public class WeightedUnionFind {
      * @param p integer for the site to be queried
      * @return integer of the root of the connected component containing site "p"
      */
+    @Override
     public int find(int p) {
         validatePoint(p);
 
@@ -91,6 +95,7 @@ public class WeightedUnionFind {
      * @param q integer for the other site
      * @return <code>true</code> if sites "p" and "q" are connected, <code>false</code> otherwise
      */
+    @Override
     public boolean connected(int p, int q) {
         validatePoint(p);
         validatePoint(q);
@@ -102,6 +107,7 @@ public class WeightedUnionFind {
      * <code>count()</code> - Number of connected components in this union-find instance.
      * @return integer of the number of connected components
      */
+    @Override
     public int count() { return count; }
 
     /**
@@ -0,0 +1,93 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigEdgeListTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidVertices() {
+        assertThrows(IllegalArgumentException.class, () -> new BigEdgeList(0));
+        assertThrows(IllegalArgumentException.class, () -> new BigEdgeList(-3));
+    }
+
+    @Test
+    public void addThrowsExceptionVertexOutOfRange() {
+        BigEdgeList edges = new BigEdgeList(3);
+        assertThrows(IllegalArgumentException.class, () -> edges.add(0, 3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> edges.add(-1, 2, 1.0));
+    }
+
+    @Test
+    public void addSpansChunks() {
+        BigEdgeList edges = new BigEdgeList(10, 2);
+
+        for (int i = 0; i < 10; i++) assertEquals(i, edges.add(i, (i + 1) % 10, i * 0.5));
+
+        assertEquals(10, edges.size());
+        assertEquals(3, edges.chunkCount());
+        assertEquals(8, edges.chunkStart(2));
+        assertEquals(10, edges.chunkEnd(2));
+
+        for (long i = 0; i < 10; i++) {
+            assertEquals(i, edges.from(i));
+            assertEquals((i + 1) % 10, edges.to(i));
+            assertEquals(i * 0.5, edges.weight(i));
+        }
+    }
+
+    @Test
+    public void emptyListHasNoChunks() {
+        BigEdgeList edges = new BigEdgeList(4);
+
+        assertEquals(0, edges.size());
+        assertEquals(0, edges.chunkCount());
+    }
+
+    @Test
+    public void sortChunksOrdersEachChunkAndKeepsEdges() {
+        EdgeList expected = GraphGenerator.random(200, 1000, 3).edgeList();
+        BigEdgeList edges = new BigEdgeList(200, 7);
+
+        for (int i = 0; i < expected.size(); i++) edges.add(expected.from(i), expected.to(i), expected.weight(i));
+
+        edges.sortChunks(true);
+
+        for (int c = 0; c < edges.chunkCount(); c++) {
+            for (long i = edges.chunkStart(c) + 1; i < edges.chunkEnd(c); i++) {
+                assertTrue(edges.weight(i - 1) <= edges.weight(i));
+            }
+        }
+
+        // each chunk holds the same edges as before, only reordered
+        for (int c = 0; c < edges.chunkCount(); c++) {
+            long xor = 0;
+            long expectedXor = 0;
+
+            for (long i = edges.chunkStart(c); i < edges.chunkEnd(c); i++) {
+                xor ^= ((long) edges.from(i) << 32 | edges.to(i)) * 31 + Double.doubleToLongBits(edges.weight(i));
+                expectedXor ^= ((long) expected.from((int) i) << 32 | expected.to((int) i)) * 31 + Double.doubleToLongBits(expected.weight((int) i));
+            }
+
+            assertEquals(expectedXor, xor);
+        }
+    }
+
+    @Test
+    public void copiesOffHeapGraph() throws IOException {
+        EdgeList expected = GraphGenerator.random(100, 400, 5).edgeList();
+        BigEdgeList edges = new BigEdgeList(OffHeapCsrGraph.build(expected, null));
+
+        int selfLoops = 0;
+        for (int i = 0; i < expected.size(); i++) if (expected.from(i) == expected.to(i)) selfLoops++;
+
+        assertEquals(100, edges.vertexCount());
+        assertEquals(expected.size() - selfLoops, edges.size());
+
+        for (long i = 0; i < edges.size(); i++) assertTrue(edges.from(i) < edges.to(i));
+    }
+
+}
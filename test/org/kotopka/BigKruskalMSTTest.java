@@ -0,0 +1,92 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigKruskalMSTTest {
+
+    private static BigEdgeList copy(EdgeList edges, int chunkShift) {
+        BigEdgeList bigEdges = new BigEdgeList(edges.vertexCount(), chunkShift);
+
+        for (int i = 0; i < edges.size(); i++) bigEdges.add(edges.from(i), edges.to(i), edges.weight(i));
+
+        return bigEdges;
+    }
+
+    @Test
+    public void constructorThrowsExceptionWrongUnionFindSize() {
+        BigEdgeList edges = new BigEdgeList(5);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BigKruskalMST(edges, KruskalMST.Sort.SEQUENTIAL, new RemUnionFind(4)));
+    }
+
+    @Test
+    public void emptyGraphHasEmptyForest() {
+        BigKruskalMST mst = new BigKruskalMST(new BigEdgeList(3));
+
+        assertEquals(0, mst.edgeCount());
+        assertEquals(0.0, mst.totalWeight());
+        assertEquals(3, mst.vertexCount());
+    }
+
+    @Test
+    public void matchesKruskalAcrossManyChunks() {
+        EdgeList edges = GraphGenerator.random(500, 4000, 21).edgeList();
+        KruskalMST expected = new KruskalMST(edges);
+
+        for (KruskalMST.Sort sort : new KruskalMST.Sort[] { KruskalMST.Sort.SEQUENTIAL, KruskalMST.Sort.PARALLEL }) {
+            BigKruskalMST mst = new BigKruskalMST(copy(edges, 6), sort);
+
+            assertEquals(expected.edgeCount(), mst.edgeCount());
+            assertEquals(expected.totalWeight(), mst.totalWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void matchesKruskalOnForest() {
+        // two grids side by side, never connected
+        EdgeList edges = new EdgeList(200, 0);
+        EdgeList grid = GraphGenerator.grid(10, 10, 8).edgeList();
+
+        for (int i = 0; i < grid.size(); i++) {
+            edges.add(grid.from(i), grid.to(i), grid.weight(i));
+            edges.add(grid.from(i) + 100, grid.to(i) + 100, grid.weight(i) * 2);
+        }
+
+        KruskalMST expected = new KruskalMST(edges);
+        BigKruskalMST mst = new BigKruskalMST(copy(edges, 5));
+
+        assertEquals(198, mst.edgeCount());
+        assertEquals(expected.totalWeight(), mst.totalWeight(), 1e-9);
+        assertEquals(edges.size(), mst.edgesScanned());
+    }
+
+    @Test
+    public void stopsWhenTreeIsComplete() {
+        BigEdgeList edges = new BigEdgeList(3, 1);
+        edges.add(0, 1, 1.0);
+        edges.add(1, 2, 2.0);
+        edges.add(0, 2, 3.0);
+        edges.add(0, 2, 4.0);
+
+        BigKruskalMST mst = new BigKruskalMST(edges);
+
+        assertEquals(2, mst.edgeCount());
+        assertEquals(3.0, mst.totalWeight());
+        assertEquals(2, mst.edgesScanned());
+    }
+
+    @Test
+    public void offHeapGraphMatchesKruskal() throws IOException {
+        EdgeList edges = GraphGenerator.random(300, 2000, 5).edgeList();
+        KruskalMST expected = new KruskalMST(edges);
+        BigKruskalMST mst = new BigKruskalMST(OffHeapCsrGraph.build(edges, null));
+
+        assertEquals(expected.edgeCount(), mst.edgeCount());
+        assertEquals(expected.totalWeight(), mst.totalWeight(), 1e-9);
+    }
+
+}
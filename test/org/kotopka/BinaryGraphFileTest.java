@@ -0,0 +1,95 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphFileTest {
+
+    private static final String TINY = "4\n3\n0 1 0.5\n1 2 1.25\n3 0 7.0\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void writeThenReadRoundTrips() throws IOException {
+        EdgeList edges = new EdgeList(5, 0);
+        edges.add(0, 1, 0.5);
+        edges.add(4, 2, -3.0);
+        edges.add(3, 3, 1e-9);
+
+        Path file = dir.resolve("graph.bin");
+        BinaryGraphFile.write(file, edges);
+        EdgeList read = BinaryGraphFile.read(file);
+
+        assertEquals(5, read.vertexCount());
+        assertEquals(3, read.size());
+
+        for (int i = 0; i < edges.size(); i++) {
+            assertEquals(edges.from(i), read.from(i));
+            assertEquals(edges.to(i), read.to(i));
+            assertEquals(edges.weight(i), read.weight(i));
+        }
+    }
+
+    @Test
+    public void convertReadsTextFormat() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), TINY);
+        Path binary = dir.resolve("graph.txt.bin");
+
+        BinaryGraphFile.convert(text, binary);
+        EdgeList read = BinaryGraphFile.read(binary);
+
+        assertEquals(4, read.vertexCount());
+        assertEquals(3, read.size());
+        assertEquals(3, read.from(2));
+        assertEquals(1.25, read.weight(1));
+    }
+
+    @Test
+    public void convertRejectsWrongEdgeCount() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "4\n5\n0 1 0.5\n");
+        Path binary = dir.resolve("graph.txt.bin");
+
+        assertThrows(IOException.class, () -> BinaryGraphFile.convert(text, binary));
+        assertFalse(Files.exists(binary));
+    }
+
+    @Test
+    public void cacheGoesStaleWhenTextChanges() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), TINY);
+        Path binary = dir.resolve("graph.txt.bin");
+
+        BinaryGraphFile.convert(text, binary);
+        assertTrue(BinaryGraphFile.isCacheOf(binary, text));
+
+        Files.setLastModifiedTime(text, FileTime.fromMillis(Files.getLastModifiedTime(text).toMillis() + 1000));
+        assertFalse(BinaryGraphFile.isCacheOf(binary, text));
+    }
+
+    @Test
+    public void readRejectsTruncatedFile() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), TINY);
+        Path binary = dir.resolve("graph.txt.bin");
+
+        BinaryGraphFile.convert(text, binary);
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(IOException.class, () -> BinaryGraphFile.read(binary));
+    }
+
+    @Test
+    public void readRejectsTextFile() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), TINY + TINY + TINY);
+        assertThrows(IOException.class, () -> BinaryGraphFile.read(text));
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoruvkaMSTTest {
+
+    // enough edges for the per-round loops to split into several tasks
+    private static final int EDGES = 40_000;
+
+    private static void assertMatchesKruskal(EdgeList edges) {
+        KruskalMST expected = new KruskalMST(edges);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            BoruvkaMST actual = new BoruvkaMST(edges, pool);
+
+            assertEquals(expected.vertexCount(), actual.vertexCount());
+            assertEquals(expected.edgeCount(), actual.edgeCount());
+            assertEquals(expected.totalWeight(), actual.totalWeight(), 1e-9);
+
+            int count = 0;
+            double weight = 0.0;
+
+            for (Edge e : actual.edges()) {
+                count++;
+                weight += e.weight();
+            }
+
+            assertEquals(actual.edgeCount(), count);
+            assertEquals(actual.totalWeight(), weight, 1e-9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void constructorThrowsExceptionNullPool() {
+        EdgeList edges = new EdgeList(3, 0);
+        assertThrows(IllegalArgumentException.class, () -> new BoruvkaMST(edges, null));
+    }
+
+    @Test
+    public void connectedGraphMatchesKruskal() {
+        // a grid is connected, so the forest is a single spanning tree
+        assertMatchesKruskal(GraphGenerator.grid(100, 200, 1).edgeList());
+    }
+
+    @Test
+    public void denseRandomGraphMatchesKruskal() {
+        assertMatchesKruskal(GraphGenerator.random(2000, EDGES, 2).edgeList());
+    }
+
+    @Test
+    public void disconnectedForestMatchesKruskal() {
+        // far fewer edges than vertices, so most components are small trees or isolated vertices
+        EdgeList edges = GraphGenerator.random(60_000, EDGES, 3).edgeList();
+        KruskalMST kruskal = new KruskalMST(edges);
+
+        assertTrue(kruskal.edgeCount() < edges.vertexCount() - 1);
+        assertMatchesKruskal(edges);
+    }
+
+    @Test
+    public void tiedWeightsMatchKruskal() {
+        SplittableRandom random = new SplittableRandom(4);
+        EdgeList edges = new EdgeList(3000, EDGES);
+
+        // only three distinct weights, so almost every component sees a tie for its cheapest edge
+        for (int i = 0; i < EDGES; i++) {
+            edges.add(random.nextInt(3000), random.nextInt(3000), 1.0 + random.nextInt(3));
+        }
+
+        assertMatchesKruskal(edges);
+    }
+
+    @Test
+    public void allEqualWeightsMatchKruskal() {
+        SplittableRandom random = new SplittableRandom(5);
+        EdgeList edges = new EdgeList(5000, EDGES);
+
+        for (int i = 0; i < EDGES; i++) edges.add(random.nextInt(5000), random.nextInt(5000), 0.5);
+
+        assertMatchesKruskal(edges);
+    }
+
+    @Test
+    public void selfLoopsAreIgnored() {
+        SplittableRandom random = new SplittableRandom(6);
+        EdgeList edges = new EdgeList(2000, 2 * EDGES);
+
+        // the self-loops are the lightest edges, and none of them may be taken
+        for (int i = 0; i < EDGES; i++) {
+            int v = random.nextInt(2000);
+
+            edges.add(v, v, 0.001);
+            edges.add(v, random.nextInt(2000), 0.1 + random.nextDouble());
+        }
+
+        assertMatchesKruskal(edges);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (Edge e : new BoruvkaMST(edges, pool).edges()) {
+                assertNotEquals(e.either(), e.other(e.either()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void onlySelfLoopsGiveEmptyForest() {
+        EdgeList edges = new EdgeList(3, 3);
+        edges.add(0, 0, 1.0);
+        edges.add(1, 1, 2.0);
+        edges.add(2, 2, 3.0);
+
+        assertMatchesKruskal(edges);
+        assertEquals(0, new BoruvkaMST(edges, ForkJoinPool.commonPool()).edgeCount());
+    }
+
+    @Test
+    public void edgeWeightedGraphMatchesKruskal() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(4);
+        ewg.addEdge(new Edge(0, 1, 1.0));
+        ewg.addEdge(new Edge(1, 2, 1.0));
+        ewg.addEdge(new Edge(2, 0, 1.0));
+        ewg.addEdge(new Edge(2, 3, 0.5));
+        ewg.addEdge(new Edge(3, 3, 0.1));
+
+        BoruvkaMST mst = new BoruvkaMST(ewg);
+
+        assertEquals(3, mst.edgeCount());
+        assertEquals(2.5, mst.totalWeight(), 1e-12);
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketIndexMinPQTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BucketIndexMinPQ(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new BucketIndexMinPQ(5, -1));
+        assertThrows(IllegalArgumentException.class, () -> new BucketIndexMinPQ(5, 10, 0.0));
+    }
+
+    @Test
+    public void delMinReturnsIndicesInKeyOrder() {
+        BucketIndexMinPQ pq = new BucketIndexMinPQ(8, 40);
+        double[] keys = { 35, 37, 28, 16, 32, 38, 17, 19 };
+
+        for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i]);
+
+        int[] expected = { 3, 6, 7, 2, 4, 0, 1, 5 };
+
+        for (int index : expected) {
+            assertEquals(keys[index], pq.minKey());
+            assertEquals(index, pq.delMin());
+        }
+
+        assertTrue(pq.isEmpty());
+        assertThrows(NoSuchElementException.class, pq::delMin);
+    }
+
+    @Test
+    public void insertBelowCursorIsFound() {
+        BucketIndexMinPQ pq = new BucketIndexMinPQ(4, 10);
+        pq.insert(0, 5);
+        pq.insert(1, 8);
+
+        assertEquals(0, pq.delMin());
+
+        pq.insert(2, 2);
+        pq.decreaseKey(1, 1);
+
+        assertEquals(1, pq.delMin());
+        assertEquals(2, pq.delMin());
+    }
+
+    @Test
+    public void scaledKeysKeepTheirExactValue() {
+        BucketIndexMinPQ pq = new BucketIndexMinPQ(3, 100, 100.0);
+        pq.insert(0, 0.29);
+        pq.insert(1, 0.07);
+        pq.insert(2, 0.3);
+
+        assertEquals(0.07, pq.minKey());
+        assertEquals(1, pq.delMin());
+        assertEquals(0.29, pq.minKey());
+    }
+
+    @Test
+    public void insertRejectsKeysWithoutBucket() {
+        BucketIndexMinPQ pq = new BucketIndexMinPQ(4, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, 11));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, Double.NaN));
+    }
+
+    @Test
+    public void forGraphSizesBucketsToLargestWeight() {
+        CsrEdgeWeightedGraph graph = new CsrEdgeWeightedGraph(3, new int[] { 0, 1 }, new int[] { 1, 2 }, new double[] { 7.0, 3.0 });
+
+        assertEquals(7, BucketIndexMinPQ.forGraph(graph).maxKey());
+        assertTrue(BucketIndexMinPQ.isQuantized(graph, 1.0));
+
+        CsrEdgeWeightedGraph fractional = new CsrEdgeWeightedGraph(2, new int[] { 0 }, new int[] { 1 }, new double[] { 0.35 });
+
+        assertFalse(BucketIndexMinPQ.isQuantized(fractional, 1.0));
+        assertTrue(BucketIndexMinPQ.isQuantized(fractional, 100.0));
+        assertThrows(IllegalArgumentException.class, () -> BucketIndexMinPQ.forGraph(fractional));
+    }
+
+}
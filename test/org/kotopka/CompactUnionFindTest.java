@@ -0,0 +1,64 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactUnionFindTest {
+
+    @Test
+    public void unionConnectsAndCounts() {
+        CompactUnionFind uf = new CompactUnionFind(10);
+
+        assertEquals(10, uf.count());
+        assertTrue(uf.union(4, 3));
+        assertTrue(uf.union(3, 8));
+        assertFalse(uf.union(8, 4));
+
+        assertTrue(uf.connected(4, 8));
+        assertFalse(uf.connected(4, 5));
+        assertEquals(uf.find(3), uf.find(8));
+        assertEquals(8, uf.count());
+    }
+
+    @Test
+    public void sitesOutOfRangeFailOnTheArrayBounds() {
+        CompactUnionFind uf = new CompactUnionFind(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.find(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.union(-1, 0));
+    }
+
+    @Test
+    public void matchesWeightedUnionFind() {
+        Random random = new Random(18);
+        CompactUnionFind uf = new CompactUnionFind(500);
+        WeightedUnionFind expected = new WeightedUnionFind(500);
+
+        for (int i = 0; i < 2000; i++) {
+            int p = random.nextInt(500);
+            int q = random.nextInt(500);
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.union(p, q), uf.union(p, q));
+                assertEquals(expected.count(), uf.count());
+            } else {
+                assertEquals(expected.connected(p, q), uf.connected(p, q));
+            }
+        }
+    }
+
+    @Test
+    public void findReturnsARootAfterPathHalving() {
+        CompactUnionFind uf = new CompactUnionFind(8);
+
+        for (int i = 1; i < 8; i++) uf.union(i - 1, i);
+
+        int root = uf.find(7);
+
+        for (int i = 0; i < 8; i++) assertEquals(root, uf.find(i));
+    }
+
+}
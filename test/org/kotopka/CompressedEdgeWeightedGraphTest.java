@@ -0,0 +1,174 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedEdgeWeightedGraphTest {
+
+    private static CsrEdgeWeightedGraph randomGraph() {
+        return new CsrEdgeWeightedGraph(GraphGenerator.random(2000, 20000, 9).edgeList());
+    }
+
+    @Test
+    public void fixedPointThrowsExceptionInvalidQuantum() {
+        CsrEdgeWeightedGraph csr = randomGraph();
+
+        assertThrows(IllegalArgumentException.class, () -> CompressedEdgeWeightedGraph.fixedPoint(csr, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> CompressedEdgeWeightedGraph.fixedPoint(csr, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> CompressedEdgeWeightedGraph.fixedPoint(csr, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> CompressedEdgeWeightedGraph.fixedPoint(csr, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void fixedPointThrowsExceptionWeightTooLarge() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(2, new int[] { 0 }, new int[] { 1 }, new double[] { 1e30 });
+        assertThrows(IllegalArgumentException.class, () -> CompressedEdgeWeightedGraph.fixedPoint(csr, 1e-3));
+    }
+
+    @Test
+    public void cursorThrowsExceptionVertexOutOfRange() {
+        CompressedEdgeWeightedGraph graph = CompressedEdgeWeightedGraph.float32(randomGraph());
+        assertThrows(IllegalArgumentException.class, () -> graph.cursor().reset(2000));
+        assertThrows(IllegalArgumentException.class, () -> graph.adj(-1));
+    }
+
+    @Test
+    public void cursorVisitsSortedNeighborsOfCsrGraph() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(4, new int[] { 0, 0, 2, 3, 0 },
+                new int[] { 3, 1, 2, 0, 2 }, new double[] { 1.5, -2.0, 4.0, 0.25, 7.0 });
+        CompressedEdgeWeightedGraph graph = CompressedEdgeWeightedGraph.fixedPoint(csr, 0.25);
+        CompressedEdgeWeightedGraph.Cursor cursor = graph.cursor();
+
+        assertEquals(4, cursor.reset(0));
+        int[] targets = { 1, 2, 3, 3 };
+
+        for (int target : targets) {
+            assertTrue(cursor.next());
+            assertEquals(target, cursor.target());
+        }
+
+        assertFalse(cursor.next());
+
+        // the self-loop is listed twice, like in CsrEdgeWeightedGraph
+        assertEquals(3, graph.degree(2));
+        assertEquals(1, graph.degree(1));
+        cursor.reset(1);
+        assertTrue(cursor.next());
+        assertEquals(-2.0, cursor.weight());
+    }
+
+    @Test
+    public void fixedPointKeepsIntegerWeightsExact() {
+        EdgeList edges = new EdgeList(50, 0);
+        for (int i = 0; i < 200; i++) edges.add(i % 50, (i * 7 + 3) % 50, (i * 37) % 1000);
+
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(edges);
+        CompressedEdgeWeightedGraph graph = CompressedEdgeWeightedGraph.fixedPoint(csr, 1.0);
+
+        assertTrue(graph.isFixedPoint());
+        assertEquals(1.0, graph.quantum());
+        assertEquals(new EagerPrimMST(csr).totalWeight(), new EagerPrimMST(graph).totalWeight());
+    }
+
+    @Test
+    public void float32MatchesCsrWithinFloatPrecision() {
+        CsrEdgeWeightedGraph csr = randomGraph();
+        CompressedEdgeWeightedGraph graph = CompressedEdgeWeightedGraph.float32(csr);
+
+        assertFalse(graph.isFixedPoint());
+        assertEquals(csr.vertexCount(), graph.vertexCount());
+        assertEquals(csr.edgeCount(), graph.edgeCount());
+
+        CompressedEdgeWeightedGraph.Cursor cursor = graph.cursor();
+
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            assertEquals(csr.degree(v), cursor.reset(v));
+
+            double sum = 0.0;
+            for (int slot = csr.adjStart(v); slot < csr.adjEnd(v); slot++) sum += (float) csr.weight(slot);
+
+            double decoded = 0.0;
+            int previous = -1;
+
+            while (cursor.next()) {
+                assertTrue(cursor.target() >= previous);
+                previous = cursor.target();
+                decoded += cursor.weight();
+            }
+
+            assertEquals(sum, decoded, 1e-9 * Math.abs(sum) + 1e-9);
+        }
+
+        assertEquals(new EagerPrimMST(csr).totalWeight(), new EagerPrimMST(graph).totalWeight(), 1e-3);
+    }
+
+    @Test
+    public void isSmallerThanCsr() {
+        CsrEdgeWeightedGraph csr = randomGraph();
+        long csrBytes = 4L * (csr.vertexCount() + 1) + 24L * csr.edgeCount();
+
+        assertTrue(CompressedEdgeWeightedGraph.float32(csr).byteSize() < csrBytes * 2 / 3);
+        assertTrue(CompressedEdgeWeightedGraph.fixedPoint(csr, 1e-4).byteSize() < csrBytes / 2);
+    }
+
+    @Test
+    public void adjIteratesAsEdges() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(3, new int[] { 0, 1 }, new int[] { 1, 2 }, new double[] { 0.5, 1.5 });
+        CompressedEdgeWeightedGraph graph = CompressedEdgeWeightedGraph.float32(csr);
+
+        Iterator<Edge> it = graph.adj(1).iterator();
+        Edge first = it.next();
+        Edge second = it.next();
+
+        assertEquals(0, first.other(1));
+        assertEquals(0.5, first.weight());
+        assertEquals(2, second.other(1));
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void offHeapGraphAcrossSmallChunksMatchesCsr() throws IOException {
+        EdgeList edges = GraphGenerator.random(500, 4000, 13).edgeList();
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(edges);
+        OffHeapCsrGraph offHeap = OffHeapCsrGraph.build(edges, null);
+
+        for (double quantum : new double[] { 0.0, 1e-3 }) {
+            CompressedEdgeWeightedGraph expected = quantum == 0.0
+                    ? CompressedEdgeWeightedGraph.float32(csr)
+                    : CompressedEdgeWeightedGraph.fixedPoint(csr, quantum);
+
+            // 64-byte chunks, so varints, floats and whole lists straddle chunk boundaries
+            CompressedEdgeWeightedGraph chunked = CompressedEdgeWeightedGraph.compress(offHeap, quantum, 6);
+
+            assertEquals(expected.edgeCount(), chunked.edgeCount());
+            assertEquals(expected.byteSize(), chunked.byteSize());
+
+            CompressedEdgeWeightedGraph.Cursor a = expected.cursor();
+            CompressedEdgeWeightedGraph.Cursor b = chunked.cursor();
+
+            for (int v = 0; v < csr.vertexCount(); v++) {
+                assertEquals(a.reset(v), b.reset(v));
+
+                while (a.next()) {
+                    assertTrue(b.next());
+                    assertEquals(a.target(), b.target());
+                    assertEquals(a.weight(), b.weight());
+                }
+
+                assertFalse(b.next());
+            }
+
+            assertEquals(new EagerPrimMST(expected).totalWeight(), new EagerPrimMST(chunked).totalWeight());
+        }
+
+        assertEquals(new EagerPrimMST(csr).totalWeight(),
+                new EagerPrimMST(CompressedEdgeWeightedGraph.float32(offHeap)).totalWeight(), 1e-3);
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentUnionFindTest {
+
+    @Test
+    public void unionConnectsAndCounts() {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(10);
+
+        assertEquals(10, uf.count());
+        assertTrue(uf.union(4, 3));
+        assertTrue(uf.union(3, 8));
+        assertFalse(uf.union(8, 4));
+
+        assertTrue(uf.connected(4, 8));
+        assertFalse(uf.connected(4, 5));
+        assertEquals(uf.find(3), uf.find(8));
+        assertEquals(8, uf.count());
+    }
+
+    @Test
+    public void rejectsSitesOutOfRange() {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(3);
+
+        assertThrows(IllegalArgumentException.class, () -> uf.find(3));
+        assertThrows(IllegalArgumentException.class, () -> uf.union(-1, 0));
+    }
+
+    @Test
+    public void matchesWeightedUnionFindSequentially() {
+        Random random = new Random(15);
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(200);
+        WeightedUnionFind expected = new WeightedUnionFind(200);
+
+        for (int i = 0; i < 300; i++) {
+            int p = random.nextInt(200);
+            int q = random.nextInt(200);
+
+            assertEquals(!expected.connected(p, q), uf.union(p, q));
+            expected.union(p, q);
+            assertEquals(expected.count(), uf.count());
+        }
+    }
+
+    @Test
+    public void concurrentUnionsJoinEverySiteOnce() throws Exception {
+        int n = 100_000;
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // every site is joined to its neighbor twice, from different threads, so only half the calls can succeed
+            long joined = pool.submit(() -> IntStream.range(0, 2 * (n - 1)).parallel()
+                    .filter(i -> uf.union(i % (n - 1), i % (n - 1) + 1))
+                    .count()).get();
+
+            assertEquals(n - 1, joined);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1, uf.count());
+        assertTrue(uf.connected(0, n - 1));
+    }
+
+}
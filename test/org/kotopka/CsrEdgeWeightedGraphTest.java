@@ -0,0 +1,160 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrEdgeWeightedGraphTest {
+
+    private static EdgeWeightedGraph tinyGraph() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(8);
+
+        // graph from Algorithms 4th ed. pg. 604
+        ewg.addEdge(new Edge(4, 5, 0.35));
+        ewg.addEdge(new Edge(4, 7, 0.37));
+        ewg.addEdge(new Edge(5, 7, 0.28));
+        ewg.addEdge(new Edge(0, 7, 0.16));
+        ewg.addEdge(new Edge(1, 5, 0.32));
+        ewg.addEdge(new Edge(0, 4, 0.38));
+        ewg.addEdge(new Edge(2, 3, 0.17));
+        ewg.addEdge(new Edge(1, 7, 0.19));
+        ewg.addEdge(new Edge(0, 2, 0.26));
+        ewg.addEdge(new Edge(1, 2, 0.36));
+        ewg.addEdge(new Edge(1, 3, 0.29));
+        ewg.addEdge(new Edge(2, 7, 0.34));
+        ewg.addEdge(new Edge(6, 2, 0.40));
+        ewg.addEdge(new Edge(3, 6, 0.52));
+        ewg.addEdge(new Edge(6, 0, 0.58));
+        ewg.addEdge(new Edge(6, 4, 0.93));
+
+        return ewg;
+    }
+
+    private static EdgeWeightedGraph forestWithParallelEdges() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(9);
+
+        // two components, {0..4} with parallel edges and a self-loop, {5..7} a triangle, and 8 isolated
+        ewg.addEdge(new Edge(0, 1, 0.50));
+        ewg.addEdge(new Edge(0, 1, 0.20));
+        ewg.addEdge(new Edge(1, 0, 0.90));
+        ewg.addEdge(new Edge(1, 2, 0.30));
+        ewg.addEdge(new Edge(2, 2, 0.01));
+        ewg.addEdge(new Edge(2, 3, 0.70));
+        ewg.addEdge(new Edge(3, 2, 0.40));
+        ewg.addEdge(new Edge(3, 4, 0.60));
+        ewg.addEdge(new Edge(0, 4, 0.80));
+        ewg.addEdge(new Edge(5, 6, 0.15));
+        ewg.addEdge(new Edge(6, 7, 0.25));
+        ewg.addEdge(new Edge(7, 5, 0.35));
+
+        return ewg;
+    }
+
+    private static EdgeWeightedGraph randomGraph() {
+        EdgeList edges = GraphGenerator.random(500, 3000, 3).edgeList();
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(edges.vertexCount());
+
+        for (int i = 0; i < edges.size(); i++) ewg.addEdge(edges.edge(i));
+
+        return ewg;
+    }
+
+    private static void assertSameForest(MST expected, MST actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        assertEquals(expected.totalWeight(), actual.totalWeight(), 1e-9);
+    }
+
+    private static void assertMstsMatch(EdgeWeightedGraph ewg) {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(ewg);
+
+        assertSameForest(new KruskalMST(ewg), new KruskalMST(csr));
+        assertSameForest(new LazyPrimMST(ewg), new LazyPrimMST(csr));
+        assertSameForest(new EagerPrimMST(ewg), new EagerPrimMST(csr));
+    }
+
+    @Test
+    public void constructorThrowsExceptionInvalidVertices() {
+        int[] empty = new int[0];
+        assertThrows(IllegalArgumentException.class, () -> new CsrEdgeWeightedGraph(0, empty, empty, new double[0]));
+    }
+
+    @Test
+    public void constructorThrowsExceptionVertexOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsrEdgeWeightedGraph(3, new int[] { 0 }, new int[] { 3 }, new double[] { 1.0 }));
+    }
+
+    @Test
+    public void countsMatchEdgeWeightedGraph() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(tinyGraph());
+        assertEquals(8, csr.vertexCount());
+        assertEquals(16, csr.edgeCount());
+    }
+
+    @Test
+    public void degreesMatchEdgeWeightedGraph() {
+        EdgeWeightedGraph ewg = tinyGraph();
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(ewg);
+
+        for (int v = 0; v < ewg.vertexCount(); v++) {
+            int degree = 0;
+            for (Edge e : ewg.adj(v)) degree++;
+
+            assertEquals(degree, csr.degree(v));
+            assertEquals(degree, csr.adjEnd(v) - csr.adjStart(v));
+        }
+    }
+
+    @Test
+    public void arrayConstructorStoresBothDirections() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(4, new int[] { 0, 2 }, new int[] { 2, 3 }, new double[] { 1.5, 2.5 });
+
+        assertEquals(1, csr.degree(0));
+        assertEquals(0, csr.degree(1));
+        assertEquals(2, csr.degree(2));
+        assertEquals(2, csr.target(csr.adjStart(0)));
+        assertEquals(1.5, csr.weight(csr.adjStart(0)));
+        assertEquals(2, csr.target(csr.adjStart(3)));
+        assertEquals(2.5, csr.weight(csr.adjStart(3)));
+    }
+
+    @Test
+    public void sourceFindsOwnerSkippingEmptyVertices() {
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(4, new int[] { 0, 2 }, new int[] { 2, 3 }, new double[] { 1.5, 2.5 });
+
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            for (int slot = csr.adjStart(v); slot < csr.adjEnd(v); slot++) {
+                assertEquals(v, csr.source(slot));
+            }
+        }
+    }
+
+    @Test
+    public void mstsMatchEdgeWeightedGraph() {
+        assertMstsMatch(tinyGraph());
+
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(tinyGraph());
+        assertEquals(1.81, new KruskalMST(csr).totalWeight(), 1e-9);
+        assertEquals(7, new EagerPrimMST(csr).edgeCount());
+    }
+
+    @Test
+    public void mstsMatchEdgeWeightedGraphOnForest() {
+        assertMstsMatch(forestWithParallelEdges());
+
+        CsrEdgeWeightedGraph csr = new CsrEdgeWeightedGraph(forestWithParallelEdges());
+
+        // 9 vertices in 3 components, the lighter of each parallel pair and no self-loop
+        for (MST mst : new MST[] { new KruskalMST(csr), new LazyPrimMST(csr), new EagerPrimMST(csr) }) {
+            assertEquals(6, mst.edgeCount());
+            assertEquals(0.20 + 0.30 + 0.40 + 0.60 + 0.15 + 0.25, mst.totalWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void mstsMatchEdgeWeightedGraphOnRandomGraph() {
+        assertMstsMatch(randomGraph());
+    }
+
+}
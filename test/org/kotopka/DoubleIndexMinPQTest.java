@@ -0,0 +1,97 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleIndexMinPQTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleIndexMinPQ(0));
+    }
+
+    @Test
+    public void isEmptyNewPQ() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(5);
+        assertTrue(pq.isEmpty());
+        assertEquals(0, pq.size());
+    }
+
+    @Test
+    public void delMinReturnsIndicesInKeyOrder() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(8);
+        double[] keys = { 0.35, 0.37, 0.28, 0.16, 0.32, 0.38, 0.17, 0.19 };
+
+        for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i]);
+
+        int[] expected = { 3, 6, 7, 2, 4, 0, 1, 5 };
+
+        for (int index : expected) {
+            assertEquals(keys[index], pq.minKey());
+            assertEquals(index, pq.delMin());
+        }
+
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void decreaseKeyMovesIndexToFront() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(4);
+        pq.insert(0, 1.0);
+        pq.insert(1, 2.0);
+        pq.insert(2, 3.0);
+
+        pq.decreaseKey(2, 0.5);
+
+        assertEquals(0.5, pq.key(2));
+        assertEquals(2, pq.delMin());
+    }
+
+    @Test
+    public void decreaseKeyRejectsLargerOrEqualKey() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(4);
+        pq.insert(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> pq.decreaseKey(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> pq.decreaseKey(0, 2.0));
+        assertThrows(NoSuchElementException.class, () -> pq.decreaseKey(1, 0.5));
+    }
+
+    @Test
+    public void changeKeyCanIncrease() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(4);
+        pq.insert(0, 1.0);
+        pq.insert(1, 2.0);
+
+        pq.changeKey(0, 3.0);
+
+        assertEquals(1, pq.delMin());
+        assertEquals(0, pq.delMin());
+    }
+
+    @Test
+    public void insertRejectsDuplicateIndexAndNaN() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(4);
+        pq.insert(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(4, 2.0));
+    }
+
+    @Test
+    public void indexReusableAfterDelMin() {
+        DoubleIndexMinPQ pq = new DoubleIndexMinPQ(2);
+        pq.insert(1, 1.0);
+        assertEquals(1, pq.delMin());
+        assertFalse(pq.contains(1));
+
+        pq.insert(1, 5.0);
+        assertTrue(pq.contains(1));
+        assertThrows(NoSuchElementException.class, () -> pq.key(0));
+    }
+
+}
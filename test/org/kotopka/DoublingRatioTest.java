@@ -0,0 +1,48 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoublingRatioTest {
+
+    @Test
+    public void fitRecoversAPowerLaw() {
+        double[] sizes = { 1000, 2000, 4000, 8000, 16000 };
+        double[] times = new double[sizes.length];
+
+        for (int i = 0; i < sizes.length; i++) times[i] = 3.5 * Math.pow(sizes[i], 1.25);
+
+        double[] fit = DoublingRatio.fit(sizes, times);
+
+        assertEquals(1.25, fit[0], 1e-9);
+        assertEquals(3.5, fit[1], 1e-6);
+    }
+
+    @Test
+    public void fitNeedsTwoPoints() {
+        assertThrows(IllegalArgumentException.class, () -> DoublingRatio.fit(new double[] { 1 }, new double[] { 1 }));
+    }
+
+    @Test
+    public void everyEngineMeasuresTheSameTree() {
+        DoublingRatio.Inputs inputs = new DoublingRatio.Inputs(GraphGenerator.random(500, 2000, 3).edgeList());
+        double expected = new KruskalMST(GraphGenerator.random(500, 2000, 3).edgeList()).totalWeight();
+
+        for (DoublingRatio.Engine engine : DoublingRatio.Engine.values()) {
+            DoublingRatio.Measurement m = DoublingRatio.measure(engine, inputs, 1);
+
+            assertEquals(expected, m.totalWeight, 1e-9, engine.label());
+            assertEquals(2000, m.edgeCount);
+            assertTrue(m.nanos > 0);
+            assertTrue(m.peakHeapBytes >= 0);
+        }
+    }
+
+    @Test
+    public void enginesAreLookedUpByLabel() {
+        assertEquals(DoublingRatio.Engine.LAZY_PRIM, DoublingRatio.Engine.of("lazyPrim"));
+        assertThrows(IllegalArgumentException.class, () -> DoublingRatio.Engine.of("dijkstra"));
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicMSTTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void constructorThrowsExceptionInvalidVertexCount() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamicMST(0));
+    }
+
+    @Test
+    public void insertReplacesHeaviestEdgeOnCycle() {
+        DynamicMST dynamicMST = new DynamicMST(3);
+
+        assertTrue(dynamicMST.insert(0, 1, 3.0));
+        assertTrue(dynamicMST.insert(1, 2, 2.0));
+        assertEquals(5.0, dynamicMST.totalWeight());
+
+        assertFalse(dynamicMST.insert(0, 2, 4.0));
+        assertTrue(dynamicMST.insert(0, 2, 1.0));
+
+        assertEquals(3.0, dynamicMST.totalWeight());
+        assertEquals(2, dynamicMST.edgeCount());
+
+        for (Edge e : dynamicMST.edges()) assertNotEquals(3.0, e.weight());
+    }
+
+    @Test
+    public void insertIgnoresSelfLoopsAndRejectsBadVertices() {
+        DynamicMST dynamicMST = new DynamicMST(2);
+
+        assertFalse(dynamicMST.insert(1, 1, 0.5));
+        assertEquals(0, dynamicMST.edgeCount());
+        assertThrows(IllegalArgumentException.class, () -> dynamicMST.insert(0, 2, 0.5));
+    }
+
+    @Test
+    public void matchesKruskalOnRandomGraphs() {
+        Random random = new Random(12);
+
+        for (int t = 0; t < 20; t++) {
+            int vertexCount = 1 + random.nextInt(200);
+            EdgeList edges = new EdgeList(vertexCount, 0);
+            DynamicMST dynamicMST = new DynamicMST(vertexCount);
+
+            for (int i = 0; i < 3 * vertexCount; i++) {
+                int v = random.nextInt(vertexCount);
+                int w = random.nextInt(vertexCount);
+                double weight = random.nextInt(50);
+
+                edges.add(v, w, weight);
+                dynamicMST.insert(v, w, weight);
+            }
+
+            KruskalMST kruskal = new KruskalMST(edges);
+
+            assertEquals(kruskal.totalWeight(), dynamicMST.totalWeight());
+            assertEquals(kruskal.edgeCount(), dynamicMST.edgeCount());
+        }
+    }
+
+    @Test
+    public void fromFileStreamsEdges() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "4\n5\n0 1 0.5\n1 2 1.25\n3 0 7.0\n0 2 0.75\n2 3 2.0\n");
+
+        DynamicMST dynamicMST = DynamicMST.fromFile(text);
+
+        assertEquals(4, dynamicMST.vertexCount());
+        assertEquals(3, dynamicMST.edgeCount());
+        assertEquals(3.25, dynamicMST.totalWeight());
+    }
+
+}
@@ -0,0 +1,187 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeListTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidVertices() {
+        assertThrows(IllegalArgumentException.class, () -> new EdgeList(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new EdgeList(-3, 4));
+    }
+
+    @Test
+    public void addThrowsExceptionVertexOutOfRange() {
+        EdgeList edges = new EdgeList(3, 4);
+        assertThrows(IllegalArgumentException.class, () -> edges.add(0, 3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> edges.add(-1, 2, 1.0));
+    }
+
+    @Test
+    public void addGrowsPastInitialCapacity() {
+        EdgeList edges = new EdgeList(10, 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, edges.add(i % 10, (i + 1) % 10, i));
+        }
+
+        assertEquals(100, edges.size());
+        assertEquals(9, edges.from(99));
+        assertEquals(0, edges.to(99));
+        assertEquals(99.0, edges.weight(99));
+    }
+
+    @Test
+    public void copiesEachGraphEdgeOnce() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(4);
+        ewg.addEdge(new Edge(0, 1, 1.0));
+        ewg.addEdge(new Edge(2, 1, 2.0));
+        ewg.addEdge(new Edge(3, 0, 3.0));
+
+        EdgeList edges = new EdgeList(ewg);
+        assertEquals(3, edges.size());
+        assertEquals(4, edges.vertexCount());
+    }
+
+    @Test
+    public void sortedIndexOrdersByWeight() {
+        EdgeList edges = new EdgeList(100, 0);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            edges.add(random.nextInt(100), random.nextInt(100), random.nextInt(50) / 10.0);
+        }
+
+        int[] order = edges.sortedIndex();
+        boolean[] seen = new boolean[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            assertFalse(seen[order[i]]);
+            seen[order[i]] = true;
+
+            if (i > 0) assertTrue(edges.weight(order[i - 1]) <= edges.weight(order[i]));
+        }
+    }
+
+    @Test
+    public void parallelSortedIndexOrdersByWeight() {
+        EdgeList edges = new EdgeList(100, 0);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            edges.add(random.nextInt(100), random.nextInt(100), random.nextGaussian());
+        }
+
+        int[] order = edges.parallelSortedIndex();
+        boolean[] seen = new boolean[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            assertFalse(seen[order[i]]);
+            seen[order[i]] = true;
+
+            if (i > 0) assertTrue(edges.weight(order[i - 1]) <= edges.weight(order[i]));
+        }
+    }
+
+    @Test
+    public void parallelSortedIndexSeparatesWeightsDifferingInLowBits() {
+        EdgeList edges = new EdgeList(2, 0);
+        double base = 1.0;
+
+        // these only differ in the lowest mantissa bits, which are not part of the packed sort key
+        edges.add(0, 1, Math.nextUp(Math.nextUp(base)));
+        edges.add(0, 1, base);
+        edges.add(0, 1, Math.nextUp(base));
+
+        assertArrayEquals(new int[] { 1, 2, 0 }, edges.parallelSortedIndex());
+    }
+
+    @Test
+    public void sortableBitsPreservesOrder() {
+        double[] values = { Double.NEGATIVE_INFINITY, -3.5, -1.0, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 0.25, 7.0, Double.POSITIVE_INFINITY };
+
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(EdgeList.sortableBits(values[i - 1]) < EdgeList.sortableBits(values[i]));
+        }
+    }
+
+    @Test
+    public void sortedIndexEmptyList() {
+        assertEquals(0, new EdgeList(5, 0).sortedIndex().length);
+        assertEquals(0, new EdgeList(5, 0).parallelSortedIndex().length);
+    }
+
+    @Test
+    public void sortedIndexEmptyListRadix() {
+        assertEquals(0, new EdgeList(5, 0).radixSortedIndex(new long[0]).length);
+    }
+
+    @Test
+    public void hasIntegerWeights() {
+        EdgeList edges = new EdgeList(3, 0);
+        edges.add(0, 1, 4.0);
+        edges.add(1, 2, -7.0);
+        assertTrue(edges.hasIntegerWeights());
+
+        edges.add(0, 2, 0.5);
+        assertFalse(edges.hasIntegerWeights());
+    }
+
+    @Test
+    public void hasIntegerWeightsRejectsWeightsBeyond2To53() {
+        EdgeList edges = new EdgeList(3, 0);
+        edges.add(0, 1, 0x1p53);
+        edges.add(1, 2, -0x1p53);
+        assertTrue(edges.hasIntegerWeights());
+
+        // whole as a double, but too large for quantizedWeights(1.0)
+        edges.add(0, 2, 0x1p54);
+        assertFalse(edges.hasIntegerWeights());
+    }
+
+    @Test
+    public void quantizedWeightsRoundsToNearestMultiple() {
+        EdgeList edges = new EdgeList(2, 0);
+        edges.add(0, 1, 0.29);
+        edges.add(0, 1, -1.004);
+
+        assertArrayEquals(new long[] { 29, -100 }, edges.quantizedWeights(0.01));
+        assertThrows(IllegalArgumentException.class, () -> edges.quantizedWeights(0.0));
+        assertThrows(IllegalArgumentException.class, () -> edges.quantizedWeights(1e-300));
+    }
+
+    @Test
+    public void radixSortedIndexThrowsExceptionWrongKeyCount() {
+        EdgeList edges = new EdgeList(2, 0);
+        edges.add(0, 1, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> edges.radixSortedIndex(new long[2]));
+    }
+
+    @Test
+    public void radixSortedIndexIsStableAndMatchesSortedOrder() {
+        Random random = new Random(31);
+
+        // a narrow range takes the counting sort, the wider ones one to six radix passes
+        for (long range : new long[] { 50, 1L << 20, 1L << 40, Long.MAX_VALUE / 2 }) {
+            EdgeList edges = new EdgeList(10, 0);
+            long[] keys = new long[5000];
+
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (long) (random.nextDouble() * range) - range / 2;
+                edges.add(0, 1, keys[i]);
+            }
+
+            int[] order = edges.radixSortedIndex(keys);
+
+            for (int i = 1; i < order.length; i++) {
+                assertTrue(keys[order[i - 1]] < keys[order[i]] || keys[order[i - 1]] == keys[order[i]] && order[i - 1] < order[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeMinPQTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new EdgeMinPQ(0));
+    }
+
+    @Test
+    public void delMinReturnsEdgesInWeightOrderAndGrows() {
+        EdgeMinPQ pq = new EdgeMinPQ(1);
+        double[] weights = { 0.35, 0.37, 0.28, 0.16, 0.32, 0.38, 0.17, 0.19 };
+
+        for (int i = 0; i < weights.length; i++) pq.insert(weights[i], i);
+
+        int[] expected = { 3, 6, 7, 2, 4, 0, 1, 5 };
+
+        for (int edge : expected) {
+            assertEquals(weights[edge], pq.minWeight());
+            assertEquals(edge, pq.minEdge());
+            assertEquals(edge, pq.delMin());
+        }
+
+        assertTrue(pq.isEmpty());
+        assertThrows(NoSuchElementException.class, pq::delMin);
+    }
+
+    @Test
+    public void insertRejectsNaN() {
+        EdgeMinPQ pq = new EdgeMinPQ(4);
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(Double.NaN, 0));
+    }
+
+    @Test
+    public void purgeRemovesStaleEdgesAndKeepsHeapOrder() {
+        Random random = new Random(11);
+        int n = 1000;
+        EdgeMinPQ pq = new EdgeMinPQ(16);
+        double[] weights = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            weights[i] = random.nextDouble();
+            pq.insert(weights[i], i);
+        }
+
+        // drop the odd edges
+        assertEquals(n / 2, pq.purge(edge -> edge % 2 == 1));
+        assertEquals(n / 2, pq.size());
+
+        double[] expected = new double[n / 2];
+        for (int i = 0; i < n / 2; i++) expected[i] = weights[2 * i];
+        Arrays.sort(expected);
+
+        for (double weight : expected) {
+            assertEquals(weight, pq.minWeight());
+            assertEquals(0, pq.delMin() % 2);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalKruskalMSTTest {
+
+    @TempDir
+    Path dir;
+
+    private static Path writeGraph(Path file, EdgeList edgeList) throws IOException {
+        StringBuilder sb = new StringBuilder().append(edgeList.vertexCount()).append('\n').append(edgeList.size()).append('\n');
+
+        for (int i = 0; i < edgeList.size(); i++) {
+            sb.append(edgeList.from(i)).append(' ').append(edgeList.to(i)).append(' ').append(edgeList.weight(i)).append('\n');
+        }
+
+        return Files.writeString(file, sb);
+    }
+
+    private static EdgeList randomEdges(long seed, int vertexCount, int edges) {
+        Random random = new Random(seed);
+        EdgeList edgeList = new EdgeList(vertexCount, edges);
+
+        for (int i = 0; i < edges; i++) {
+            edgeList.add(random.nextInt(vertexCount), random.nextInt(vertexCount), random.nextInt(1000) / 100.0);
+        }
+
+        return edgeList;
+    }
+
+    private static void assertEmpty(Path runDir) throws IOException {
+        try (Stream<Path> files = Files.list(runDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void matchesKruskalWithManyRuns() throws IOException {
+        EdgeList edgeList = randomEdges(14, 300, 2000);
+        Path text = writeGraph(dir.resolve("graph.txt"), edgeList);
+        Path runDir = Files.createDirectory(dir.resolve("runs"));
+
+        ExternalKruskalMST external = new ExternalKruskalMST(text, runDir, 64);
+        KruskalMST kruskal = new KruskalMST(edgeList);
+
+        assertFalse(external.isPresorted());
+        assertEquals(32, external.runCount());
+        assertEquals(kruskal.edgeCount(), external.edgeCount());
+        assertEquals(kruskal.totalWeight(), external.totalWeight(), 1e-9);
+
+        assertEquals(0, external.mergePassCount());
+
+        // the run files are cleaned up
+        assertEmpty(runDir);
+    }
+
+    @Test
+    public void moreRunsThanFanInAreMergedInPasses() throws IOException {
+        EdgeList edgeList = randomEdges(15, 300, 2000);
+        Path text = writeGraph(dir.resolve("graph.txt"), edgeList);
+        Path runDir = Files.createDirectory(dir.resolve("runs"));
+        KruskalMST kruskal = new KruskalMST(edgeList);
+
+        // about 63 runs of 32 edges, so even a fan-in of 8 needs a pass before the final merge
+        for (int fanIn = 2; fanIn <= 8; fanIn *= 2) {
+            ExternalKruskalMST external = new ExternalKruskalMST(text, runDir, 32, fanIn);
+
+            assertTrue(external.mergePassCount() > 0);
+            assertEquals(kruskal.edgeCount(), external.edgeCount());
+            assertEquals(kruskal.totalWeight(), external.totalWeight(), 1e-9);
+            assertEmpty(runDir);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new ExternalKruskalMST(text, runDir, 32, 1));
+    }
+
+    @Test
+    public void longSortedPrefixIsMergedWithTheRuns() throws IOException {
+        // sorted except for the last edge, which is the lightest one and belongs in the tree
+        EdgeList edgeList = new EdgeList(100, 300);
+
+        for (int i = 0; i < 299; i++) edgeList.add(i % 100, (i * 7 + 1) % 100, 1.0 + i);
+        edgeList.add(0, 50, 0.5);
+
+        Path text = writeGraph(dir.resolve("graph.txt"), edgeList);
+        ExternalKruskalMST external = new ExternalKruskalMST(text, dir, 16, 2);
+        KruskalMST kruskal = new KruskalMST(edgeList);
+
+        assertFalse(external.isPresorted());
+        assertEquals(1, external.runCount());
+        assertEquals(kruskal.edgeCount(), external.edgeCount());
+        assertEquals(kruskal.totalWeight(), external.totalWeight(), 1e-9);
+    }
+
+    @Test
+    public void presortedFileIsConsumedDirectly() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "4\n5\n0 1 0.5\n0 2 0.75\n1 2 1.25\n2 3 2.0\n3 0 7.0\n");
+
+        ExternalKruskalMST external = new ExternalKruskalMST(text, dir, 2);
+
+        assertTrue(external.isPresorted());
+        assertEquals(0, external.runCount());
+        assertEquals(3, external.edgeCount());
+        assertEquals(3.25, external.totalWeight());
+    }
+
+    @Test
+    public void rejectsVertexOutOfRange() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "2\n1\n0 2 0.5\n");
+
+        assertThrows(IOException.class, () -> new ExternalKruskalMST(text, dir, 16));
+    }
+
+}
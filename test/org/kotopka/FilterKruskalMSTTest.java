@@ -0,0 +1,119 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterKruskalMSTTest {
+
+    // more than the parallel cutoff of 2^16, so the first partitions and filters run on the pool
+    private static final int EDGES = 200_000;
+
+    private static void assertSameForest(MST expected, MST actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        assertEquals(expected.totalWeight(), actual.totalWeight(), 1e-9);
+
+        int count = 0;
+        for (Edge e : actual.edges()) count++;
+
+        assertEquals(actual.edgeCount(), count);
+    }
+
+    private static void assertMatchesKruskal(EdgeList edges) {
+        KruskalMST expected = new KruskalMST(edges);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertSameForest(expected, new FilterKruskalMST(edges));
+            assertSameForest(expected, new FilterKruskalMST(edges, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void smallGraphMatchesKruskal() {
+        // below the base case, sorted directly
+        assertMatchesKruskal(GraphGenerator.random(100, 500, 1).edgeList());
+    }
+
+    @Test
+    public void denseGraphMatchesKruskal() {
+        // the tree is complete long before the heavy edges, so most of them are filtered out unsorted
+        assertMatchesKruskal(GraphGenerator.random(5000, EDGES, 2).edgeList());
+    }
+
+    @Test
+    public void sparseForestMatchesKruskal() {
+        // more vertices than edges, the tree never completes and every edge is looked at
+        EdgeList edges = GraphGenerator.random(300_000, EDGES, 3).edgeList();
+
+        assertTrue(new KruskalMST(edges).edgeCount() < edges.vertexCount() - 1);
+        assertMatchesKruskal(edges);
+    }
+
+    @Test
+    public void tiedWeightsMatchKruskal() {
+        SplittableRandom random = new SplittableRandom(4);
+        EdgeList edges = new EdgeList(20_000, EDGES);
+
+        // four distinct weights, so the equal-to-pivot ranges are large
+        for (int i = 0; i < EDGES; i++) edges.add(random.nextInt(20_000), random.nextInt(20_000), random.nextInt(4));
+
+        assertMatchesKruskal(edges);
+    }
+
+    @Test
+    public void sortedWeightsMatchKruskal() {
+        SplittableRandom random = new SplittableRandom(5);
+        EdgeList ascending = new EdgeList(20_000, EDGES);
+        EdgeList descending = new EdgeList(20_000, EDGES);
+
+        for (int i = 0; i < EDGES; i++) {
+            int v = random.nextInt(20_000);
+            int w = random.nextInt(20_000);
+
+            ascending.add(v, w, i);
+            descending.add(v, w, EDGES - i);
+        }
+
+        assertMatchesKruskal(ascending);
+        assertMatchesKruskal(descending);
+    }
+
+    @Test
+    public void exhaustedDepthLimitSortsTheRange() {
+        EdgeList edges = GraphGenerator.random(20_000, EDGES, 6).edgeList();
+        KruskalMST expected = new KruskalMST(edges);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // 0 sorts everything up front, 1 and 2 fall back part of the way down
+            for (int depthLimit = 0; depthLimit <= 2; depthLimit++) {
+                assertSameForest(expected, new FilterKruskalMST(edges, null, depthLimit));
+                assertSameForest(expected, new FilterKruskalMST(edges, pool, depthLimit));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void selfLoopsAndParallelEdgesAreHandled() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(3);
+        ewg.addEdge(new Edge(0, 0, 0.1));
+        ewg.addEdge(new Edge(0, 1, 2.0));
+        ewg.addEdge(new Edge(1, 0, 1.0));
+        ewg.addEdge(new Edge(1, 2, 3.0));
+
+        FilterKruskalMST mst = new FilterKruskalMST(ewg);
+
+        assertEquals(2, mst.edgeCount());
+        assertEquals(4.0, mst.totalWeight(), 1e-12);
+    }
+
+}
@@ -0,0 +1,211 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullyDynamicMSTTest {
+
+    @Test
+    public void deleteTreeEdgeFindsReplacement() {
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(3);
+
+        int a = dynamicMST.insertEdge(0, 1, 1.0);
+        int b = dynamicMST.insertEdge(1, 2, 2.0);
+        int c = dynamicMST.insertEdge(0, 2, 3.0);
+
+        assertTrue(dynamicMST.isTreeEdge(a));
+        assertTrue(dynamicMST.isTreeEdge(b));
+        assertFalse(dynamicMST.isTreeEdge(c));
+
+        dynamicMST.deleteEdge(b);
+
+        assertTrue(dynamicMST.isTreeEdge(c));
+        assertEquals(4.0, dynamicMST.totalWeight());
+        assertThrows(NoSuchElementException.class, () -> dynamicMST.deleteEdge(b));
+    }
+
+    @Test
+    public void updateWeightSwapsTreeAndNonTreeEdges() {
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(3);
+
+        int a = dynamicMST.insertEdge(0, 1, 1.0);
+        int b = dynamicMST.insertEdge(1, 2, 2.0);
+        int c = dynamicMST.insertEdge(0, 2, 3.0);
+
+        dynamicMST.updateWeight(a, 5.0);
+        assertFalse(dynamicMST.isTreeEdge(a));
+        assertEquals(5.0, dynamicMST.totalWeight());
+
+        dynamicMST.updateWeight(a, 0.5);
+        assertTrue(dynamicMST.isTreeEdge(a));
+        assertFalse(dynamicMST.isTreeEdge(c));
+        assertEquals(2.5, dynamicMST.totalWeight());
+        assertTrue(dynamicMST.isTreeEdge(b));
+    }
+
+    @Test
+    public void edgeObjectsIdentifyEdges() {
+        EdgeWeightedGraph graph = new EdgeWeightedGraph(3);
+        Edge light = new Edge(0, 1, 1.0);
+        Edge heavy = new Edge(1, 2, 2.0);
+        graph.addEdge(light);
+        graph.addEdge(heavy);
+
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(graph);
+        assertEquals(2, dynamicMST.edgeCount());
+
+        dynamicMST.deleteEdge(heavy);
+
+        assertEquals(1, dynamicMST.edgeCount());
+        assertFalse(dynamicMST.connected(0, 2));
+        assertThrows(NoSuchElementException.class, () -> dynamicMST.updateWeight(heavy, 1.0));
+    }
+
+    @Test
+    public void matchesKruskalUnderRandomUpdates() {
+        Random random = new Random(13);
+        int vertexCount = 60;
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(vertexCount);
+        List<Integer> live = new ArrayList<>();
+        int[] from = new int[5000];
+        int[] to = new int[5000];
+        double[] weight = new double[5000];
+
+        for (int step = 0; step < 1500; step++) {
+            int op = random.nextInt(4);
+
+            if (op <= 1 || live.isEmpty()) {
+                int v = random.nextInt(vertexCount);
+                int w = random.nextInt(vertexCount);
+                double edgeWeight = random.nextInt(30);
+                int id = dynamicMST.insertEdge(v, w, edgeWeight);
+
+                from[id] = v;
+                to[id] = w;
+                weight[id] = edgeWeight;
+                live.add(id);
+            } else if (op == 2) {
+                int id = live.remove(random.nextInt(live.size()));
+                dynamicMST.deleteEdge(id);
+            } else {
+                int id = live.get(random.nextInt(live.size()));
+                weight[id] = random.nextInt(30);
+                dynamicMST.updateWeight(id, weight[id]);
+            }
+
+            if (step % 25 == 0) {
+                EdgeList edges = new EdgeList(vertexCount, live.size());
+                for (int id : live) edges.add(from[id], to[id], weight[id]);
+
+                KruskalMST kruskal = new KruskalMST(edges);
+
+                assertEquals(kruskal.totalWeight(), dynamicMST.totalWeight());
+                assertEquals(kruskal.edgeCount(), dynamicMST.edgeCount());
+            }
+        }
+    }
+
+    @Test
+    public void matchesKruskalAcrossManyGroups() {
+        // 8 vertices make groups of 8 edges, so a few hundred edges give a tree several levels high
+        Random random = new Random(17);
+        int vertexCount = 8;
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(vertexCount);
+        List<Integer> live = new ArrayList<>();
+        int[] from = new int[20_000];
+        int[] to = new int[20_000];
+        double[] weight = new double[20_000];
+        int maxGroups = 0;
+
+        for (int step = 0; step < 6000; step++) {
+            int op = random.nextInt(10);
+
+            // insert more than delete for the first half, then mostly delete, so the groups fill up and empty out
+            boolean insert = step < 3000 ? op < 6 : op < 2;
+
+            if (insert || live.isEmpty()) {
+                int v = random.nextInt(vertexCount);
+                int w = random.nextInt(vertexCount);
+                double edgeWeight = random.nextInt(5);
+                int id = dynamicMST.insertEdge(v, w, edgeWeight);
+
+                from[id] = v;
+                to[id] = w;
+                weight[id] = edgeWeight;
+                live.add(id);
+            } else if (op < 8) {
+                int id = live.remove(random.nextInt(live.size()));
+                dynamicMST.deleteEdge(id);
+            } else {
+                int id = live.get(random.nextInt(live.size()));
+                weight[id] = random.nextInt(5);
+                dynamicMST.updateWeight(id, weight[id]);
+            }
+
+            maxGroups = Math.max(maxGroups, dynamicMST.groupCount());
+
+            EdgeList edges = new EdgeList(vertexCount, live.size());
+            for (int id : live) edges.add(from[id], to[id], weight[id]);
+
+            KruskalMST kruskal = new KruskalMST(edges);
+
+            assertEquals(kruskal.totalWeight(), dynamicMST.totalWeight());
+            assertEquals(kruskal.edgeCount(), dynamicMST.edgeCount());
+            assertSpanningForest(dynamicMST, kruskal);
+        }
+
+        assertTrue(maxGroups >= 32);
+        assertTrue(dynamicMST.groupCount() < maxGroups);
+    }
+
+    private static void assertSpanningForest(FullyDynamicMST dynamicMST, KruskalMST kruskal) {
+        WeightedUnionFind uf = new WeightedUnionFind(dynamicMST.vertexCount());
+        double total = 0.0;
+        int count = 0;
+
+        for (Edge e : dynamicMST.edges()) {
+            int v = e.either();
+            int w = e.other(v);
+
+            assertFalse(uf.connected(v, w));
+            uf.union(v, w);
+            total += e.weight();
+            count++;
+        }
+
+        assertEquals(kruskal.edgeCount(), count);
+        assertEquals(kruskal.totalWeight(), total, 1e-9);
+    }
+
+    @Test
+    public void graphConstructorBuildsEveryGroup() {
+        EdgeList edges = GraphGenerator.random(50, 2000, 7).edgeList();
+        EdgeWeightedGraph graph = new EdgeWeightedGraph(50);
+
+        for (int e = 0; e < edges.size(); e++) graph.addEdge(new Edge(edges.from(e), edges.to(e), edges.weight(e)));
+
+        FullyDynamicMST dynamicMST = new FullyDynamicMST(graph);
+
+        assertEquals(40, dynamicMST.groupCount());
+        assertEquals(new KruskalMST(graph).totalWeight(), dynamicMST.totalWeight(), 1e-9);
+
+        // delete seven edges out of eight, so the tree is rebuilt with 10 groups once 499 edges are left
+        EdgeList rest = new EdgeList(50, edges.size());
+        int count = 0;
+
+        for (Edge e : graph.edges()) {
+            if (count++ % 8 == 0) rest.add(e.either(), e.other(e.either()), e.weight());
+            else dynamicMST.deleteEdge(e);
+        }
+
+        assertEquals(10, dynamicMST.groupCount());
+        assertEquals(new KruskalMST(rest).totalWeight(), dynamicMST.totalWeight(), 1e-9);
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private static void assertSameEdges(EdgeList expected, EdgeList actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.from(i), actual.from(i));
+            assertEquals(expected.to(i), actual.to(i));
+            assertEquals(expected.weight(i), actual.weight(i));
+        }
+    }
+
+    private static void assertValidEdges(GraphGenerator generator, boolean simple) {
+        EdgeList edges = generator.edgeList();
+        Set<Long> pairs = new HashSet<>();
+
+        assertEquals(generator.edgeCount(), edges.size());
+
+        for (int i = 0; i < edges.size(); i++) {
+            int v = Math.min(edges.from(i), edges.to(i));
+            int w = Math.max(edges.from(i), edges.to(i));
+
+            assertTrue(v >= 0 && w < generator.vertexCount());
+            assertNotEquals(v, w);
+
+            if (simple) assertTrue(pairs.add((long) v << 32 | w), "Parallel edge " + v + " " + w);
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameGraph() {
+        assertSameEdges(GraphGenerator.random(100, 500, 7).edgeList(), GraphGenerator.random(100, 500, 7).edgeList());
+        assertSameEdges(GraphGenerator.geometric(300, 6, 7).edgeList(), GraphGenerator.geometric(300, 6, 7).edgeList());
+        assertSameEdges(GraphGenerator.barabasiAlbert(200, 3, 7).edgeList(), GraphGenerator.barabasiAlbert(200, 3, 7).edgeList());
+
+        EdgeList other = GraphGenerator.random(100, 500, 8).edgeList();
+        EdgeList edges = GraphGenerator.random(100, 500, 7).edgeList();
+        assertNotEquals(edges.weight(0), other.weight(0));
+    }
+
+    @Test
+    public void modelsProduceTheAnnouncedEdges() {
+        assertValidEdges(GraphGenerator.random(50, 1000, 1), false);
+        assertValidEdges(GraphGenerator.rmat(10, 5000, 1), false);
+        assertValidEdges(GraphGenerator.geometric(2000, 8, 1), true);
+        assertValidEdges(GraphGenerator.grid(7, 9, 1), true);
+        assertValidEdges(GraphGenerator.grid(3, 4, 5, 1), true);
+        assertValidEdges(GraphGenerator.barabasiAlbert(500, 4, 1), true);
+        assertValidEdges(GraphGenerator.complete(30, 1), true);
+    }
+
+    @Test
+    public void edgeCountsMatchTheModels() {
+        assertEquals(7 * 8 + 6 * 9, GraphGenerator.grid(7, 9, 1).edgeCount());
+        assertEquals(3 * 4 * 4 + 3 * 3 * 5 + 2 * 4 * 5, GraphGenerator.grid(3, 4, 5, 1).edgeCount());
+        assertEquals(435, GraphGenerator.complete(30, 1).edgeCount());
+        assertEquals(10 + (500 - 5) * 4, GraphGenerator.barabasiAlbert(500, 4, 1).edgeCount());
+        assertEquals(1024, GraphGenerator.rmat(10, 5000, 1).vertexCount());
+
+        // a radius beyond the diagonal of the unit square joins every pair of points
+        assertEquals(50 * 49 / 2, GraphGenerator.geometric(50, 1e6, 1).edgeCount());
+    }
+
+    @Test
+    public void geometricWeightsAreDistancesWithinTheRadius() {
+        int V = 1000;
+        double degree = 10;
+        double radius = Math.sqrt(degree / (Math.PI * V));
+        EdgeList edges = GraphGenerator.geometric(V, degree, 3).edgeList();
+
+        for (int i = 0; i < edges.size(); i++) {
+            assertTrue(edges.weight(i) <= radius);
+        }
+
+        // the expected number of edges is about V * degree / 2, a bit less because of the borders
+        assertTrue(edges.size() > 0.8 * V * degree / 2 && edges.size() < 1.1 * V * degree / 2, "E = " + edges.size());
+    }
+
+    @Test
+    public void barabasiAlbertGivesEveryVertexAtLeastMEdges() {
+        EdgeList edges = GraphGenerator.barabasiAlbert(1000, 3, 5).edgeList();
+        int[] degree = new int[1000];
+
+        for (int i = 0; i < edges.size(); i++) {
+            degree[edges.from(i)]++;
+            degree[edges.to(i)]++;
+        }
+
+        int max = 0;
+        for (int d : degree) {
+            assertTrue(d >= 3);
+            max = Math.max(max, d);
+        }
+
+        // preferential attachment grows hubs far above the average degree of 6
+        assertTrue(max > 30, "max degree " + max);
+    }
+
+    @Test
+    public void textAndBinaryFilesMatchTheEdgeList() throws IOException {
+        GraphGenerator generator = GraphGenerator.rmat(8, 2000, 11);
+        EdgeList expected = generator.edgeList();
+
+        Path text = dir.resolve("rmat.txt");
+        Path binary = dir.resolve("rmat.bin");
+        generator.writeText(text);
+        generator.writeBinary(binary);
+
+        assertSameEdges(expected, TextGraphParser.parse(text));
+        assertSameEdges(expected, BinaryGraphFile.read(binary));
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.random(1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.geometric(10, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.grid(0, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.rmat(31, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.barabasiAlbert(3, 3, 0));
+    }
+
+}
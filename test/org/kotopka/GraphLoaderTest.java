@@ -0,0 +1,84 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphLoaderTest {
+
+    private static final String TINY = "4\n3\n0 1 0.5\n1 2 1.25\n3 0 7.0\n";
+
+    @TempDir
+    Path dir;
+
+    private Path tinyFile() throws IOException {
+        Path text = dir.resolve("tiny.txt");
+        Files.writeString(text, TINY);
+        return text;
+    }
+
+    private static void assertTiny(EdgeList edges) {
+        assertNotNull(edges);
+        assertEquals(4, edges.vertexCount());
+        assertEquals(3, edges.size());
+        assertEquals(3, edges.from(2));
+        assertEquals(0, edges.to(2));
+        assertEquals(7.0, edges.weight(2));
+    }
+
+    @Test
+    public void firstLoadWritesSidecar() throws IOException {
+        Path text = tinyFile();
+
+        assertTiny(GraphLoader.loadEdgeList(text.toString()));
+        assertTrue(BinaryGraphFile.isCacheOf(GraphLoader.sidecar(text), text));
+        assertTiny(GraphLoader.loadEdgeList(text.toString()));
+    }
+
+    @Test
+    public void sidecarWithVertexOutOfRangeIsRebuilt() throws IOException {
+        Path text = tinyFile();
+        Path binary = GraphLoader.sidecar(text);
+
+        GraphLoader.loadEdgeList(text.toString());
+
+        // overwrite the first endpoint, just past the 40-byte header, with a vertex the graph doesn't have
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1000), 40);
+        }
+
+        assertTrue(BinaryGraphFile.isCacheOf(binary, text));
+        assertTiny(GraphLoader.loadEdgeList(text.toString()));
+        assertTiny(BinaryGraphFile.read(binary));
+    }
+
+    @Test
+    public void truncatedSidecarIsRebuilt() throws IOException {
+        Path text = tinyFile();
+        Path binary = GraphLoader.sidecar(text);
+
+        GraphLoader.loadEdgeList(text.toString());
+
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.WRITE)) {
+            channel.truncate(48);
+        }
+
+        assertTiny(GraphLoader.loadEdgeList(text.toString()));
+        assertTiny(BinaryGraphFile.read(binary));
+    }
+
+    @Test
+    public void missingFileReturnsNull() {
+        assertNull(GraphLoader.loadEdgeList(dir.resolve("missing.txt").toString()));
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KruskalMSTTest {
+
+    private static EdgeList integerGraph(long range, long seed) {
+        EdgeList random = GraphGenerator.random(2000, 10000, seed).edgeList();
+        EdgeList edges = new EdgeList(random.vertexCount(), random.size());
+
+        for (int i = 0; i < random.size(); i++) edges.add(random.from(i), random.to(i), Math.floor(random.weight(i) * range));
+
+        return edges;
+    }
+
+    @Test
+    public void constructorThrowsExceptionWrongUnionFindSize() {
+        EdgeList edges = integerGraph(100, 1);
+        assertThrows(IllegalArgumentException.class, () -> new KruskalMST(edges, KruskalMST.Sort.RADIX, new RemUnionFind(5)));
+    }
+
+    @Test
+    public void radixThrowsExceptionRealWeights() {
+        EdgeList edges = GraphGenerator.random(100, 300, 2).edgeList();
+        assertThrows(IllegalArgumentException.class, () -> new KruskalMST(edges, KruskalMST.Sort.RADIX));
+    }
+
+    @Test
+    public void radixThrowsExceptionWeightsBeyond2To53() {
+        EdgeList edges = integerGraph(100, 3);
+        edges.add(0, 1, 1e20);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new KruskalMST(edges, KruskalMST.Sort.RADIX));
+        assertTrue(e.getMessage().contains("2^53"));
+    }
+
+    @Test
+    public void radixMatchesComparisonSorts() {
+        for (long range : new long[] { 10, 100000, 1L << 40 }) {
+            EdgeList edges = integerGraph(range, 3);
+            KruskalMST radix = new KruskalMST(edges, KruskalMST.Sort.RADIX);
+            KruskalMST sequential = new KruskalMST(edges);
+
+            assertEquals(sequential.edgeCount(), radix.edgeCount());
+            assertEquals(sequential.totalWeight(), radix.totalWeight(), 1e-12 * range * edges.vertexCount());
+            assertEquals(1.0, radix.quantum());
+            assertEquals((double) radix.quantizedTotalWeight(), radix.totalWeight());
+        }
+    }
+
+    @Test
+    public void radixTotalIsExact() {
+        // 2^53 + 1 can't be a double, but the long total holds it
+        EdgeList edges = new EdgeList(3, 0);
+        edges.add(0, 1, 0x1p52);
+        edges.add(1, 2, 0x1p52 + 1);
+
+        KruskalMST mst = new KruskalMST(edges, KruskalMST.Sort.RADIX);
+
+        assertEquals((1L << 53) + 1, mst.quantizedTotalWeight());
+    }
+
+    @Test
+    public void radixTotalOverflowFallsBackToDoubleSum() {
+        // a path of 2^53 weights: 1023 edges still fit in a long, 2047 don't
+        for (int vertices : new int[] { 1024, 2048 }) {
+            EdgeList edges = new EdgeList(vertices, 0);
+            for (int v = 1; v < vertices; v++) edges.add(v - 1, v, 0x1p53);
+
+            KruskalMST mst = new KruskalMST(edges, KruskalMST.Sort.RADIX);
+
+            assertEquals((vertices - 1) * 0x1p53, mst.totalWeight());
+
+            if (vertices == 1024) {
+                assertEquals(1023L << 53, mst.quantizedTotalWeight());
+            } else {
+                assertThrows(IllegalStateException.class, mst::quantizedTotalWeight);
+            }
+        }
+    }
+
+    @Test
+    public void fixedPointSumsCentsExactly() {
+        EdgeList edges = new EdgeList(3, 0);
+        edges.add(0, 1, 0.1);
+        edges.add(1, 2, 0.2);
+        edges.add(0, 2, 0.9);
+
+        KruskalMST mst = new KruskalMST(edges, 0.01);
+
+        assertEquals(2, mst.edgeCount());
+        assertEquals(30, mst.quantizedTotalWeight());
+        assertEquals(0.3, mst.totalWeight());
+        assertNotEquals(0.3, new KruskalMST(edges).totalWeight());
+    }
+
+    @Test
+    public void quantizedTotalWeightThrowsExceptionDoubleSort() {
+        KruskalMST mst = new KruskalMST(integerGraph(100, 4));
+
+        assertEquals(0.0, mst.quantum());
+        assertThrows(IllegalStateException.class, mst::quantizedTotalWeight);
+    }
+
+}
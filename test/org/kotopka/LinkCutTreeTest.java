@@ -0,0 +1,98 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkCutTreeTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LinkCutTree(0));
+    }
+
+    @Test
+    public void linkAndCutChangeConnectivity() {
+        LinkCutTree lct = new LinkCutTree(5);
+
+        lct.link(0, 1);
+        lct.link(1, 2);
+        lct.link(3, 4);
+
+        assertTrue(lct.connected(0, 2));
+        assertFalse(lct.connected(2, 3));
+
+        lct.cut(2, 1);
+
+        assertTrue(lct.connected(0, 1));
+        assertFalse(lct.connected(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> lct.pathMax(0, 2));
+    }
+
+    @Test
+    public void linkRejectsConnectedAndCutRejectsNonAdjacent() {
+        LinkCutTree lct = new LinkCutTree(3);
+        lct.link(0, 1);
+        lct.link(1, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> lct.link(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> lct.cut(0, 2));
+    }
+
+    @Test
+    public void nodesOutOfRangeAreRejected() {
+        LinkCutTree lct = new LinkCutTree(3);
+        lct.link(0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> lct.cut(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> lct.cut(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> lct.cut(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> lct.connected(3, 3));
+        assertThrows(IllegalArgumentException.class, () -> lct.link(1, 3));
+
+        // the failed calls left the tree as it was
+        assertTrue(lct.connected(0, 1));
+        assertFalse(lct.connected(1, 2));
+    }
+
+    @Test
+    public void findRootFollowsEvert() {
+        LinkCutTree lct = new LinkCutTree(4);
+        lct.link(1, 0);
+        lct.link(2, 1);
+        lct.link(3, 1);
+
+        assertEquals(0, lct.findRoot(3));
+
+        lct.evert(2);
+
+        assertEquals(2, lct.findRoot(0));
+        assertEquals(2, lct.findRoot(3));
+    }
+
+    @Test
+    public void pathMaxFindsLargestValueOnPath() {
+        // path 0 - 1 - 2 - 3 - 4 with a branch 2 - 5
+        LinkCutTree lct = new LinkCutTree(6);
+        double[] values = { 1.0, 5.0, 2.0, 4.0, 3.0, 9.0 };
+
+        for (int i = 0; i < values.length; i++) lct.setValue(i, values[i]);
+
+        lct.link(0, 1);
+        lct.link(1, 2);
+        lct.link(2, 3);
+        lct.link(3, 4);
+        lct.link(2, 5);
+
+        assertEquals(1, lct.pathMax(0, 4));
+        assertEquals(3, lct.pathMax(2, 4));
+        assertEquals(5, lct.pathMax(4, 5));
+        assertEquals(2, lct.pathMax(2, 2));
+
+        lct.setValue(3, 6.0);
+
+        assertEquals(3, lct.pathMax(4, 0));
+        assertEquals(6.0, lct.value(3));
+    }
+
+}
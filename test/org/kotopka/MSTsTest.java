@@ -0,0 +1,150 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTsTest {
+
+    private static MSTs.Options sequential() {
+        return MSTs.Options.defaults().parallelism(1);
+    }
+
+    @Test
+    public void sparseGraphUsesKruskal() {
+        EdgeList edgeList = GraphGenerator.random(1000, 1500, 1).edgeList();
+        MSTs.Result result = MSTs.compute(edgeList, sequential());
+
+        assertEquals(MSTs.Engine.KRUSKAL, result.engine());
+        assertEquals(new KruskalMST(edgeList).totalWeight(), result.totalWeight(), 1e-9);
+        assertEquals(3.0, result.profile().averageDegree(), 1e-12);
+    }
+
+    @Test
+    public void denseGraphUsesFilterKruskalOrEagerPrimOnCsr() {
+        EdgeList edgeList = GraphGenerator.random(500, 5000, 2).edgeList();
+        double expected = new KruskalMST(edgeList).totalWeight();
+
+        MSTs.Result fromEdgeList = MSTs.compute(edgeList, sequential());
+        MSTs.Result fromCsr = MSTs.compute(new CsrEdgeWeightedGraph(edgeList), sequential());
+
+        assertEquals(MSTs.Engine.FILTER_KRUSKAL, fromEdgeList.engine());
+        assertEquals(MSTs.Engine.EAGER_PRIM, fromCsr.engine());
+        assertEquals(expected, fromEdgeList.totalWeight(), 1e-9);
+        assertEquals(expected, fromCsr.totalWeight(), 1e-9);
+    }
+
+    @Test
+    public void lowMemoryUsesEagerPrim() {
+        EdgeList edgeList = GraphGenerator.random(1000, 1500, 3).edgeList();
+
+        assertEquals(MSTs.Engine.EAGER_PRIM, MSTs.compute(edgeList, sequential().lowMemory(true)).engine());
+    }
+
+    @Test
+    public void largeGraphWithSeveralCoresRunsInParallel() {
+        MSTs.Profile profile = new MSTs.Profile(1 << 18, MSTs.PARALLEL_EDGES, 0.0, 1.0, 4);
+
+        assertEquals(MSTs.Engine.PARALLEL_FILTER_KRUSKAL, MSTs.choose(profile, MSTs.Options.defaults().parallelism(4), false).engine);
+        assertEquals(MSTs.Engine.FILTER_KRUSKAL, MSTs.choose(new MSTs.Profile(1 << 18, MSTs.PARALLEL_EDGES, 0.0, 1.0, 1), sequential(), false).engine);
+    }
+
+    @Test
+    public void everyRequestedEngineComputesTheSameForest() {
+        // several components, to check the forest as well as the tree
+        EdgeList edgeList = GraphGenerator.random(300, 200, 4).edgeList();
+        double expected = new KruskalMST(edgeList).totalWeight();
+        int components = 300 - new KruskalMST(edgeList).edgeCount();
+
+        for (MSTs.Engine engine : MSTs.Engine.values()) {
+            if (engine == MSTs.Engine.RADIX_KRUSKAL) continue;  // needs integer weights, see integerWeightsUseRadixKruskal()
+
+            MSTs.Result result = MSTs.compute(edgeList, MSTs.Options.defaults().parallelism(2).engine(engine));
+
+            assertEquals(engine, result.engine());
+            assertEquals("requested", result.reason());
+            assertEquals(expected, result.totalWeight(), 1e-9, engine.name());
+            assertEquals(components, result.componentCount());
+        }
+    }
+
+    @Test
+    public void integerWeightsUseRadixKruskal() {
+        EdgeList random = GraphGenerator.random(500, 5000, 6).edgeList();
+        EdgeList edgeList = new EdgeList(500, random.size());
+
+        for (int i = 0; i < random.size(); i++) edgeList.add(random.from(i), random.to(i), Math.floor(random.weight(i) * 1000));
+
+        MSTs.Result result = MSTs.compute(edgeList, sequential());
+
+        assertEquals(MSTs.Engine.RADIX_KRUSKAL, result.engine());
+        assertEquals(999.0, result.profile().weightRange());
+        assertEquals(new KruskalMST(edgeList).totalWeight(), result.totalWeight());
+    }
+
+    @Test
+    public void integerWeightsBeyond2To53AreNotRadixSorted() {
+        EdgeList edgeList = new EdgeList(4, 0);
+        edgeList.add(0, 1, 1e20);
+        edgeList.add(1, 2, 3.0);
+        edgeList.add(2, 3, 2e20);
+
+        MSTs.Result result = MSTs.compute(edgeList, sequential());
+
+        assertEquals(0.0, result.profile().weightQuantum());
+        assertEquals(MSTs.Engine.KRUSKAL, result.engine());
+        assertEquals(3e20, result.totalWeight(), 1e5);
+    }
+
+    @Test
+    public void denseIntegerWeightsInWideRangeUseFilterKruskal() {
+        MSTs.Profile sparse = new MSTs.Profile(1000, 1500, 1.0, 1e12, 1);
+        MSTs.Profile dense = new MSTs.Profile(1000, 50000, 1.0, 1e12, 1);
+        MSTs.Profile narrow = new MSTs.Profile(1000, 50000, 0.25, MSTs.RADIX_RANGE / 4.0, 1);
+
+        assertEquals(MSTs.Engine.RADIX_KRUSKAL, MSTs.choose(sparse, sequential(), false).engine);
+        assertEquals(MSTs.Engine.FILTER_KRUSKAL, MSTs.choose(dense, sequential(), false).engine);
+        assertEquals(MSTs.Engine.RADIX_KRUSKAL, MSTs.choose(narrow, sequential(), false).engine);
+    }
+
+    @Test
+    public void halfStepWeightsUseFixedPointRadixKruskal() {
+        EdgeList edgeList = new EdgeList(4, 0);
+        edgeList.add(0, 1, 3.0);
+        edgeList.add(1, 2, 4.5);
+        edgeList.add(2, 3, -0.25);
+        edgeList.add(0, 3, 8.0);
+
+        MSTs.Result result = MSTs.compute(edgeList, sequential());
+
+        assertEquals(MSTs.Engine.RADIX_KRUSKAL, result.engine());
+        assertEquals(0.25, result.profile().weightQuantum());
+        assertFalse(result.profile().integerWeights());
+        assertEquals(7.25, result.totalWeight());
+    }
+
+    @Test
+    public void requestedRadixKruskalThrowsExceptionRealWeights() {
+        EdgeList edgeList = GraphGenerator.random(100, 200, 7).edgeList();
+        MSTs.Options options = sequential().engine(MSTs.Engine.RADIX_KRUSKAL);
+
+        assertThrows(IllegalArgumentException.class, () -> MSTs.compute(edgeList, options));
+    }
+
+    @Test
+    public void profileDetectsIntegerWeights() {
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(3);
+        ewg.addEdge(new Edge(0, 1, 4.0));
+        ewg.addEdge(new Edge(1, 2, 7.0));
+
+        assertTrue(MSTs.compute(ewg, sequential()).profile().integerWeights());
+
+        ewg.addEdge(new Edge(0, 2, 0.1));
+
+        MSTs.Result result = MSTs.compute(ewg, sequential());
+        assertFalse(result.profile().integerWeights());
+        assertEquals(0.0, result.profile().weightQuantum());
+        assertEquals(4.1, result.totalWeight(), 1e-12);
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiScenarioMSTTest {
+
+    private static MultiWeightGraph scenarios(EdgeList base, int count) {
+        MultiWeightGraph graph = new MultiWeightGraph(base);
+        SplittableRandom random = new SplittableRandom(8);
+
+        graph.addScenario(base);
+        for (int s = 1; s < count; s++) graph.addScenario(e -> base.weight(e) * (0.5 + random.nextDouble()));
+
+        return graph;
+    }
+
+    @Test
+    public void constructorThrowsExceptionNullPool() {
+        MultiWeightGraph graph = scenarios(GraphGenerator.random(10, 20, 1).edgeList(), 2);
+        assertThrows(IllegalArgumentException.class, () -> new MultiScenarioMST(graph, null));
+    }
+
+    @Test
+    public void everyScenarioMatchesKruskal() {
+        MultiWeightGraph graph = scenarios(GraphGenerator.random(400, 1200, 2).edgeList(), 40);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            MultiScenarioMST msts = new MultiScenarioMST(graph, pool);
+
+            assertEquals(40, msts.scenarioCount());
+            assertTrue(msts.workspaceCount() >= 1 && msts.workspaceCount() <= 4);
+
+            for (int s = 0; s < graph.scenarioCount(); s++) {
+                KruskalMST expected = new KruskalMST(graph.edgeList(s));
+                MultiScenarioMST.ScenarioMST tree = msts.tree(s);
+
+                assertEquals(s, tree.scenario());
+                assertEquals(expected.edgeCount(), tree.edgeCount());
+                assertEquals(expected.totalWeight(), msts.totalWeight(s), 1e-9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void treeEdgesComeFromItsScenario() {
+        EdgeList base = new EdgeList(3, 0);
+        base.add(0, 1, 1.0);
+        base.add(1, 2, 2.0);
+        base.add(0, 2, 3.0);
+
+        MultiWeightGraph graph = new MultiWeightGraph(base);
+        graph.addScenario(base);
+        graph.addScenario(new double[] { 9.0, 2.0, 3.0 });
+
+        MultiScenarioMST msts = new MultiScenarioMST(graph);
+
+        assertTrue(msts.tree(0).contains(0));
+        assertFalse(msts.tree(1).contains(0));
+        assertArrayEquals(new int[] { 1, 2 }, msts.tree(1).edgeIndices());
+        assertEquals(5.0, msts.totalWeight(1));
+
+        double sum = 0.0;
+        for (Edge e : msts.tree(1).edges()) sum += e.weight();
+        assertEquals(5.0, sum);
+
+        assertThrows(IllegalArgumentException.class, () -> msts.tree(2));
+    }
+
+    @Test
+    public void containsMatchesEdgeIndices() {
+        MultiWeightGraph graph = scenarios(GraphGenerator.random(500, 3000, 9).edgeList(), 3);
+        MultiScenarioMST msts = new MultiScenarioMST(graph);
+
+        for (int s = 0; s < msts.scenarioCount(); s++) {
+            boolean[] inTree = new boolean[graph.edgeCount()];
+            for (int e : msts.tree(s).edgeIndices()) inTree[e] = true;
+
+            for (int e = -1; e <= graph.edgeCount(); e++) {
+                assertEquals(e >= 0 && e < inTree.length && inTree[e], msts.tree(s).contains(e));
+            }
+        }
+    }
+
+    @Test
+    public void forestOfDisconnectedTopology() {
+        EdgeList base = new EdgeList(5, 0);
+        base.add(0, 1, 1.0);
+        base.add(3, 4, 1.0);
+
+        MultiWeightGraph graph = new MultiWeightGraph(base);
+        graph.addScenario(base);
+
+        MultiScenarioMST msts = new MultiScenarioMST(graph);
+
+        assertEquals(2, msts.tree(0).edgeCount());
+        assertEquals(5, msts.tree(0).vertexCount());
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiWeightGraphTest {
+
+    private static EdgeList triangle() {
+        EdgeList edges = new EdgeList(3, 0);
+        edges.add(0, 1, 1.0);
+        edges.add(1, 2, 2.0);
+        edges.add(0, 2, 3.0);
+
+        return edges;
+    }
+
+    @Test
+    public void weightThrowsExceptionScenarioOutOfRange() {
+        MultiWeightGraph graph = new MultiWeightGraph(triangle());
+        graph.addScenario(triangle());
+
+        // 1 and 2 are within the initial capacity of the column array, but no scenario
+        assertEquals(2.0, graph.weight(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> graph.weight(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.weight(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.weight(-1, 0));
+    }
+
+    @Test
+    public void topologyWithoutScenarios() {
+        MultiWeightGraph graph = new MultiWeightGraph(triangle());
+
+        assertEquals(3, graph.vertexCount());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(0, graph.scenarioCount());
+        assertEquals(1, graph.to(0));
+        assertEquals(1, graph.from(1));
+        assertEquals(2, graph.to(1));
+    }
+
+    @Test
+    public void addScenarioThrowsExceptionWrongLength() {
+        MultiWeightGraph graph = new MultiWeightGraph(triangle());
+        assertThrows(IllegalArgumentException.class, () -> graph.addScenario(new double[2]));
+    }
+
+    @Test
+    public void addScenarioThrowsExceptionDifferentTopology() {
+        MultiWeightGraph graph = new MultiWeightGraph(triangle());
+        EdgeList other = new EdgeList(3, 0);
+        other.add(0, 1, 1.0);
+        other.add(1, 2, 2.0);
+        other.add(1, 0, 3.0);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addScenario(other));
+        assertThrows(IllegalArgumentException.class, () -> graph.addScenario(new EdgeList(4, 0)));
+    }
+
+    @Test
+    public void scenariosKeepTheirOwnWeights() {
+        EdgeList base = triangle();
+        MultiWeightGraph graph = new MultiWeightGraph(base);
+
+        for (int s = 0; s < 10; s++) {
+            int factor = s;
+            assertEquals(s, graph.addScenario(e -> base.weight(e) * factor));
+        }
+
+        assertEquals(10, graph.addScenario(base));
+        assertEquals(11, graph.scenarioCount());
+        assertEquals(6.0, graph.weight(3, 1));
+        assertEquals(3.0, graph.weight(10, 2));
+    }
+
+    @Test
+    public void edgeListSharesScenario() {
+        MultiWeightGraph graph = new MultiWeightGraph(triangle());
+        graph.addScenario(new double[] { 5.0, 4.0, 3.0 });
+
+        EdgeList edges = graph.edgeList(0);
+
+        assertEquals(3, edges.size());
+        assertEquals(0, edges.from(2));
+        assertEquals(4.0, edges.weight(1));
+        assertThrows(IllegalArgumentException.class, () -> graph.edgeList(1));
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCsrGraphTest {
+
+    private static final String TINY = "4\n3\n0 1 0.5\n1 2 1.25\n3 0 7.0\n";
+
+    @TempDir
+    Path dir;
+
+    private static void assertSameAdjacency(CsrEdgeWeightedGraph expected, OffHeapCsrGraph actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            assertEquals(expected.adjStart(v), actual.adjStart(v));
+            assertEquals(expected.adjEnd(v), actual.adjEnd(v));
+            assertEquals(expected.degree(v), actual.degree(v));
+
+            for (int slot = expected.adjStart(v); slot < expected.adjEnd(v); slot++) {
+                assertEquals(expected.target(slot), actual.target(slot));
+                assertEquals(expected.weight(slot), actual.weight(slot));
+            }
+        }
+    }
+
+    @Test
+    public void buildThrowsExceptionInvalidVertices() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapCsrGraph.build(0, sink -> { }, null));
+    }
+
+    @Test
+    public void buildThrowsExceptionVertexOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapCsrGraph.build(3, sink -> sink.add(0, 3, 1.0), null));
+    }
+
+    @Test
+    public void buildThrowsExceptionSourceChangesBetweenPasses() {
+        int[] passes = new int[1];
+
+        assertThrows(IOException.class, () -> OffHeapCsrGraph.build(3, sink -> {
+            sink.add(0, 1, 1.0);
+            if (passes[0]++ > 0) sink.add(1, 2, 1.0);
+        }, null));
+    }
+
+    @Test
+    public void directMemoryMatchesCsrGraph() throws IOException {
+        EdgeList edges = GraphGenerator.random(300, 2000, 7).edgeList();
+        OffHeapCsrGraph graph = OffHeapCsrGraph.build(edges, null);
+
+        assertFalse(graph.isFileBacked());
+        assertSameAdjacency(new CsrEdgeWeightedGraph(edges), graph);
+    }
+
+    @Test
+    public void smallChunksMatchCsrGraph() throws IOException {
+        EdgeList edges = GraphGenerator.random(300, 2000, 11).edgeList();
+
+        // 64-byte chunks, so every array spans many of them
+        OffHeapCsrGraph graph = OffHeapCsrGraph.build(edges.vertexCount(), sink -> {
+            for (int i = 0; i < edges.size(); i++) sink.add(edges.from(i), edges.to(i), edges.weight(i));
+        }, dir.resolve("chunks.csr"), 6);
+
+        assertSameAdjacency(new CsrEdgeWeightedGraph(edges), graph);
+    }
+
+    @Test
+    public void selfLoopUsesTwoSlots() throws IOException {
+        OffHeapCsrGraph graph = OffHeapCsrGraph.build(2, sink -> sink.add(1, 1, 3.0), null);
+
+        assertEquals(1, graph.edgeCount());
+        assertEquals(0, graph.degree(0));
+        assertEquals(2, graph.degree(1));
+        assertEquals(1, graph.target(graph.adjStart(1)));
+    }
+
+    @Test
+    public void fileRoundTrips() throws IOException {
+        EdgeList edges = GraphGenerator.grid(20, 30, 5).edgeList();
+        Path file = dir.resolve("grid.csr");
+
+        OffHeapCsrGraph built = OffHeapCsrGraph.build(edges, file);
+        assertTrue(built.isFileBacked());
+
+        OffHeapCsrGraph opened = OffHeapCsrGraph.open(file);
+        assertTrue(opened.isFileBacked());
+        assertSameAdjacency(new CsrEdgeWeightedGraph(edges), opened);
+    }
+
+    @Test
+    public void openThrowsExceptionNotGraphFile() throws IOException {
+        Path file = dir.resolve("junk.csr");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> OffHeapCsrGraph.open(file));
+    }
+
+    @Test
+    public void buildFromTextFile() throws IOException {
+        Path text = dir.resolve("tiny.txt");
+        Files.writeString(text, TINY);
+
+        OffHeapCsrGraph graph = OffHeapCsrGraph.build(text, null);
+
+        assertEquals(4, graph.vertexCount());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(2, graph.degree(0));
+        assertEquals(1.25, graph.weight(graph.adjStart(2)));
+    }
+
+    @Test
+    public void buildFromGeneratorMatchesEdgeList() throws IOException {
+        GraphGenerator generator = GraphGenerator.rmat(9, 3000, 13);
+        OffHeapCsrGraph graph = OffHeapCsrGraph.build(generator, null);
+
+        assertSameAdjacency(new CsrEdgeWeightedGraph(generator.edgeList()), graph);
+    }
+
+    @Test
+    public void eagerPrimMatchesCsrGraph() throws IOException {
+        EdgeList edges = GraphGenerator.random(1000, 3000, 17).edgeList();
+        EagerPrimMST expected = new EagerPrimMST(new CsrEdgeWeightedGraph(edges));
+        EagerPrimMST actual = new EagerPrimMST(OffHeapCsrGraph.build(edges, dir.resolve("random.csr")));
+
+        assertEquals(expected.totalWeight(), actual.totalWeight());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+    }
+
+}
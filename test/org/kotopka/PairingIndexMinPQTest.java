@@ -0,0 +1,98 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairingIndexMinPQTest {
+
+    @Test
+    public void constructorThrowsExceptionInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PairingIndexMinPQ(0));
+    }
+
+    @Test
+    public void delMinReturnsIndicesInKeyOrder() {
+        PairingIndexMinPQ pq = new PairingIndexMinPQ(8);
+        double[] keys = { 0.35, 0.37, 0.28, 0.16, 0.32, 0.38, 0.17, 0.19 };
+
+        for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i]);
+
+        int[] expected = { 3, 6, 7, 2, 4, 0, 1, 5 };
+
+        for (int index : expected) {
+            assertEquals(keys[index], pq.minKey());
+            assertEquals(index, pq.delMin());
+        }
+
+        assertTrue(pq.isEmpty());
+        assertThrows(NoSuchElementException.class, pq::delMin);
+    }
+
+    @Test
+    public void decreaseKeyMovesIndexToFront() {
+        PairingIndexMinPQ pq = new PairingIndexMinPQ(4);
+        pq.insert(0, 1.0);
+        pq.insert(1, 2.0);
+        pq.insert(2, 3.0);
+
+        pq.decreaseKey(2, 0.5);
+
+        assertEquals(0.5, pq.key(2));
+        assertEquals(2, pq.delMin());
+        assertEquals(0, pq.delMin());
+    }
+
+    @Test
+    public void decreaseKeyRejectsLargerOrEqualKey() {
+        PairingIndexMinPQ pq = new PairingIndexMinPQ(4);
+        pq.insert(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> pq.decreaseKey(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> pq.decreaseKey(0, 2.0));
+        assertThrows(NoSuchElementException.class, () -> pq.decreaseKey(1, 0.5));
+    }
+
+    @Test
+    public void insertRejectsDuplicateIndexAndNaN() {
+        PairingIndexMinPQ pq = new PairingIndexMinPQ(4);
+        pq.insert(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> pq.insert(4, 2.0));
+    }
+
+    @Test
+    public void matchesBinaryHeapOnRandomOperations() {
+        Random random = new Random(9);
+        int n = 500;
+        PairingIndexMinPQ pq = new PairingIndexMinPQ(n);
+        DoubleIndexMinPQ expected = new DoubleIndexMinPQ(n);
+
+        for (int step = 0; step < 20_000; step++) {
+            int i = random.nextInt(n);
+            int op = random.nextInt(3);
+
+            // keys are unique (value * n + i), so both queues must remove the same indices in the same order
+            if (op == 0 && !expected.contains(i)) {
+                double key = random.nextInt(1000) * n + i;
+                pq.insert(i, key);
+                expected.insert(i, key);
+            } else if (op == 1 && expected.contains(i) && expected.key(i) >= n) {
+                double key = random.nextInt((int) (expected.key(i) / n)) * n + i;
+                pq.decreaseKey(i, key);
+                expected.decreaseKey(i, key);
+            } else if (op == 2 && !expected.isEmpty()) {
+                assertEquals(expected.minKey(), pq.minKey());
+                assertEquals(expected.delMin(), pq.delMin());
+            }
+
+            assertEquals(expected.size(), pq.size());
+        }
+    }
+
+}
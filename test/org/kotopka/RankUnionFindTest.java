@@ -0,0 +1,67 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankUnionFindTest {
+
+    @Test
+    public void unionConnectsAndCounts() {
+        RankUnionFind uf = new RankUnionFind(10);
+
+        assertEquals(10, uf.count());
+        assertTrue(uf.union(4, 3));
+        assertTrue(uf.union(3, 8));
+        assertFalse(uf.union(8, 4));
+
+        assertTrue(uf.connected(4, 8));
+        assertFalse(uf.connected(4, 5));
+        assertEquals(uf.find(3), uf.find(8));
+        assertEquals(8, uf.count());
+    }
+
+    @Test
+    public void sitesOutOfRangeFailOnTheArrayBounds() {
+        RankUnionFind uf = new RankUnionFind(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.find(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.union(-1, 0));
+    }
+
+    @Test
+    public void matchesWeightedUnionFind() {
+        Random random = new Random(17);
+        RankUnionFind uf = new RankUnionFind(500);
+        WeightedUnionFind expected = new WeightedUnionFind(500);
+
+        for (int i = 0; i < 2000; i++) {
+            int p = random.nextInt(500);
+            int q = random.nextInt(500);
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.union(p, q), uf.union(p, q));
+                assertEquals(expected.count(), uf.count());
+            } else {
+                assertEquals(expected.connected(p, q), uf.connected(p, q));
+            }
+        }
+    }
+
+    @Test
+    public void longChainStaysShallow() {
+        int n = 1 << 16;
+        RankUnionFind uf = new RankUnionFind(n);
+
+        // union by rank keeps every rank below log2(n) + 1, so it can never overflow the byte
+        for (int step = 1; step < n; step *= 2) {
+            for (int i = 0; i + step < n; i += 2 * step) uf.union(i, i + step);
+        }
+
+        assertEquals(1, uf.count());
+        assertTrue(uf.connected(0, n - 1));
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemUnionFindTest {
+
+    @Test
+    public void unionConnectsAndCounts() {
+        RemUnionFind uf = new RemUnionFind(10);
+
+        assertEquals(10, uf.count());
+        assertTrue(uf.union(4, 3));
+        assertTrue(uf.union(3, 8));
+        assertFalse(uf.union(8, 4));
+
+        assertTrue(uf.connected(4, 8));
+        assertFalse(uf.connected(4, 5));
+        assertEquals(uf.find(3), uf.find(8));
+        assertEquals(8, uf.count());
+    }
+
+    @Test
+    public void sitesOutOfRangeFailOnTheArrayBounds() {
+        RemUnionFind uf = new RemUnionFind(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.find(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> uf.union(-1, 0));
+    }
+
+    @Test
+    public void matchesWeightedUnionFind() {
+        Random random = new Random(16);
+        RemUnionFind uf = new RemUnionFind(500);
+        WeightedUnionFind expected = new WeightedUnionFind(500);
+
+        for (int i = 0; i < 2000; i++) {
+            int p = random.nextInt(500);
+            int q = random.nextInt(500);
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.union(p, q), uf.union(p, q));
+                assertEquals(expected.count(), uf.count());
+            } else {
+                assertEquals(expected.connected(p, q), uf.connected(p, q));
+            }
+        }
+    }
+
+    @Test
+    public void connectedDoesNotChangeTheLinks() {
+        RemUnionFind uf = new RemUnionFind(6);
+
+        uf.union(0, 1);
+        uf.union(2, 3);
+        uf.union(1, 3);
+
+        int[] roots = new int[6];
+        for (int i = 0; i < 6; i++) roots[i] = uf.find(i);
+
+        assertTrue(uf.connected(0, 2));
+        assertFalse(uf.connected(0, 4));
+
+        for (int i = 0; i < 6; i++) assertEquals(roots[i], uf.find(i));
+    }
+
+}
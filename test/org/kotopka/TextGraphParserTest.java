@@ -0,0 +1,124 @@
+package org.kotopka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextGraphParserTest {
+
+    @TempDir
+    Path dir;
+
+    private static ByteBuffer bytes(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void parseDoubleMatchesJdk() {
+        String[] tokens = { "0.35", "7.0", "12", "-0.0", "0.01405", "1e-5", "2.5E10", "+3.25", "123456789012345678901234",
+                "0.1000000000000000055511151231257827", "4.9e-324", "1.7976931348623157e308", "Infinity", "NaN", "1." };
+
+        for (String token : tokens) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(token)),
+                    Double.doubleToLongBits(TextGraphParser.parseDouble(bytes(token))), token);
+        }
+    }
+
+    @Test
+    public void parseDoubleRejectsGarbage() {
+        assertThrows(NumberFormatException.class, () -> TextGraphParser.parseDouble(bytes("abc")));
+        assertThrows(NumberFormatException.class, () -> TextGraphParser.parseDouble(bytes(".")));
+    }
+
+    @Test
+    public void parseIntReadsSuccessiveTokens() {
+        ByteBuffer buffer = bytes("  42\r\n-7\t0");
+        assertEquals(42, TextGraphParser.parseInt(buffer));
+        assertEquals(-7, TextGraphParser.parseInt(buffer));
+        assertEquals(0, TextGraphParser.parseInt(buffer));
+    }
+
+    @Test
+    public void parseIntRejectsNonIntegers() {
+        assertThrows(NumberFormatException.class, () -> TextGraphParser.parseInt(bytes("1.5")));
+        assertThrows(NumberFormatException.class, () -> TextGraphParser.parseInt(bytes("2147483648")));
+    }
+
+    @Test
+    public void parseLongReadsEdgeCountsBeyondInt() {
+        ByteBuffer buffer = bytes("5000000000 -2147483649 9223372036854775807");
+        assertEquals(5_000_000_000L, TextGraphParser.parseLong(buffer));
+        assertEquals(-2_147_483_649L, TextGraphParser.parseLong(buffer));
+        assertEquals(Long.MAX_VALUE, TextGraphParser.parseLong(buffer));
+        assertThrows(NumberFormatException.class, () -> TextGraphParser.parseLong(bytes("9223372036854775808")));
+    }
+
+    @Test
+    public void headerMayDeclareMoreThanIntEdges() throws IOException {
+        Path text = Files.writeString(dir.resolve("big.txt"), "3\n5000000000\n0 1 0.5\n1 2 0.25\n");
+
+        // parse() sizes its arrays by the file, not the header, and returns the edges present
+        EdgeList edges = TextGraphParser.parse(text);
+        assertEquals(2, edges.size());
+
+        try (TextGraphParser.Reader reader = new TextGraphParser.Reader(text)) {
+            assertEquals(5_000_000_000L, reader.edgeCount());
+            assertTrue(reader.next());
+        }
+    }
+
+    @Test
+    public void parseReadsAllEdgesInOrder() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "4\n3\n0 1 0.5\r\n1 2 1.25\n3 0 7.0");
+        EdgeList edges = TextGraphParser.parse(text);
+
+        assertEquals(4, edges.vertexCount());
+        assertEquals(3, edges.size());
+        assertEquals(1, edges.from(1));
+        assertEquals(2, edges.to(1));
+        assertEquals(7.0, edges.weight(2));
+    }
+
+    @Test
+    public void parseRejectsVertexOutOfRange() throws IOException {
+        Path text = Files.writeString(dir.resolve("graph.txt"), "2\n1\n0 2 0.5\n");
+        assertThrows(IOException.class, () -> TextGraphParser.parse(text));
+    }
+
+    @Test
+    public void readerStreamsSameEdgesAsParse() throws IOException {
+        Path text = dir.resolve("graph.txt");
+        StringBuilder sb = new StringBuilder("100\n5000\n");
+
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i % 100).append(' ').append((i * 7) % 100).append(' ').append(i / 1000.0).append('\n');
+        }
+
+        Files.writeString(text, sb);
+        EdgeList edges = TextGraphParser.parse(text);
+
+        try (TextGraphParser.Reader reader = new TextGraphParser.Reader(text)) {
+            assertEquals(100, reader.vertexCount());
+            assertEquals(5000, reader.edgeCount());
+
+            int i = 0;
+
+            while (reader.next()) {
+                assertEquals(edges.from(i), reader.v());
+                assertEquals(edges.to(i), reader.w());
+                assertEquals(edges.weight(i), reader.weight());
+                i++;
+            }
+
+            assertEquals(5000, i);
+        }
+    }
+
+}
@@ -41,4 +41,13 @@ class WeightedUnionFindTest {
         assertEquals(5, wuf.count());
     }
 
+    @Test
+    public void unionReportsWhetherItJoinedComponents() {
+        WeightedUnionFind wuf = new WeightedUnionFind(10);
+        assertTrue(wuf.union(0, 1));
+        assertTrue(wuf.union(1, 2));
+        assertFalse(wuf.union(2, 0));
+        assertEquals(8, wuf.count());
+    }
+
 }
\ No newline at end of file